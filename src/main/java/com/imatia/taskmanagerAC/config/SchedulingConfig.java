@@ -0,0 +1,13 @@
+package com.imatia.taskmanagerAC.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling the execution of {@link org.springframework.scheduling.annotation.Scheduled} jobs,
+ * such as the archival of completed tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
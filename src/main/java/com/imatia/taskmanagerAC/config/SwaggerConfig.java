@@ -0,0 +1,17 @@
+package com.imatia.taskmanagerAC.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import springfox.documentation.swagger2.annotations.EnableSwagger2;
+
+/**
+ * Configuration class enabling the Swagger documentation of the API.
+ *
+ * <p>Scanning the controllers for the documentation slows the startup down, so deployments that do not serve
+ * it, such as the {@code fast-start} profile, turn it off with {@code taskmanager.swagger.enabled=false}.</p>
+ */
+@Configuration
+@EnableSwagger2
+@ConditionalOnProperty(name = "taskmanager.swagger.enabled", havingValue = "true", matchIfMissing = true)
+public class SwaggerConfig {
+}
@@ -0,0 +1,41 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration enabling per-client rate limiting and adaptive admission control on the API.
+ *
+ * <p>Active when {@code taskmanager.admission.enabled=true}. The filter runs before every other filter, so that
+ * rejected requests cost as little as possible.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "taskmanager.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    /**
+     * Registers the {@link AdmissionControlFilter} on the API endpoints.
+     *
+     * @param properties    the admission control properties.
+     * @param objectMapper  the mapper used to write rejection bodies.
+     * @param meterRegistry the registry receiving rejection metrics, if metrics are available.
+     * @return the filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionProperties properties, ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(properties, objectMapper, meterRegistry.getIfAvailable()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,210 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imatia.taskmanagerAC.exception.ApiError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servlet filter shedding load before it reaches the database pool.
+ *
+ * <p>Requests first go through a per-client token bucket for their endpoint class, keyed by the API key header
+ * or, without one, the client IP. List requests cost one permit per {@code list-rows-per-permit} requested rows,
+ * up to the list burst, so large pages drain the budget faster. A client over budget gets 429 with the time until its next permit in
+ * {@code Retry-After}. Admitted requests then go through the adaptive concurrency limit; when it is reached, the
+ * request gets 503 with {@code Retry-After: 1} instead of queueing for a connection. The concurrency permit of an
+ * asynchronous request is held until the request completes, so that its latency covers the asynchronous work.</p>
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint classes with separate budgets.
+     */
+    enum EndpointClass {
+        LIST, BY_ID, WRITE
+    }
+
+    private final Map<EndpointClass, GcraRateLimiter> rateLimiters = new EnumMap<>(EndpointClass.class);
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructs a new AdmissionControlFilter.
+     *
+     * @param properties    the budgets and concurrency limit settings.
+     * @param objectMapper  the mapper used to write rejection bodies.
+     * @param meterRegistry the registry receiving rejection metrics, or null to disable them.
+     */
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimiter = new AimdConcurrencyLimiter(properties.getConcurrency());
+        rateLimiters.put(EndpointClass.LIST, rateLimiter(properties.getList()));
+        rateLimiters.put(EndpointClass.BY_ID, rateLimiter(properties.getById()));
+        rateLimiters.put(EndpointClass.WRITE, rateLimiter(properties.getWrite()));
+
+        if (meterRegistry != null) {
+            Gauge.builder("taskmanager.admission.concurrency.limit", concurrencyLimiter, AimdConcurrencyLimiter::getLimit)
+                    .register(meterRegistry);
+            Gauge.builder("taskmanager.admission.concurrency.in-flight", concurrencyLimiter, AimdConcurrencyLimiter::getInFlight)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        long start = System.nanoTime();
+
+        long waitNanos = rateLimiters.get(endpointClass).tryAcquire(clientKey(request), permits(request, endpointClass), start);
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "rate_limit", endpointClass,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                    "Rate limit exceeded, retry later");
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "concurrency", endpointClass, 1,
+                    "Server is overloaded, retry later");
+            return;
+        }
+
+        boolean failed = true;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(response, start));
+                async = true;
+            }
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (!async) {
+                concurrencyLimiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * Returns the adaptive concurrency limiter, for monitoring.
+     *
+     * @return the concurrency limiter.
+     */
+    public AimdConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return EndpointClass.WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String[] segments = path.split("/");
+        // "/api/v1/tasks/{id}" splits into "", "api", "v1", "tasks", "{id}"
+        return segments.length == 5 ? EndpointClass.BY_ID : EndpointClass.LIST;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        return apiKey != null && !apiKey.isBlank() ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Returns the permits a request costs: one, plus one per {@code list-rows-per-permit} rows requested by a list.
+     * The cost is capped to the list burst, as a request costing more could never be admitted.
+     */
+    private int permits(HttpServletRequest request, EndpointClass endpointClass) {
+        if (endpointClass != EndpointClass.LIST) {
+            return 1;
+        }
+        String size = request.getParameter("size");
+        int permits;
+        try {
+            permits = size == null ? 1 : 1 + Math.max(0, Integer.parseInt(size)) / properties.getListRowsPerPermit();
+        } catch (NumberFormatException ex) {
+            return 1;
+        }
+        return Math.min(permits, Math.max(1, properties.getList().getBurst()));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String reason, EndpointClass endpointClass,
+                        long retryAfterSeconds, String message) throws IOException {
+        if (meterRegistry != null) {
+            meterRegistry.counter("taskmanager.admission.rejections",
+                    "reason", reason, "endpoint", endpointClass.name().toLowerCase(Locale.ROOT)).increment();
+        }
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(LocalDateTime.now(), message, status.value()));
+    }
+
+    private GcraRateLimiter rateLimiter(AdmissionProperties.Budget budget) {
+        return new GcraRateLimiter(budget.getPermitsPerSecond(), budget.getBurst(), properties.getMaxClients());
+    }
+
+    /**
+     * Releases the concurrency permit of an asynchronous request once, when it completes, fails or times out.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final HttpServletResponse response;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(HttpServletResponse response, long start) {
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
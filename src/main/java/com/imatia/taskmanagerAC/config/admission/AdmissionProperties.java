@@ -0,0 +1,183 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for per-client rate limiting and admission control, bound to
+ * {@code taskmanager.admission.*}.
+ */
+@ConfigurationProperties("taskmanager.admission")
+public class AdmissionProperties {
+
+    private boolean enabled;
+
+    private String apiKeyHeader = "X-API-Key";
+
+    private int maxClients = 100_000;
+
+    private int listRowsPerPermit = 100;
+
+    private Budget list = new Budget(5, 20);
+
+    private Budget byId = new Budget(50, 100);
+
+    private Budget write = new Budget(10, 20);
+
+    private Concurrency concurrency = new Concurrency();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public int getListRowsPerPermit() {
+        return listRowsPerPermit;
+    }
+
+    public void setListRowsPerPermit(int listRowsPerPermit) {
+        this.listRowsPerPermit = listRowsPerPermit;
+    }
+
+    public Budget getList() {
+        return list;
+    }
+
+    public void setList(Budget list) {
+        this.list = list;
+    }
+
+    public Budget getById() {
+        return byId;
+    }
+
+    public void setById(Budget byId) {
+        this.byId = byId;
+    }
+
+    public Budget getWrite() {
+        return write;
+    }
+
+    public void setWrite(Budget write) {
+        this.write = write;
+    }
+
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Concurrency concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Token bucket of one endpoint class: a sustained rate and the burst allowed on top of it.
+     */
+    public static class Budget {
+
+        private double permitsPerSecond;
+
+        private int burst;
+
+        public Budget() {
+        }
+
+        public Budget(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+
+    /**
+     * Bounds and tuning of the adaptive limit on requests in flight.
+     */
+    public static class Concurrency {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 100;
+
+        private Duration latencyThreshold = Duration.ofMillis(250);
+
+        private double backoffRatio = 0.9;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+    }
+}
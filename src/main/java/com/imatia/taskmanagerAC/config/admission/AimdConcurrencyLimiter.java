@@ -0,0 +1,82 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive limit on the number of requests in flight, adjusted with additive increase, multiplicative decrease.
+ *
+ * <p>Each request completing under the latency threshold raises the limit by {@code 1 / limit}, so the limit
+ * grows by about one per round of requests. A request that is slower than the threshold, or fails, multiplies the
+ * limit by the backoff ratio. The limit thereby settles just below the concurrency at which the database starts
+ * queueing, and requests above it are shed instead of waiting for a pooled connection.</p>
+ */
+public class AimdConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private volatile double limit;
+
+    /**
+     * Constructs a new AimdConcurrencyLimiter.
+     *
+     * @param properties the bounds and tuning of the limit.
+     */
+    public AimdConcurrencyLimiter(AdmissionProperties.Concurrency properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+    }
+
+    /**
+     * Tries to admit a request. An admitted request must be followed by a call to {@link #release(long, boolean)}.
+     *
+     * @return true if the request is admitted.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records the completion of an admitted request and adjusts the limit.
+     *
+     * @param latencyNanos the time the request took.
+     * @param failed       whether the request failed on the server side.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        // Racy read-modify-write: concurrent adjustments may be lost, which only slows down convergence.
+        double current = limit;
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, current * backoffRatio);
+        } else {
+            limit = Math.min(maxLimit, current + 1.0 / current);
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the maximum number of requests in flight.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of admitted requests that have not completed yet.
+     *
+     * @return the requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
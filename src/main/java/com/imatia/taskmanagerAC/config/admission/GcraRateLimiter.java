@@ -0,0 +1,79 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-client token bucket, implemented with the generic cell rate algorithm (GCRA).
+ *
+ * <p>Instead of a token count and a refill timestamp, each client is tracked by a single theoretical arrival
+ * time: the instant at which its bucket would be full again. Taking {@code n} permits pushes that instant
+ * {@code n} emission intervals forward, and is refused if it would land more than {@code burst} intervals
+ * in the future. The update is a compare-and-set on one {@link AtomicLong}, so concurrent requests of the same
+ * client never block each other.</p>
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final ConcurrentMap<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new GcraRateLimiter.
+     *
+     * @param permitsPerSecond the sustained rate of each client.
+     * @param burst            the number of permits a client can take at once after being idle.
+     * @param maxClients       the number of tracked clients above which idle clients are forgotten.
+     */
+    public GcraRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = emissionIntervalNanos * Math.max(1, burst);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Tries to take permits for a client.
+     *
+     * @param client  the client key.
+     * @param permits the number of permits to take.
+     * @param now     the current {@link System#nanoTime()}.
+     * @return 0 if the permits were taken, otherwise the nanoseconds to wait before they would be granted.
+     */
+    public long tryAcquire(String client, int permits, long now) {
+        if (arrivalTimes.size() > maxClients) {
+            evictIdle(now);
+        }
+
+        AtomicLong arrivalTime = arrivalTimes.computeIfAbsent(client, key -> new AtomicLong(now));
+        long cost = emissionIntervalNanos * permits;
+        while (true) {
+            long current = arrivalTime.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tracked clients.
+     *
+     * @return the client count.
+     */
+    public int clientCount() {
+        return arrivalTimes.size();
+    }
+
+    /**
+     * Forgets the clients whose bucket is full again; they are indistinguishable from new clients.
+     */
+    private void evictIdle(long now) {
+        arrivalTimes.values().removeIf(arrivalTime -> arrivalTime.get() <= now);
+    }
+}
@@ -0,0 +1,17 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+/**
+ * Lookup keys used by {@link ReadWriteRoutingDataSource} to select the target datasource.
+ */
+public enum DataSourceType {
+
+    /**
+     * The primary datasource, which receives every write and any read that must see the latest data.
+     */
+    PRIMARY,
+
+    /**
+     * The read replica, which serves read-only transactions.
+     */
+    REPLICA
+}
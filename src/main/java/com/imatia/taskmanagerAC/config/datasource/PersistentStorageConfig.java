@@ -0,0 +1,41 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuration for file-backed H2 storage, enabled with {@code taskmanager.storage.persistent=true}.
+ *
+ * <p>Replaces the auto-configured datasource with one pointing at the database file, tuned through
+ * {@link PersistentStorageProperties}. Credentials and pool settings still come from {@code spring.datasource.*}.
+ * It cannot be combined with sharding or read/write routing, which define their own datasources.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(PersistentStorageProperties.class)
+@ConditionalOnProperty(name = "taskmanager.storage.persistent", havingValue = "true")
+public class PersistentStorageConfig {
+
+    /**
+     * Creates the connection pool of the database file.
+     *
+     * @param dataSourceProperties the standard datasource properties, for the driver and credentials.
+     * @param storageProperties    the storage properties, for the file location and MVStore settings.
+     * @return the file-backed datasource.
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                       PersistentStorageProperties storageProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(storageProperties.toJdbcUrl())
+                .build();
+    }
+}
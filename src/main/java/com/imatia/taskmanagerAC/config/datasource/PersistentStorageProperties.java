@@ -0,0 +1,108 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for file-backed H2 storage, bound to {@code taskmanager.storage.*}.
+ *
+ * <p>Sizes and delays map to the MVStore settings of the same name, see {@link #toJdbcUrl()}.</p>
+ */
+@ConfigurationProperties("taskmanager.storage")
+public class PersistentStorageProperties {
+
+    /**
+     * When a committed transaction is handed to the database file.
+     *
+     * <p>Neither level forces the file to disk: the MVStore writes to the operating system, which flushes its page
+     * cache on its own schedule. Commits survive a crash of the application, not a crash of the host.</p>
+     */
+    public enum Durability {
+
+        /**
+         * Every commit is written to the file before it returns ({@code WRITE_DELAY=0}).
+         */
+        SYNC,
+
+        /**
+         * Commits are acknowledged immediately and written together by a background writer at most
+         * {@code group-commit-delay} later. A crash of the application loses at most that window of commits.
+         */
+        GROUP
+    }
+
+    private boolean persistent;
+
+    private String path = "./data/taskmanager";
+
+    private Durability durability = Durability.SYNC;
+
+    private Duration groupCommitDelay = Duration.ofMillis(500);
+
+    private int cacheSizeKb = 64 * 1024;
+
+    private Duration maxCompactTime = Duration.ofMillis(200);
+
+    /**
+     * Builds the H2 URL of the database file with the configured MVStore settings.
+     *
+     * @return the JDBC URL.
+     */
+    public String toJdbcUrl() {
+        long writeDelay = durability == Durability.SYNC ? 0 : groupCommitDelay.toMillis();
+        return "jdbc:h2:file:" + path
+                + ";CACHE_SIZE=" + cacheSizeKb
+                + ";WRITE_DELAY=" + writeDelay
+                + ";MAX_COMPACT_TIME=" + maxCompactTime.toMillis()
+                + ";DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    public Duration getGroupCommitDelay() {
+        return groupCommitDelay;
+    }
+
+    public void setGroupCommitDelay(Duration groupCommitDelay) {
+        this.groupCommitDelay = groupCommitDelay;
+    }
+
+    public int getCacheSizeKb() {
+        return cacheSizeKb;
+    }
+
+    public void setCacheSizeKb(int cacheSizeKb) {
+        this.cacheSizeKb = cacheSizeKb;
+    }
+
+    public Duration getMaxCompactTime() {
+        return maxCompactTime;
+    }
+
+    public void setMaxCompactTime(Duration maxCompactTime) {
+        this.maxCompactTime = maxCompactTime;
+    }
+}
@@ -0,0 +1,93 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration enabling read/write splitting between a primary and a replica datasource.
+ *
+ * <p>Active when {@code taskmanager.datasource.routing.enabled=true}. Read-only transactions are routed
+ * to the replica, while writes and requests pinned by {@link ReadYourWritesFilter} go to the primary.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    /**
+     * Creates the connection pool for the primary database.
+     *
+     * @return the primary datasource, bound to {@code taskmanager.datasource.primary.*}.
+     */
+    @Bean
+    @ConfigurationProperties("taskmanager.datasource.primary")
+    public HikariDataSource primaryDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the connection pool for the read replica.
+     *
+     * @return the replica datasource, bound to {@code taskmanager.datasource.replica.*}.
+     */
+    @Bean
+    @ConfigurationProperties("taskmanager.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the routing datasource used by JPA and every other datasource consumer.
+     *
+     * <p>When {@code taskmanager.datasource.replica.initialize} is true, the schema and data scripts are
+     * also applied to the replica, so that two local H2 instances can stand in for a replicated pair.</p>
+     *
+     * @param primary           the primary datasource.
+     * @param replica           the replica datasource.
+     * @param initializeReplica whether the replica must be initialized with the application scripts.
+     * @return a lazy proxy over the {@link ReadWriteRoutingDataSource}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${taskmanager.datasource.replica.initialize:false}") boolean initializeReplica) {
+        if (initializeReplica) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"));
+            DatabasePopulatorUtils.execute(populator, replica);
+        }
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Registers the read-your-writes filter for the task API.
+     *
+     * @param pinMillis how long, in milliseconds, a client stays pinned to the primary after a write.
+     * @return the filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${taskmanager.datasource.routing.pin-millis:2000}") long pinMillis) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(pinMillis));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routing datasource that sends read-only transactions to the replica and everything else to the primary.
+ *
+ * <p>The routing decision is taken when a physical connection is requested, so this datasource must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} for the
+ * read-only flag of the current transaction to be known at that point.</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Constructs a new routing datasource over the given primary and replica.
+     *
+     * @param primary the datasource receiving writes and pinned reads.
+     * @param replica the datasource receiving read-only transactions.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceType.PRIMARY, primary);
+        targets.put(DataSourceType.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Selects the replica for read-only transactions, unless the current thread is pinned to the primary.
+     *
+     * @return the {@link DataSourceType} to use for the connection being requested.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesContext.isPinnedToPrimary()) {
+            return DataSourceType.REPLICA;
+        }
+        return DataSourceType.PRIMARY;
+    }
+}
@@ -0,0 +1,38 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+/**
+ * Holds, for the current thread, whether reads must be served by the primary datasource.
+ *
+ * <p>A client that has just written is pinned to the primary for a short period so that it
+ * never reads an older version of its own data from a lagging replica.</p>
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Pins the current thread to the primary datasource.
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    /**
+     * Indicates whether the current thread is pinned to the primary datasource.
+     *
+     * @return true if reads must go to the primary, false otherwise.
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    /**
+     * Removes any pin from the current thread.
+     */
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,97 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet filter implementing read-your-writes consistency on top of {@link ReadWriteRoutingDataSource}.
+ *
+ * <p>Every write request receives a session token in the {@value #CONSISTENCY_TOKEN_HEADER} response header.
+ * Clients send that token back on later requests; while it is younger than the configured pin duration,
+ * the request is pinned to the primary datasource.</p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the session token, expressed as the epoch milliseconds of the client's last write.
+     */
+    public static final String CONSISTENCY_TOKEN_HEADER = "X-Consistency-Token";
+
+    /**
+     * How far in the future a token may be, as issued by an instance whose clock is ahead of this one.
+     */
+    static final long MAX_CLOCK_SKEW_MILLIS = 1_000;
+
+    private final long pinMillis;
+
+    /**
+     * Constructs a new ReadYourWritesFilter.
+     *
+     * @param pinMillis how long, in milliseconds, a client stays pinned to the primary after a write.
+     */
+    public ReadYourWritesFilter(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    /**
+     * Pins the request to the primary when it carries a fresh token, and issues a new token on writes.
+     *
+     * @param request     the current request.
+     * @param response    the current response.
+     * @param filterChain the remaining filter chain.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+
+        if (isWrite(request) || isFresh(request.getHeader(CONSISTENCY_TOKEN_HEADER), now)) {
+            ReadYourWritesContext.pinToPrimary();
+        }
+        if (isWrite(request)) {
+            response.setHeader(CONSISTENCY_TOKEN_HEADER, Long.toString(now));
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    /**
+     * Indicates whether the request modifies data.
+     *
+     * @param request the current request.
+     * @return true for every method other than GET, HEAD and OPTIONS.
+     */
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    /**
+     * Indicates whether the given token still pins the client to the primary.
+     *
+     * @param token the token sent by the client, possibly null or malformed.
+     * @param now   the current time in epoch milliseconds.
+     * @return true if the token was issued less than the pin duration ago. A token issued further in the future
+     * than the tolerated clock skew is forged or corrupt, and never pins the client.
+     */
+    private boolean isFresh(String token, long now) {
+        if (token == null) {
+            return false;
+        }
+        try {
+            long age = now - Long.parseLong(token.trim());
+            return age >= -MAX_CLOCK_SKEW_MILLIS && age < pinMillis;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+/**
+ * Holds the shard index that {@link ShardRoutingDataSource} must use for the current thread.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Returns the shard selected for the current thread.
+     *
+     * @return the shard index, or null if no shard has been selected.
+     */
+    public static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Selects the shard for the current thread.
+     *
+     * @param shard the shard index, or null to fall back to the default shard.
+     */
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing datasource that selects one of several shard datasources from the {@link ShardContext}.
+ *
+ * <p>As with {@link ReadWriteRoutingDataSource}, it must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the shard can be chosen
+ * after the transaction has started.</p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    /**
+     * Constructs a new routing datasource over the given shards.
+     *
+     * @param shards the shard datasources, indexed by shard number; the first one is the default.
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    /**
+     * Returns the shard selected for the current thread.
+     *
+     * @return the shard index, or null to use the default shard.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * Closes every shard datasource that holds resources.
+     *
+     * @throws IOException if a shard datasource fails to close.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable) {
+                ((Closeable) shard).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for hash-sharded task storage.
+ *
+ * <p>{@link ShardingProperties} are always available so that the shard count can be consulted in any mode.
+ * The shard datasources themselves are only created when {@code taskmanager.sharding.enabled=true}.
+ * Sharding and read/write routing both replace the primary datasource and cannot be enabled together.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Creates one connection pool per configured shard behind a {@link ShardRoutingDataSource}.
+     *
+     * <p>When {@code taskmanager.sharding.initialize-schema} is true, {@code schema.sql} is applied to every shard.</p>
+     *
+     * @param properties the sharding properties.
+     * @return the routing datasource over all shards.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "taskmanager.sharding.enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("taskmanager.sharding.shards must define at least one shard");
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(shard.getJdbcUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+
+            if (properties.isInitializeSchema()) {
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), dataSource);
+            }
+            shards.add(dataSource);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    /**
+     * Exposes the shard routing datasource as the primary datasource.
+     *
+     * @param shardRoutingDataSource the routing datasource over all shards.
+     * @return a lazy proxy, so that the shard is resolved on the first statement of each transaction.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "taskmanager.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
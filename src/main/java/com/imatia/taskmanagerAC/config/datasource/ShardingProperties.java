@@ -0,0 +1,98 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for hash-sharded task storage, bound to {@code taskmanager.sharding.*}.
+ */
+@ConfigurationProperties("taskmanager.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private boolean initializeSchema;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Returns the number of shards tasks are spread across.
+     *
+     * @return the number of configured shards when sharding is enabled, or 1 otherwise.
+     */
+    public int getShardCount() {
+        return enabled ? Math.max(1, shards.size()) : 1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Connection settings of a single shard.
+     */
+    public static class Shard {
+
+        private String jdbcUrl;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        public String getJdbcUrl() {
+            return jdbcUrl;
+        }
+
+        public void setJdbcUrl(String jdbcUrl) {
+            this.jdbcUrl = jdbcUrl;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a request handled by a controller method, with the CPU time and the memory
+ * allocated by the request thread, emitted by {@link EndpointProfilingInterceptor}.
+ */
+@Name(EndpointEvent.NAME)
+@Label("Endpoint Request")
+@Category({"Task Manager", "Web"})
+@Description("Request handled by a controller method, from argument resolution to the written response")
+@StackTrace(false)
+public class EndpointEvent extends jdk.jfr.Event {
+
+    static final String NAME = "com.imatia.taskmanagerAC.Endpoint";
+
+    @Label("Handler")
+    @Description("Controller class and method")
+    String handler;
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("Status")
+    int status;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    long allocated;
+
+    // Thread counters when the request started; transient fields are not recorded.
+    transient long cpuTimeAtStart;
+    transient long allocatedAtStart;
+}
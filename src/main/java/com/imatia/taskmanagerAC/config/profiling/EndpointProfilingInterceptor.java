@@ -0,0 +1,78 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Interceptor emitting an {@link EndpointEvent} for each request handled by a controller method, with the CPU
+ * time and the memory allocated by the request thread from argument resolution to the written response, so
+ * that mapping and serialization costs are attributed to the controller method.
+ *
+ * <p>Requests handled asynchronously emit one event per thread: the one starting the request, and the one
+ * writing the response.</p>
+ */
+class EndpointProfilingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = EndpointProfilingInterceptor.class.getName() + ".event";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threads : null;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        EndpointEvent event = new EndpointEvent();
+        if (event.isEnabled()) {
+            event.cpuTimeAtStart = cpuTime();
+            event.allocatedAtStart = allocated();
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        commit(request, response, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        commit(request, response, handler);
+    }
+
+    private void commit(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointEvent event = (EndpointEvent) request.getAttribute(EVENT_ATTRIBUTE);
+        if (event == null) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            HandlerMethod method = (HandlerMethod) handler;
+            event.handler = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            event.httpMethod = request.getMethod();
+            event.status = response.getStatus();
+            event.cpuTime = Math.max(0, cpuTime() - event.cpuTimeAtStart);
+            event.allocated = Math.max(0, allocated() - event.allocatedAtStart);
+            event.commit();
+        }
+    }
+
+    private long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+    }
+
+    private long allocated() {
+        return allocations != null && allocations.isThreadAllocatedMemorySupported()
+                ? allocations.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+}
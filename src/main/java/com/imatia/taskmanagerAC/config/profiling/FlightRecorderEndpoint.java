@@ -0,0 +1,270 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint starting and stopping Flight Recorder recordings, at {@code /actuator/jfr}.
+ *
+ * <ul>
+ *     <li>{@code GET /actuator/jfr}: the recordings started by the endpoint.</li>
+ *     <li>{@code POST /actuator/jfr}, with an optional {@code name} and {@code duration}: starts a recording,
+ *     which stops on its own after the duration, at most {@code taskmanager.profiling.max-duration}.</li>
+ *     <li>{@code GET /actuator/jfr/{id}}: the {@link ProfilingReport} of a recording, so far if it is running.</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}}: stops a recording and returns its report.</li>
+ * </ul>
+ *
+ * <p>Recordings are written to {@code taskmanager.profiling.directory}, to be opened with JDK Mission Control
+ * for the details the report leaves out. With {@code taskmanager.profiling.continuous=true}, a recording runs
+ * from startup and keeps the last {@code continuous-max-age} of events, so that a latency spike can be looked
+ * at after the fact.</p>
+ *
+ * <p>At most {@code taskmanager.profiling.max-recordings} recordings started by the endpoint run at once. Those
+ * that stop on their own are closed every {@code cleanup-interval}, releasing their disk repository; the report
+ * of the last few of them is still read from their file.</p>
+ *
+ * <p>The endpoint writes files and adds profiling overhead on demand: it is not exposed by default, and must only
+ * be exposed behind authentication.</p>
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String CONTINUOUS = "continuous";
+
+    private final ProfilingProperties properties;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<Long, Path> finished;
+    private volatile Long continuousId;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param properties the profiling properties.
+     */
+    public FlightRecorderEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+        int keptFiles = Math.max(1, properties.getMaxRecordings());
+        this.finished = Collections.synchronizedMap(new LinkedHashMap<Long, Path>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Path> eldest) {
+                return size() > keptFiles;
+            }
+        });
+    }
+
+    /**
+     * Starts the continuous recording, if enabled.
+     *
+     * @throws IOException if the recording settings cannot be read.
+     */
+    @PostConstruct
+    public void startContinuous() throws IOException {
+        if (properties.isContinuous()) {
+            Recording recording = newRecording(CONTINUOUS);
+            recording.setMaxAge(properties.getContinuousMaxAge());
+            recording.start();
+            recordings.put(recording.getId(), recording);
+            continuousId = recording.getId();
+        }
+    }
+
+    /**
+     * Lists the recordings started by the endpoint.
+     *
+     * @return the recordings.
+     */
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return recordings.values().stream().map(RecordingDescriptor::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param name     the name of the recording, used in its file name.
+     * @param duration the duration after which the recording stops, at most the maximum duration.
+     * @return the started recording.
+     * @throws IOException if the recording directory cannot be created or the settings cannot be read.
+     * @throws IllegalArgumentException if {@code max-recordings} recordings are already running.
+     */
+    @WriteOperation
+    public synchronized RecordingDescriptor start(@Nullable String name, @Nullable Duration duration)
+            throws IOException {
+        closeFinished();
+        long running = recordings.keySet().stream().filter(id -> !id.equals(continuousId)).count();
+        if (running >= properties.getMaxRecordings()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxRecordings()
+                    + " recordings may run at once; stop one first");
+        }
+        Duration maxDuration = properties.getMaxDuration();
+        Recording recording = newRecording(name == null ? "recording" : name);
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.setDestination(file(recording));
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        return new RecordingDescriptor(recording);
+    }
+
+    /**
+     * Reports the events of a recording, up to now if it is still running.
+     *
+     * @param id the ID of the recording.
+     * @return the report, or {@code null} if there is no such recording.
+     * @throws IOException if the recording cannot be read.
+     */
+    @ReadOperation
+    public ProfilingReport report(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            Path file = finished.get(id);
+            return file == null ? null : ProfilingReport.read(file);
+        }
+        if (recording.getState() != RecordingState.RUNNING) {
+            return ProfilingReport.read(recording.getDestination());
+        }
+        Path snapshot = Files.createTempFile("taskmanager-" + id, ".jfr");
+        try {
+            recording.dump(snapshot);
+            return ProfilingReport.read(snapshot);
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    /**
+     * Stops a recording, and reports its events.
+     *
+     * @param id the ID of the recording.
+     * @return the report, or {@code null} if there is no such recording.
+     * @throws IOException if the recording cannot be written or read.
+     */
+    @DeleteOperation
+    public ProfilingReport stop(@Selector long id) throws IOException {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            Path file = finished.remove(id);
+            return file == null ? null : ProfilingReport.read(file);
+        }
+        try {
+            if (recording.getDestination() == null) {
+                recording.setDestination(file(recording));
+            }
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            return ProfilingReport.read(recording.getDestination());
+        } finally {
+            recording.close();
+        }
+    }
+
+    /**
+     * Closes the recordings that stopped on their own once their duration elapsed, keeping their file for reports.
+     */
+    @Scheduled(initialDelayString = "${taskmanager.profiling.cleanup-interval:PT1M}",
+            fixedDelayString = "${taskmanager.profiling.cleanup-interval:PT1M}")
+    public void closeFinished() {
+        recordings.values().removeIf(recording -> {
+            if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+                return false;
+            }
+            if (recording.getDestination() != null) {
+                finished.put(recording.getId(), recording.getDestination());
+            }
+            recording.close();
+            return true;
+        });
+    }
+
+    /**
+     * Closes the recordings still open on shutdown; the running ones are written to their file.
+     */
+    @PreDestroy
+    public void close() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Recording newRecording(String name) throws IOException {
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration(properties.getSettings());
+        } catch (ParseException e) {
+            throw new IOException("Cannot read Flight Recorder settings '" + properties.getSettings() + "'", e);
+        }
+        Recording recording = new Recording(settings);
+        recording.setName(name.replaceAll("[^A-Za-z0-9._-]", "_"));
+        recording.enable(EndpointEvent.class);
+        recording.enable(TaskServiceEvent.class);
+        recording.setToDisk(true);
+        return recording;
+    }
+
+    private Path file(Recording recording) throws IOException {
+        Path directory = Files.createDirectories(Paths.get(properties.getDirectory()));
+        return directory.resolve(recording.getName() + "-" + recording.getId() + ".jfr");
+    }
+
+    /**
+     * A recording started by the endpoint.
+     */
+    public static final class RecordingDescriptor {
+
+        private final long id;
+        private final String name;
+        private final String state;
+        private final String startTime;
+        private final String destination;
+
+        private RecordingDescriptor(Recording recording) {
+            this.id = recording.getId();
+            this.name = recording.getName();
+            this.state = recording.getState().name();
+            this.startTime = recording.getStartTime() == null ? null : recording.getStartTime().toString();
+            this.destination = recording.getDestination() == null ? null : recording.getDestination().toString();
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public String getStartTime() {
+            return startTime;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration enabling Flight Recorder profiling: the {@code jfr} actuator endpoint, and the events of the
+ * task service calls and of the API requests.
+ *
+ * <p>Active when {@code taskmanager.profiling.enabled=true}. The endpoint must also be exposed, see
+ * {@code management.endpoints.web.exposure.include}; it is not by default, as it must only be reachable behind
+ * authentication.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+@ConditionalOnProperty(name = "taskmanager.profiling.enabled", havingValue = "true")
+public class ProfilingConfig implements WebMvcConfigurer {
+
+    /**
+     * Creates the aspect emitting the task service events.
+     *
+     * @return the aspect.
+     */
+    @Bean
+    public TaskServiceEventAspect taskServiceEventAspect() {
+        return new TaskServiceEventAspect();
+    }
+
+    /**
+     * Creates the actuator endpoint managing the recordings.
+     *
+     * @param properties the profiling properties.
+     * @return the endpoint.
+     */
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(ProfilingProperties properties) {
+        return new FlightRecorderEndpoint(properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointProfilingInterceptor()).addPathPatterns("/api/**");
+    }
+}
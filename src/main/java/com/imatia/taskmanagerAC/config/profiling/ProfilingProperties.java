@@ -0,0 +1,97 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Flight Recorder profiling, bound to {@code taskmanager.profiling.*}.
+ */
+@ConfigurationProperties("taskmanager.profiling")
+public class ProfilingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Directory the recordings started by the {@code jfr} endpoint are written to.
+     */
+    private String directory = "data/jfr";
+
+    /**
+     * Flight Recorder settings of the recordings: {@code default}, or {@code profile} for more detail at a higher cost.
+     */
+    private String settings = "profile";
+
+    /**
+     * Duration after which a recording started by the endpoint stops on its own.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of recordings started by the endpoint running at once, besides the continuous one.
+     */
+    private int maxRecordings = 3;
+
+    /**
+     * Whether a recording runs from startup, keeping the last {@code continuous-max-age} of events.
+     */
+    private boolean continuous;
+
+    private Duration continuousMaxAge = Duration.ofMinutes(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public int getMaxRecordings() {
+        return maxRecordings;
+    }
+
+    public void setMaxRecordings(int maxRecordings) {
+        this.maxRecordings = maxRecordings;
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
+    }
+
+    public Duration getContinuousMaxAge() {
+        return continuousMaxAge;
+    }
+
+    public void setContinuousMaxAge(Duration continuousMaxAge) {
+        this.continuousMaxAge = continuousMaxAge;
+    }
+}
@@ -0,0 +1,233 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of the {@link EndpointEvent} and {@link TaskServiceEvent} events of a Flight Recorder file.
+ *
+ * <p>Endpoints are ordered by the memory they allocated, with their allocation rate over the recording and per
+ * request, and their CPU time per request. Task service methods are ordered by their total time.</p>
+ */
+public final class ProfilingReport {
+
+    private final long spanMillis;
+    private final List<EndpointSummary> endpoints;
+    private final List<MethodSummary> serviceMethods;
+
+    private ProfilingReport(long spanMillis, List<EndpointSummary> endpoints, List<MethodSummary> serviceMethods) {
+        this.spanMillis = spanMillis;
+        this.endpoints = endpoints;
+        this.serviceMethods = serviceMethods;
+    }
+
+    /**
+     * Reads the events of a recording.
+     *
+     * @param recording the Flight Recorder file.
+     * @return the report.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ProfilingReport read(Path recording) throws IOException {
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        Map<String, MethodSummary> methods = new LinkedHashMap<>();
+        Instant first = null;
+        Instant last = null;
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                first = first == null || event.getStartTime().isBefore(first) ? event.getStartTime() : first;
+                last = last == null || event.getEndTime().isAfter(last) ? event.getEndTime() : last;
+                String type = event.getEventType().getName();
+                if (EndpointEvent.NAME.equals(type)) {
+                    endpoints.computeIfAbsent(event.getString("handler"), EndpointSummary::new).add(event);
+                } else if (TaskServiceEvent.NAME.equals(type)) {
+                    methods.computeIfAbsent(event.getString("method"), MethodSummary::new).add(event);
+                }
+            }
+        }
+
+        long spanMillis = first == null ? 0 : Duration.between(first, last).toMillis();
+        List<EndpointSummary> byAllocated = new ArrayList<>(endpoints.values());
+        byAllocated.forEach(endpoint -> endpoint.spanMillis = spanMillis);
+        byAllocated.sort(Comparator.comparingLong(EndpointSummary::getAllocatedBytes).reversed());
+        List<MethodSummary> byTotal = new ArrayList<>(methods.values());
+        byTotal.sort(Comparator.comparingDouble(MethodSummary::getTotalMillis).reversed());
+        return new ProfilingReport(spanMillis, byAllocated, byTotal);
+    }
+
+    /**
+     * Returns the time from the start of the first event of the recording to the end of the last one.
+     *
+     * @return the span of the recording, in milliseconds.
+     */
+    public long getSpanMillis() {
+        return spanMillis;
+    }
+
+    /**
+     * Returns the endpoints, most allocated memory first.
+     *
+     * @return the endpoint summaries.
+     */
+    public List<EndpointSummary> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns the task service methods, longest total time first.
+     *
+     * @return the method summaries.
+     */
+    public List<MethodSummary> getServiceMethods() {
+        return serviceMethods;
+    }
+
+    /**
+     * Formats the report as text.
+     *
+     * @return the report text.
+     */
+    public String format() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf("span.ms=%d%n", spanMillis);
+        out.printf("%n%-45s %8s %10s %12s %14s %12s%n",
+                "endpoint", "requests", "avg ms", "cpu ms/req", "alloc KB/req", "alloc MB/s");
+        endpoints.forEach(endpoint -> out.printf("%-45s %8d %10.2f %12.3f %14.1f %12.2f%n",
+                endpoint.getHandler(), endpoint.getCount(), endpoint.getAverageMillis(), endpoint.getCpuMillisPerRequest(),
+                endpoint.getAllocatedBytesPerRequest() / 1024, endpoint.getAllocationRate() / (1024 * 1024)));
+        out.printf("%n%-45s %8s %10s %10s %10s %8s%n", "task service method", "calls", "avg ms", "max ms", "avg rows", "failed");
+        serviceMethods.forEach(method -> out.printf("%-45s %8d %10.2f %10.2f %10.1f %8d%n",
+                method.getMethod(), method.getCount(), method.getAverageMillis(), method.getMaxMillis(),
+                method.getAverageRows(), method.getFailures()));
+        out.flush();
+        return text.toString();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+
+    /**
+     * The requests handled by one controller method.
+     */
+    public static final class EndpointSummary {
+
+        private final String handler;
+        private int count;
+        private Duration total = Duration.ZERO;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long spanMillis;
+
+        private EndpointSummary(String handler) {
+            this.handler = handler;
+        }
+
+        private void add(RecordedEvent event) {
+            count++;
+            total = total.plus(event.getDuration());
+            cpuNanos += event.getLong("cpuTime");
+            allocatedBytes += event.getLong("allocated");
+        }
+
+        public String getHandler() {
+            return handler;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getAverageMillis() {
+            return millis(total) / count;
+        }
+
+        public double getCpuMillisPerRequest() {
+            return cpuNanos / 1e6 / count;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public double getAllocatedBytesPerRequest() {
+            return (double) allocatedBytes / count;
+        }
+
+        /**
+         * Returns the memory allocated by the requests per second of recording.
+         *
+         * @return the allocation rate, in bytes per second.
+         */
+        public double getAllocationRate() {
+            return spanMillis == 0 ? 0 : allocatedBytes * 1000.0 / spanMillis;
+        }
+    }
+
+    /**
+     * The calls to one task service method.
+     */
+    public static final class MethodSummary {
+
+        private final String method;
+        private int count;
+        private int failures;
+        private long rows;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        private MethodSummary(String method) {
+            this.method = method;
+        }
+
+        private void add(RecordedEvent event) {
+            count++;
+            failures += event.getBoolean("failed") ? 1 : 0;
+            rows += event.getInt("rows");
+            total = total.plus(event.getDuration());
+            max = event.getDuration().compareTo(max) > 0 ? event.getDuration() : max;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public double getTotalMillis() {
+            return millis(total);
+        }
+
+        public double getAverageMillis() {
+            return millis(total) / count;
+        }
+
+        public double getMaxMillis() {
+            return millis(max);
+        }
+
+        public double getAverageRows() {
+            return (double) rows / count;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a call to a {@link com.imatia.taskmanagerAC.tasks.service.ITaskService} method,
+ * emitted by {@link TaskServiceEventAspect}.
+ */
+@Name(TaskServiceEvent.NAME)
+@Label("Task Service Call")
+@Category({"Task Manager", "Service"})
+@Description("Call to a task service method, including its transaction")
+@StackTrace(false)
+public class TaskServiceEvent extends jdk.jfr.Event {
+
+    static final String NAME = "com.imatia.taskmanagerAC.TaskService";
+
+    @Label("Method")
+    String method;
+
+    @Label("Filters")
+    @Description("Non-null arguments of the call")
+    String filters;
+
+    @Label("Rows")
+    @Description("Number of tasks returned")
+    int rows;
+
+    @Label("Failed")
+    boolean failed;
+}
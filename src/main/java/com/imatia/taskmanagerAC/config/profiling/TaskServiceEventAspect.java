@@ -0,0 +1,113 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Parameter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Aspect emitting a {@link TaskServiceEvent} around each {@link com.imatia.taskmanagerAC.tasks.service.ITaskService}
+ * method. While no recording includes the event, a call costs one check of {@link TaskServiceEvent#isEnabled()}.
+ *
+ * <p>The aspect runs before the transaction advice, so that the event includes the commit.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskServiceEventAspect {
+
+    private static final int MAX_FILTERS_LENGTH = 256;
+
+    /**
+     * Records a call to a task service method.
+     *
+     * @param call the call.
+     * @return the result of the call.
+     * @throws Throwable the exception thrown by the call.
+     */
+    @Around("execution(* com.imatia.taskmanagerAC.tasks.service.ITaskService.*(..))")
+    public Object record(ProceedingJoinPoint call) throws Throwable {
+        TaskServiceEvent event = new TaskServiceEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = call.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) call.getSignature();
+                event.method = signature.getName();
+                event.filters = describe(signature.getMethod().getParameters(), call.getArgs());
+                event.rows = failed ? 0 : rows(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Describes the non-null arguments of a call, such as {@code name=report, completed=false}.
+     */
+    static String describe(Parameter[] parameters, Object[] args) {
+        StringBuilder filters = new StringBuilder();
+        for (int i = 0; i < args.length && filters.length() < MAX_FILTERS_LENGTH; i++) {
+            if (args[i] == null) {
+                continue;
+            }
+            if (filters.length() > 0) {
+                filters.append(", ");
+            }
+            filters.append(i < parameters.length ? parameters[i].getName() : "arg" + i).append('=').append(describe(args[i]));
+        }
+        return filters.length() > MAX_FILTERS_LENGTH ? filters.substring(0, MAX_FILTERS_LENGTH) : filters.toString();
+    }
+
+    private static String describe(Object arg) {
+        if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean || arg instanceof TemporalAccessor
+                || arg instanceof TagFilter || arg instanceof Pageable) {
+            return String.valueOf(arg);
+        }
+        if (arg instanceof Collection) {
+            return "[" + ((Collection<?>) arg).size() + " values]";
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    /**
+     * Counts the tasks returned by a call.
+     */
+    static int rows(Object result) {
+        if (result instanceof Page) {
+            return ((Page<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean) {
+            return (Boolean) result ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+}
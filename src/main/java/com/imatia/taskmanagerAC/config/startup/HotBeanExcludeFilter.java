@@ -0,0 +1,41 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.Method;
+
+/**
+ * Keeps the beans that must not wait for their first use out of lazy initialization
+ * ({@code spring.main.lazy-initialization=true}).
+ *
+ * <ul>
+ *     <li>Controllers and task services, which serve the first requests.</li>
+ *     <li>Beans with {@link Scheduled} methods, which are only scheduled once the bean is created.</li>
+ *     <li>Beans with a {@link PostConstruct} method, which does startup work such as restoring a snapshot.</li>
+ * </ul>
+ */
+public class HotBeanExcludeFilter implements LazyInitializationExcludeFilter {
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        return AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || ITaskService.class.isAssignableFrom(beanType)
+                || !MethodIntrospector.selectMethods(beanType,
+                        (ReflectionUtils.MethodFilter) HotBeanExcludeFilter::isStartupMethod).isEmpty();
+    }
+
+    private static boolean isStartupMethod(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) || method.isAnnotationPresent(PostConstruct.class);
+    }
+}
@@ -0,0 +1,22 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the startup of the application, see the {@code fast-start} profile.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the beans needed from the start out of lazy initialization, when it is enabled.
+     *
+     * @return the filter of the eagerly created beans.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter hotBeanExcludeFilter() {
+        return new HotBeanExcludeFilter();
+    }
+}
@@ -0,0 +1,53 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup;
+
+/**
+ * Utility class selecting how the steps of the application startup are recorded, with the
+ * {@value #PROPERTY} system property. It has to be a system property, as recording starts before
+ * the application properties are read.
+ *
+ * <ul>
+ *     <li>{@code jfr}: each step is a Flight Recorder event, to be read with {@link StartupStepReport}
+ *     from a recording started with {@code -XX:StartFlightRecording}.</li>
+ *     <li>{@code buffer}: the steps are kept in memory and served by the {@code startup} actuator endpoint.</li>
+ *     <li>unset: the steps are not recorded.</li>
+ * </ul>
+ */
+public final class StartupRecording {
+
+    /**
+     * System property selecting the recording.
+     */
+    public static final String PROPERTY = "taskmanager.startup.recording";
+
+    /**
+     * Number of steps kept by the {@code buffer} recording.
+     */
+    private static final int BUFFER_CAPACITY = 10_000;
+
+    private StartupRecording() {
+    }
+
+    /**
+     * Creates the {@link ApplicationStartup} selected by the {@value #PROPERTY} system property.
+     *
+     * @return the application startup recording the steps.
+     * @throws IllegalArgumentException if the property has an unknown value.
+     */
+    public static ApplicationStartup fromSystemProperties() {
+        String recording = System.getProperty(PROPERTY, "none");
+        switch (recording) {
+            case "jfr":
+                return new FlightRecorderApplicationStartup();
+            case "buffer":
+                return new BufferingApplicationStartup(BUFFER_CAPACITY);
+            case "none":
+                return ApplicationStartup.DEFAULT;
+            default:
+                throw new IllegalArgumentException("Unknown startup recording '" + recording + "'");
+        }
+    }
+}
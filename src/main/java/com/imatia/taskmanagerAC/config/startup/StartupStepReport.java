@@ -0,0 +1,179 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of the startup steps recorded in a Flight Recorder file, by the {@code jfr} {@link StartupRecording}.
+ *
+ * <p>Steps are grouped by name, such as {@code spring.beans.instantiate}, and ordered by their total time.
+ * Nested steps are included in the time of their parent step, so the total times of different steps overlap.
+ * The build writes this report after its training run, see the {@code cds} Maven profile, so that the startup
+ * time can be tracked from build to build.</p>
+ */
+public final class StartupStepReport {
+
+    /**
+     * Name of the Flight Recorder events of the startup steps.
+     */
+    static final String STEP_EVENT = "org.springframework.core.metrics.jfr.FlightRecorderStartupEvent";
+
+    /**
+     * Name of the step covering the refresh of the application context.
+     */
+    static final String REFRESH_STEP = "spring.context.refresh";
+
+    private static final int TOP_STEPS = 25;
+
+    private final Duration span;
+    private final List<Step> steps;
+
+    private StartupStepReport(Duration span, List<Step> steps) {
+        this.span = span;
+        this.steps = steps;
+    }
+
+    /**
+     * Reads the startup steps of a recording.
+     *
+     * @param recording the Flight Recorder file.
+     * @return the report.
+     * @throws IOException if the file cannot be read.
+     */
+    public static StartupStepReport read(Path recording) throws IOException {
+        Map<String, Step> steps = new LinkedHashMap<>();
+        Instant first = null;
+        Instant last = null;
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            if (!STEP_EVENT.equals(event.getEventType().getName())) {
+                continue;
+            }
+            steps.computeIfAbsent(event.getString("name"), Step::new).add(event.getDuration());
+            first = first == null || event.getStartTime().isBefore(first) ? event.getStartTime() : first;
+            last = last == null || event.getEndTime().isAfter(last) ? event.getEndTime() : last;
+        }
+
+        List<Step> byTotal = new ArrayList<>(steps.values());
+        byTotal.sort(Comparator.comparing(Step::getTotal).reversed());
+        return new StartupStepReport(first == null ? Duration.ZERO : Duration.between(first, last), byTotal);
+    }
+
+    /**
+     * Returns the time from the start of the first step to the end of the last one.
+     *
+     * @return the span of the recorded steps.
+     */
+    public Duration getSpan() {
+        return span;
+    }
+
+    /**
+     * Returns the time taken by the refresh of the application context.
+     *
+     * @return the refresh time, zero if it was not recorded.
+     */
+    public Duration getRefresh() {
+        return steps.stream().filter(step -> REFRESH_STEP.equals(step.getName()))
+                .map(Step::getTotal).findFirst().orElse(Duration.ZERO);
+    }
+
+    /**
+     * Returns the steps, grouped by name, longest total time first.
+     *
+     * @return the steps.
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Formats the report: the span, the refresh time and the steps with the longest total time.
+     *
+     * @return the report text.
+     */
+    public String format() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf("startup.span.ms=%d%n", span.toMillis());
+        out.printf("startup.refresh.ms=%d%n", getRefresh().toMillis());
+        out.printf("%n%-50s %8s %10s %10s%n", "step", "count", "total ms", "max ms");
+        steps.stream().limit(TOP_STEPS).forEach(step -> out.printf("%-50s %8d %10d %10d%n",
+                step.getName(), step.getCount(), step.getTotal().toMillis(), step.getMax().toMillis()));
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Writes the report of a recording, and fails if the startup took longer than a budget.
+     *
+     * @param args the Flight Recorder file, the report file, and optionally the budget of the span in milliseconds.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupStepReport <recording.jfr> <report.txt> [budget-ms]");
+            System.exit(2);
+        }
+        StartupStepReport report = read(Paths.get(args[0]));
+        String text = report.format();
+        Files.write(Paths.get(args[1]), text.getBytes(StandardCharsets.UTF_8));
+        System.out.print(text);
+
+        if (args.length > 2 && report.getSpan().toMillis() > Long.parseLong(args[2])) {
+            System.err.printf("Startup took %d ms, over the budget of %s ms%n", report.getSpan().toMillis(), args[2]);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The occurrences of one startup step.
+     */
+    public static final class Step {
+
+        private final String name;
+        private int count;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+
+        private Step(String name) {
+            this.name = name;
+        }
+
+        private void add(Duration duration) {
+            count++;
+            total = total.plus(duration);
+            max = duration.compareTo(max) > 0 ? duration : max;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public Duration getTotal() {
+            return total;
+        }
+
+        public Duration getMax() {
+            return max;
+        }
+    }
+}
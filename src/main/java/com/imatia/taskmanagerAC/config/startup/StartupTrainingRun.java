@@ -0,0 +1,33 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Stops the application as soon as it is ready, for the training run of the build that records the class data
+ * sharing archive and the startup steps. Enabled with {@code taskmanager.startup.exit-after-ready=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.startup.exit-after-ready", havingValue = "true")
+public class StartupTrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTrainingRun.class);
+
+    /**
+     * Logs the startup time and exits.
+     *
+     * @param event the ready event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void exit(ApplicationReadyEvent event) {
+        log.info("Ready {} ms after the JVM started, exiting", ManagementFactory.getRuntimeMXBean().getUptime());
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
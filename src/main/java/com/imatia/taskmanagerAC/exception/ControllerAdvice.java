@@ -1,10 +1,14 @@
 package com.imatia.taskmanagerAC.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 
 /**
@@ -14,15 +18,23 @@ import java.time.LocalDateTime;
 class GlobalExceptionHandler {
 
     /**
-     * Handles {@link ResourceNotFoundException} and returns a response with HTTP 404 status.
+     * Handles {@link ResourceNotFoundException} and writes a response with HTTP 404 status.
      *
-     * @param ex the exception thrown when a resource is not found.
-     * @return a {@link ResponseEntity} containing the {@link ApiError} and the HTTP status.
+     * <p>The {@link ApiError} body is written from a pre-serialized template, see {@link NotFoundBody}, as
+     * missing tasks are a common answer rather than an error worth a round trip through Jackson.</p>
+     *
+     * @param ex       the exception thrown when a resource is not found.
+     * @param response the response to write the error to.
+     * @throws IOException if the response cannot be written.
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ApiError> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        ApiError error = new ApiError(LocalDateTime.now(), ex.getMessage(), HttpStatus.NOT_FOUND.value());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    public void handleResourceNotFoundException(ResourceNotFoundException ex, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.NOT_FOUND.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(NotFoundBody.length(ex.getId()));
+        OutputStream out = response.getOutputStream();
+        NotFoundBody.write(ex.getId(), out);
+        out.flush();
     }
 
     /**
@@ -0,0 +1,121 @@
+package com.imatia.taskmanagerAC.exception;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Pre-serialized JSON body of the 404 responses of missing tasks, as {@link ApiError} would be serialized.
+ *
+ * <p>The body is written as a cached prefix, the task ID and a constant suffix, without building an
+ * {@link ApiError} or going through Jackson. The prefix holds the timestamp, truncated to the second,
+ * and is rebuilt once per second at most.</p>
+ */
+final class NotFoundBody {
+
+    private static final String MESSAGE_PREFIX = "Task with ID ";
+    private static final String MESSAGE_SUFFIX = " not found";
+
+    private static final byte[] SUFFIX = (MESSAGE_SUFFIX + "\",\"status\":404}").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static volatile Prefix prefix = new Prefix(Long.MIN_VALUE, new byte[0]);
+
+    private NotFoundBody() {
+    }
+
+    /**
+     * Builds the message of a missing task.
+     *
+     * @param id the ID of the task.
+     * @return the message.
+     */
+    static String message(Long id) {
+        return MESSAGE_PREFIX + id + MESSAGE_SUFFIX;
+    }
+
+    /**
+     * Returns the length of the body of a missing task.
+     *
+     * @param id the ID of the task.
+     * @return the body length, in bytes.
+     */
+    static int length(Long id) {
+        return currentPrefix().bytes.length + (id == null ? NULL.length : digits(id)) + SUFFIX.length;
+    }
+
+    /**
+     * Writes the body of a missing task.
+     *
+     * @param id  the ID of the task.
+     * @param out the stream to write the body to.
+     * @throws IOException if the body cannot be written.
+     */
+    static void write(Long id, OutputStream out) throws IOException {
+        out.write(currentPrefix().bytes);
+        if (id == null) {
+            out.write(NULL);
+        } else {
+            writeDigits(id, out);
+        }
+        out.write(SUFFIX);
+    }
+
+    private static Prefix currentPrefix() {
+        long second = System.currentTimeMillis() / 1000;
+        Prefix current = prefix;
+        if (current.second != second) {
+            String timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            current = new Prefix(second, ("{\"timestamp\":\"" + timestamp + "\",\"message\":\"" + MESSAGE_PREFIX)
+                    .getBytes(StandardCharsets.US_ASCII));
+            prefix = current;
+        }
+        return current;
+    }
+
+    private static int digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+        int digits = value < 0 ? 2 : 1;
+        for (long rest = Math.abs(value); rest >= 10; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void writeDigits(long value, OutputStream out) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.write((int) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * The start of the body, up to the task ID, for one second.
+     */
+    private static final class Prefix {
+
+        private final long second;
+        private final byte[] bytes;
+
+        private Prefix(long second, byte[] bytes) {
+            this.second = second;
+            this.bytes = bytes;
+        }
+    }
+}
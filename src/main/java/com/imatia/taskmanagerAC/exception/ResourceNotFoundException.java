@@ -2,15 +2,35 @@ package com.imatia.taskmanagerAC.exception;
 
 /**
  * Custom exception to handle scenarios where a resource is not found.
+ *
+ * <p>Missing tasks are an expected outcome, probed for by clients all the time, rather than a failure to
+ * diagnose: the exception has no stack trace, and its message is only built when it is read.</p>
  */
 public class ResourceNotFoundException extends RuntimeException {
 
+    private final Long id;
+
     /**
      * Constructs a new ResourceNotFoundException with the specified resource ID.
      *
      * @param id the ID of the resource that was not found.
      */
     public ResourceNotFoundException(Long id) {
-        super("Task with ID " + id + " not found");
+        super(null, null, false, false);
+        this.id = id;
+    }
+
+    /**
+     * Returns the ID of the resource that was not found.
+     *
+     * @return the resource ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return NotFoundBody.message(id);
     }
 }
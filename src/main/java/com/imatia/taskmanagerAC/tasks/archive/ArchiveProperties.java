@@ -0,0 +1,62 @@
+package com.imatia.taskmanagerAC.tasks.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the archival of completed tasks, bound to {@code taskmanager.archive.*}.
+ */
+@ConfigurationProperties("taskmanager.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    private Duration completedOlderThan = Duration.ofDays(90);
+
+    private int batchSize = 500;
+
+    private int maxBatchesPerRun = 100;
+
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getCompletedOlderThan() {
+        return completedOlderThan;
+    }
+
+    public void setCompletedOlderThan(Duration completedOlderThan) {
+        this.completedOlderThan = completedOlderThan;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+}
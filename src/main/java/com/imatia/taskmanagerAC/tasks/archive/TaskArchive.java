@@ -0,0 +1,144 @@
+package com.imatia.taskmanagerAC.tasks.archive;
+
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the creation date range covered by the TASK_ARCHIVE table, so that queries can skip it.
+ *
+ * <p>Only completed tasks are archived, and the archive only holds tasks created between the tracked bounds.
+ * A query filtering on incomplete tasks, or on a creation date range outside those bounds, therefore never
+ * needs to read the archive.</p>
+ *
+ * <p>The bounds grow as soon as this instance archives tasks, and are reloaded from the database periodically
+ * to follow the tasks archived by other instances, and to shrink after archived tasks are restored or deleted.
+ * Until the next reload, tasks archived by another instance may be missing from the queries skipping the
+ * archive.</p>
+ */
+@Component
+public class TaskArchive {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final AtomicReference<Bounds> bounds = new AtomicReference<>();
+
+    /**
+     * Constructor for TaskArchive.
+     *
+     * @param jdbcTemplate the template used to read the archive bounds.
+     * @param shardRouter  the router used to read the bounds of every shard.
+     */
+    public TaskArchive(JdbcTemplate jdbcTemplate, TaskShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Loads the bounds of the archive from the database once the application has started, then periodically.
+     *
+     * <p>Bounds widened by this instance while they are being loaded are kept, so that a reload never hides
+     * tasks that were just archived.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${taskmanager.archive.bounds-refresh-interval:PT1M}",
+            fixedDelayString = "${taskmanager.archive.bounds-refresh-interval:PT1M}")
+    public void refresh() {
+        Bounds previous = bounds.get();
+        AtomicReference<Bounds> loaded = new AtomicReference<>();
+        shardRouter.forEachShard(() -> jdbcTemplate.query(
+                "SELECT MIN(CREATION_DATE), MAX(CREATION_DATE), COUNT(*) FROM TASK_ARCHIVE",
+                rs -> {
+                    if (rs.getLong(3) > 0) {
+                        loaded.accumulateAndGet(new Bounds(toLocalDateTime(rs.getTimestamp(1)),
+                                toLocalDateTime(rs.getTimestamp(2))), Bounds::union);
+                    }
+                }));
+        if (!bounds.compareAndSet(previous, loaded.get())) {
+            bounds.accumulateAndGet(loaded.get(), Bounds::union);
+        }
+    }
+
+    /**
+     * Indicates whether no task has ever been archived.
+     *
+     * @return true if the archive is known to be empty.
+     */
+    public boolean isEmpty() {
+        return bounds.get() == null;
+    }
+
+    /**
+     * Indicates whether the archive may hold tasks matching the given filters.
+     *
+     * @param completed the completion status filter, or null.
+     * @param startDate the lower bound of the creation date filter, or null.
+     * @param endDate   the upper bound of the creation date filter, or null.
+     * @return false if the archive can be skipped for this query.
+     */
+    public boolean mayContain(Boolean completed, LocalDateTime startDate, LocalDateTime endDate) {
+        Bounds current = bounds.get();
+        if (current == null || Boolean.FALSE.equals(completed)) {
+            return false;
+        }
+        if (current.newest != null && startDate != null && startDate.isAfter(current.newest)) {
+            return false;
+        }
+        return current.oldest == null || endDate == null || !endDate.isBefore(current.oldest);
+    }
+
+    /**
+     * Widens the tracked bounds to cover newly archived tasks.
+     *
+     * @param oldest the oldest creation date of the archived tasks, or null if they are all undated.
+     * @param newest the newest creation date of the archived tasks, or null if they are all undated.
+     */
+    void extend(LocalDateTime oldest, LocalDateTime newest) {
+        bounds.accumulateAndGet(new Bounds(oldest, newest), Bounds::union);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Creation date range of the archived tasks. A null bound means no task with a date has been archived.
+     */
+    private static final class Bounds {
+        private final LocalDateTime oldest;
+        private final LocalDateTime newest;
+
+        private Bounds(LocalDateTime oldest, LocalDateTime newest) {
+            this.oldest = oldest;
+            this.newest = newest;
+        }
+
+        private static Bounds union(Bounds a, Bounds b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return new Bounds(min(a.oldest, b.oldest), max(a.newest, b.newest));
+        }
+
+        private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return a.isBefore(b) ? a : b;
+        }
+
+        private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return a.isAfter(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.imatia.taskmanagerAC.tasks.archive;
+
+import com.imatia.taskmanagerAC.tasks.lease.JobLease;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scheduled job moving old completed tasks from the TASK table to the TASK_ARCHIVE table.
+ *
+ * <p>Tasks completed before the configured age are moved in batches, each batch in its own transaction,
+ * so that the job never holds long locks on the TASK table. The job runs on every shard.</p>
+ *
+ * <p>Only the instance holding the {@value #JOB} {@link JobLease} archives; the lease is renewed before each
+ * batch. Each batch locks the rows it selects and moves them only if they still match, so a task reopened or
+ * edited concurrently is either moved before the change, which then restores it, or left in TASK.</p>
+ */
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+@ConditionalOnProperty(name = "taskmanager.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    /**
+     * Columns copied from TASK to TASK_ARCHIVE.
+     */
+    private static final String COLUMNS = "ID, NAME, TEXT, CREATION_DATE, ENDING_DATE, COMPLETED, DUE_DATE, PARENT_ID, PATH";
+
+    /**
+     * Rows of TASK that the archiver moves, re-checked by every statement of a batch.
+     */
+    private static final String ARCHIVABLE = "COMPLETED = TRUE AND ENDING_DATE < :cutoff";
+
+    /**
+     * Name of the lease electing the archiving instance.
+     */
+    static final String JOB = "task-archiver";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskArchive taskArchive;
+    private final ArchiveProperties properties;
+    private final JobLease jobLease;
+
+    /**
+     * Constructor for TaskArchiver.
+     *
+     * @param jdbcTemplate       the template used to move the rows.
+     * @param transactionManager the transaction manager used to run each batch in its own transaction.
+     * @param shardRouter        the router used to archive every shard.
+     * @param taskArchive        the archive bounds to widen after each batch.
+     * @param properties         the archival configuration.
+     * @param jobLease           the lease electing the one instance that archives.
+     */
+    public TaskArchiver(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        TaskShardRouter shardRouter, TaskArchive taskArchive, ArchiveProperties properties,
+                        JobLease jobLease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.taskArchive = taskArchive;
+        this.properties = properties;
+        this.jobLease = jobLease;
+    }
+
+    /**
+     * Archives, on every shard, the tasks completed before the configured age, unless another instance holds
+     * the archiving lease.
+     */
+    @Scheduled(initialDelayString = "${taskmanager.archive.initial-delay:PT1M}",
+            fixedDelayString = "${taskmanager.archive.interval:PT1H}")
+    public void archiveCompletedTasks() {
+        if (!jobLease.tryAcquire(JOB, properties.getLeaseDuration())) {
+            log.debug("Archiving skipped, the {} lease is held by another instance", JOB);
+            return;
+        }
+        try {
+            archive(LocalDateTime.now().minus(properties.getCompletedOlderThan()));
+        } finally {
+            jobLease.release(JOB);
+        }
+    }
+
+    private void archive(LocalDateTime cutoff) {
+        shardRouter.forEachShard(() -> {
+            int archived = 0;
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                if (batch > 0 && !jobLease.tryAcquire(JOB, properties.getLeaseDuration())) {
+                    log.warn("Archiving stopped, the {} lease was lost", JOB);
+                    break;
+                }
+                Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                archived += moved == null ? 0 : moved;
+                if (moved == null || moved < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                log.info("Archived {} tasks completed before {}", archived, cutoff);
+            }
+        });
+    }
+
+    /**
+     * Moves one batch of old completed tasks to the archive.
+     *
+     * <p>The selected rows are locked until the batch commits, and both the copy and the delete repeat the
+     * selection criteria, so that only rows still archivable are moved.</p>
+     *
+     * @param cutoff the ending date before which completed tasks are archived.
+     * @return the number of tasks moved.
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", properties.getBatchSize());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT ID FROM TASK WHERE " + ARCHIVABLE + " ORDER BY ENDING_DATE LIMIT :limit FOR UPDATE",
+                params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource idParams = new MapSqlParameterSource("ids", ids)
+                .addValue("cutoff", Timestamp.valueOf(cutoff));
+        jdbcTemplate.update("INSERT INTO TASK_ARCHIVE (" + COLUMNS + ") SELECT " + COLUMNS
+                + " FROM TASK WHERE ID IN (:ids) AND " + ARCHIVABLE, idParams);
+        int moved = jdbcTemplate.update("DELETE FROM TASK WHERE ID IN (:ids) AND " + ARCHIVABLE, idParams);
+
+        jdbcTemplate.query("SELECT MIN(CREATION_DATE), MAX(CREATION_DATE) FROM TASK_ARCHIVE WHERE ID IN (:ids)", idParams,
+                rs -> {
+                    Timestamp oldest = rs.getTimestamp(1);
+                    Timestamp newest = rs.getTimestamp(2);
+                    taskArchive.extend(oldest == null ? null : oldest.toLocalDateTime(),
+                            newest == null ? null : newest.toLocalDateTime());
+                });
+        return moved;
+    }
+}
@@ -0,0 +1,156 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.hierarchy.TaskPaths;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import com.imatia.taskmanagerAC.tasks.service.TaskUpdates;
+import com.imatia.taskmanagerAC.tasks.sharding.SnowflakeIdGenerator;
+import com.imatia.taskmanagerAC.tasks.snapshot.TaskSnapshot;
+import com.imatia.taskmanagerAC.tasks.snapshot.TaskSnapshotConsumer;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Task service backed by the in-memory {@link ColumnarTaskStore}, for deployments that need very low read latency.
+ *
+ * <p>Active when {@code taskmanager.store=columnar}, in which case it replaces the JPA {@code TaskService} as the
+ * {@link ITaskService} used by the controllers. Durability comes from the store's write-ahead log. When its log is
+ * empty, the store is seeded from the task snapshot, if one is configured. Task tags are not stored, and list
+ * queries filtering on tags are rejected. As with the JPA service, tasks with subtasks cannot be deleted.</p>
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "taskmanager.store", havingValue = "columnar")
+public class ColumnarTaskService implements ITaskService, TaskSnapshotConsumer, DisposableBean {
+
+    private final ColumnarTaskStore store;
+    private final SnowflakeIdGenerator idGenerator;
+
+    /**
+     * Constructor for ColumnarTaskService. Opens the store and replays its write-ahead log.
+     *
+     * @param idGenerator     the generator of new task IDs.
+     * @param walPath         the path of the write-ahead log.
+     * @param fsync           whether every write must be forced to disk before returning.
+     * @param initialCapacity the number of tasks to allocate room for up front.
+     */
+    public ColumnarTaskService(SnowflakeIdGenerator idGenerator,
+                               @Value("${taskmanager.columnar.wal-path:data/tasks.wal}") String walPath,
+                               @Value("${taskmanager.columnar.fsync:true}") boolean fsync,
+                               @Value("${taskmanager.columnar.initial-capacity:1024}") int initialCapacity) {
+        this.idGenerator = idGenerator;
+        try {
+            this.store = ColumnarTaskStore.open(initialCapacity, Paths.get(walPath), fsync);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open the columnar task store at " + walPath, ex);
+        }
+    }
+
+    @Override
+    public Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                                 TagFilter tags, Pageable pageable) {
+        if (!tags.isEmpty()) {
+            throw new IllegalArgumentException("Tag filters are not supported by the columnar task store");
+        }
+        return store.query(name, completed, startDate, endDate, pageable);
+    }
+
+    @Override
+    public Optional<TaskDto> findById(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public List<TaskDto> findAllById(Collection<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .stream()
+                .map(store::get)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public TaskDto createTask(TaskDto task) {
+        TaskDto newTask = new TaskDto(idGenerator.nextId(), task.getName(), task.getText(),
+                task.getCreationDate(), task.getEndingDate(), task.getCompleted());
+        newTask.setDueDate(task.getDueDate());
+        newTask.setParentId(task.getParentId());
+        if (task.getParentId() == null) {
+            newTask.setPath(TaskPaths.root(newTask.getId()));
+        } else {
+            TaskDto parent = store.get(task.getParentId()).orElseThrow(() ->
+                    new IllegalArgumentException("Parent task " + task.getParentId() + " does not exist"));
+            newTask.setPath(TaskPaths.child(TaskPaths.of(parent.getId(), parent.getPath()), newTask.getId()));
+        }
+
+        if (newTask.getCreationDate() == null) {
+            newTask.setCreationDate(LocalDateTime.now());
+        }
+
+        if (newTask.getCompleted() == null) {
+            newTask.setCompleted(false);
+        }
+
+        store.put(newTask);
+        return newTask;
+    }
+
+    @Override
+    public TaskDto updateTask(Long id, TaskDto task) {
+        return updateTaskInternal(id, task, false);
+    }
+
+    @Override
+    public TaskDto partialUpdateTask(Long id, TaskDto task) {
+        return updateTaskInternal(id, task, true);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return store.remove(id);
+    }
+
+    @Override
+    public void warmFrom(TaskSnapshot snapshot) {
+        if (store.size() > 0) {
+            return;
+        }
+
+        List<TaskDto> tasks = new ArrayList<>(snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (!snapshot.isArchived(row)) {
+                tasks.add(snapshot.toDto(row));
+            }
+        }
+        store.putAll(tasks);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        store.close();
+    }
+
+    private TaskDto updateTaskInternal(Long id, TaskDto task, boolean isPartial) {
+        return store.update(id, existingTask -> TaskUpdates.apply(existingTask, task, isPartial)).orElse(null);
+    }
+}
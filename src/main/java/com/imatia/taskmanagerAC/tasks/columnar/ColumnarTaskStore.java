@@ -0,0 +1,616 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory task store with a columnar, primitive-specialized layout.
+ *
+ * <p>Each task occupies one row across parallel columns: {@code long[]} IDs, epoch-millisecond {@code long[]}
+ * dates, interned string codes, and bit sets for the completion flag and row liveness. Filters are evaluated
+ * as bit set intersections, and the creation date range and ordering come from a sorted index over the
+ * creation date column, so a query never materializes rows it does not return.</p>
+ *
+ * <p>The sorted index is appended to in O(1) when tasks arrive in creation order, which is the common case,
+ * and rebuilt lazily on the next query otherwise. Deleted rows are reclaimed when the index is rebuilt.
+ * When a {@link TaskWriteAheadLog} is attached, every write is logged before being applied.</p>
+ *
+ * <p>Writers are serialized by a lock of their own, held while the log is written and forced; the lock shared with
+ * readers is only taken to apply a change to the columns, so reads never wait for the disk.</p>
+ */
+public class ColumnarTaskStore implements Closeable {
+
+    /**
+     * Epoch-millisecond value standing for a null date. It sorts before every real date.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final long NO_PARENT = Long.MIN_VALUE;
+
+    private static final int MISSING = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writerLock = new Object();
+    private final StringPool strings = new StringPool();
+    private final LongIntHashMap rowsById;
+    private final TaskWriteAheadLog log;
+
+    private long[] ids;
+    private int[] names;
+    private int[] texts;
+    private long[] creationDates;
+    private long[] endingDates;
+    private long[] dueDates;
+    private long[] parentIds;
+    private String[] paths;
+    private final BitSet completed = new BitSet();
+    private final BitSet completedKnown = new BitSet();
+    private final BitSet live = new BitSet();
+    private int rowCount;
+    private int[] freeRows = new int[0];
+    private int freeRowCount;
+
+    private int[] sortedRows;
+    private int sortedCount;
+    private boolean sortedIndexStale;
+
+    /**
+     * Creates an empty store without durability.
+     *
+     * @param initialCapacity the number of rows to allocate up front.
+     */
+    public ColumnarTaskStore(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    private ColumnarTaskStore(int initialCapacity, TaskWriteAheadLog log) {
+        int capacity = Math.max(16, initialCapacity);
+        this.rowsById = new LongIntHashMap(capacity);
+        this.log = log;
+        this.ids = new long[capacity];
+        this.names = new int[capacity];
+        this.texts = new int[capacity];
+        this.creationDates = new long[capacity];
+        this.endingDates = new long[capacity];
+        this.dueDates = new long[capacity];
+        this.parentIds = new long[capacity];
+        this.paths = new String[capacity];
+        this.sortedRows = new int[capacity];
+    }
+
+    /**
+     * Opens a durable store, replaying the write-ahead log at the given path.
+     *
+     * @param initialCapacity the number of rows to allocate up front.
+     * @param logPath         the write-ahead log file.
+     * @param fsync           whether every write must be forced to disk before returning.
+     * @return the store holding every task recorded in the log.
+     * @throws IOException if the log cannot be opened or read.
+     */
+    public static ColumnarTaskStore open(int initialCapacity, Path logPath, boolean fsync) throws IOException {
+        TaskWriteAheadLog log = new TaskWriteAheadLog(logPath, fsync);
+        ColumnarTaskStore store = new ColumnarTaskStore(initialCapacity, log);
+        log.replay(store::apply, store::applyRemove);
+        return store;
+    }
+
+    /**
+     * Returns the number of live tasks.
+     *
+     * @return the task count.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a task by its ID.
+     *
+     * @param id the task ID.
+     * @return the task, or empty if there is no task with this ID.
+     */
+    public Optional<TaskDto> get(long id) {
+        lock.readLock().lock();
+        try {
+            int row = rowsById.get(id, MISSING);
+            return row == MISSING ? Optional.empty() : Optional.of(toDto(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores a task, replacing any task with the same ID.
+     *
+     * @param task the task to store; its ID must be set.
+     * @throws IllegalArgumentException if the parent of the task does not exist.
+     */
+    public void put(TaskDto task) {
+        synchronized (writerLock) {
+            if (task.getParentId() != null && rowsById.get(task.getParentId(), MISSING) == MISSING) {
+                throw new IllegalArgumentException("Parent task " + task.getParentId() + " does not exist");
+            }
+            write(task);
+        }
+    }
+
+    /**
+     * Changes a task atomically: no other write runs between reading the task and storing its new state.
+     *
+     * @param id      the task ID.
+     * @param changes applies the changes to the current state of the task.
+     * @return the changed task, or empty if there is no task with this ID.
+     */
+    public Optional<TaskDto> update(long id, Consumer<TaskDto> changes) {
+        synchronized (writerLock) {
+            Optional<TaskDto> task = get(id);
+            task.ifPresent(current -> {
+                changes.accept(current);
+                write(current);
+            });
+            return task;
+        }
+    }
+
+    /**
+     * Stores a batch of tasks, replacing any task with the same ID.
+     *
+     * <p>Meant for bulk loads: instead of one log record per task, the log is rewritten once with every
+     * live task after the batch has been applied.</p>
+     *
+     * @param tasks the tasks to store; their IDs must be set.
+     */
+    public void putAll(Iterable<TaskDto> tasks) {
+        synchronized (writerLock) {
+            lock.writeLock().lock();
+            try {
+                for (TaskDto task : tasks) {
+                    apply(task);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (log != null) {
+                try {
+                    rewriteLog();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to checkpoint the write-ahead log", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param id the task ID.
+     * @return true if the task existed.
+     * @throws IllegalArgumentException if the task has subtasks.
+     */
+    public boolean remove(long id) {
+        synchronized (writerLock) {
+            if (get(id).isEmpty()) {
+                return false;
+            }
+            if (hasChildren(id)) {
+                throw new IllegalArgumentException("Task " + id + " has subtasks; delete or move them first");
+            }
+            if (log != null) {
+                log.appendDelete(id);
+            }
+            lock.writeLock().lock();
+            try {
+                applyRemove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            checkpointIfNeeded();
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves a page of tasks matching the given filters, ordered by descending creation date.
+     * Filters behave as the SQL filters of {@code TaskSpecification}.
+     *
+     * @param name      case-insensitive substring of the task name, or null.
+     * @param completed completion status, or null.
+     * @param startDate lower bound of the creation date, inclusive, or null.
+     * @param endDate   upper bound of the creation date, inclusive, or null.
+     * @param pageable  the page to return.
+     * @return the requested page of matching tasks.
+     */
+    public Page<TaskDto> query(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                               Pageable pageable) {
+        lockForQuery();
+        try {
+            BitSet candidates = candidates(name, completed);
+
+            int from = startDate == null ? 0 : lowerBound(toEpochMillis(startDate));
+            int to = endDate == null ? sortedCount : upperBound(toEpochMillis(endDate));
+            boolean dateFiltered = startDate != null || endDate != null;
+
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            List<TaskDto> content = new ArrayList<>(Math.min(limit, 1024));
+            long seen = 0;
+
+            for (int i = to - 1; i >= from; i--) {
+                int row = sortedRows[i];
+                if (!candidates.get(row) || (dateFiltered && creationDates[row] == NO_DATE)) {
+                    continue;
+                }
+                if (seen >= offset && content.size() < limit) {
+                    content.add(toDto(row));
+                } else if (!dateFiltered && content.size() == limit) {
+                    break;
+                }
+                seen++;
+            }
+
+            // Without a date range every candidate is in range, so the total is a popcount instead of a scan.
+            long total = dateFiltered ? seen : candidates.cardinality();
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls the given consumer for every live task, in no particular order.
+     *
+     * @param consumer the consumer of tasks.
+     */
+    public void forEach(Consumer<TaskDto> consumer) {
+        lock.readLock().lock();
+        try {
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                consumer.accept(toDto(row));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Converts a date to the epoch-millisecond representation used by the date columns.
+     *
+     * @param date the date, interpreted as UTC, or null.
+     * @return the epoch milliseconds, or {@link #NO_DATE} for null.
+     */
+    public static long toEpochMillis(LocalDateTime date) {
+        return date == null ? NO_DATE : date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Converts the epoch-millisecond representation used by the date columns back to a date.
+     *
+     * @param millis the epoch milliseconds, or {@link #NO_DATE}.
+     * @return the UTC date, or null for {@link #NO_DATE}.
+     */
+    public static LocalDateTime fromEpochMillis(long millis) {
+        if (millis == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Computes the rows matching the name and completion filters.
+     */
+    private BitSet candidates(String name, Boolean completedFilter) {
+        BitSet candidates = (BitSet) live.clone();
+        if (completedFilter != null) {
+            candidates.and(completedKnown);
+            if (completedFilter) {
+                candidates.and(completed);
+            } else {
+                candidates.andNot(completed);
+            }
+        }
+        if (name != null) {
+            BitSet matchingNames = strings.codesContaining(name);
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (!matchingNames.get(names[row])) {
+                    candidates.clear(row);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Acquires the read lock with an up-to-date sorted index, rebuilding it under the write lock if needed.
+     */
+    private void lockForQuery() {
+        lock.readLock().lock();
+        if (!sortedIndexStale) {
+            return;
+        }
+        lock.readLock().unlock();
+
+        lock.writeLock().lock();
+        try {
+            if (sortedIndexStale) {
+                rebuildSortedIndex();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether a live task has the given parent. Must be called with the writer lock held, which keeps
+     * the columns from changing.
+     */
+    private boolean hasChildren(long id) {
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            if (parentIds[row] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logs a task, then writes it into the columns. Must be called with the writer lock held.
+     */
+    private void write(TaskDto task) {
+        if (log != null) {
+            log.appendPut(task);
+        }
+        lock.writeLock().lock();
+        try {
+            apply(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        checkpointIfNeeded();
+    }
+
+    /**
+     * Writes a task into the columns, reusing its row when it already exists.
+     */
+    private void apply(TaskDto task) {
+        long id = task.getId();
+        int row = rowsById.get(id, MISSING);
+        long creationDate = toEpochMillis(task.getCreationDate());
+
+        if (row == MISSING) {
+            row = allocateRow();
+            rowsById.put(id, row);
+            live.set(row);
+            appendToSortedIndex(row, creationDate);
+        } else if (creationDates[row] != creationDate) {
+            sortedIndexStale = true;
+        }
+
+        ids[row] = id;
+        names[row] = strings.intern(task.getName());
+        texts[row] = strings.intern(task.getText());
+        creationDates[row] = creationDate;
+        endingDates[row] = toEpochMillis(task.getEndingDate());
+        dueDates[row] = toEpochMillis(task.getDueDate());
+        parentIds[row] = task.getParentId() == null ? NO_PARENT : task.getParentId();
+        paths[row] = task.getPath();
+        completedKnown.set(row, task.getCompleted() != null);
+        completed.set(row, Boolean.TRUE.equals(task.getCompleted()));
+    }
+
+    /**
+     * Removes a task from the columns. Its row stays in the sorted index, where it is skipped as not live,
+     * until the next rebuild.
+     */
+    private void applyRemove(long id) {
+        int row = rowsById.get(id, MISSING);
+        if (row != MISSING) {
+            rowsById.remove(id);
+            live.clear(row);
+            sortedIndexStale = true;
+        }
+    }
+
+    private int allocateRow() {
+        if (freeRowCount > 0) {
+            return freeRows[--freeRowCount];
+        }
+        if (rowCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            creationDates = Arrays.copyOf(creationDates, capacity);
+            endingDates = Arrays.copyOf(endingDates, capacity);
+            dueDates = Arrays.copyOf(dueDates, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            paths = Arrays.copyOf(paths, capacity);
+        }
+        return rowCount++;
+    }
+
+    private void appendToSortedIndex(int row, long creationDate) {
+        if (sortedIndexStale) {
+            return;
+        }
+        if (sortedCount > 0 && creationDates[sortedRows[sortedCount - 1]] > creationDate) {
+            sortedIndexStale = true;
+            return;
+        }
+        if (sortedCount == sortedRows.length) {
+            sortedRows = Arrays.copyOf(sortedRows, sortedRows.length + (sortedRows.length >> 1) + 1);
+        }
+        sortedRows[sortedCount++] = row;
+    }
+
+    /**
+     * Rebuilds the sorted index over the live rows and reclaims the rows of deleted tasks.
+     */
+    private void rebuildSortedIndex() {
+        int liveCount = live.cardinality();
+        int[] rows = new int[liveCount];
+        long[] keys = new long[liveCount];
+        int i = 0;
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            rows[i] = row;
+            keys[i] = creationDates[row];
+            i++;
+        }
+        sort(keys, rows, 0, liveCount - 1);
+        sortedRows = rows.length == 0 ? new int[16] : rows;
+        sortedCount = liveCount;
+
+        freeRows = new int[rowCount - liveCount];
+        freeRowCount = 0;
+        for (int row = live.nextClearBit(0); row < rowCount; row = live.nextClearBit(row + 1)) {
+            freeRows[freeRowCount++] = row;
+        }
+        sortedIndexStale = false;
+    }
+
+    /**
+     * Index of the first sorted row whose creation date is at or after the given date.
+     */
+    private int lowerBound(long date) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (creationDates[sortedRows[mid]] < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first sorted row whose creation date is after the given date.
+     */
+    private int upperBound(long date) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (creationDates[sortedRows[mid]] <= date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rewrites the log once superseded records outnumber live tasks, bounding replay time. Must be called with
+     * the writer lock held.
+     */
+    private void checkpointIfNeeded() {
+        if (log == null || log.recordCount() < 10_000 || log.recordCount() < 2L * size()) {
+            return;
+        }
+        try {
+            rewriteLog();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to checkpoint the write-ahead log", ex);
+        }
+    }
+
+    /**
+     * Replaces the log with one record per live task. Must be called with the writer lock held, so that the
+     * columns do not change meanwhile. The tasks are copied out under the read lock and written without it.
+     */
+    private void rewriteLog() throws IOException {
+        List<TaskDto> tasks = new ArrayList<>(size());
+        forEach(tasks::add);
+        log.rewrite(consumer -> tasks.forEach(consumer));
+    }
+
+    private TaskDto toDto(int row) {
+        boolean isCompletedKnown = completedKnown.get(row);
+        TaskDto task = new TaskDto(
+                ids[row],
+                strings.get(names[row]),
+                strings.get(texts[row]),
+                fromEpochMillis(creationDates[row]),
+                fromEpochMillis(endingDates[row]),
+                isCompletedKnown ? completed.get(row) : null);
+        task.setDueDate(fromEpochMillis(dueDates[row]));
+        task.setParentId(parentIds[row] == NO_PARENT ? null : parentIds[row]);
+        task.setPath(paths[row]);
+        return task;
+    }
+
+    /**
+     * Sorts rows by key in ascending order, without boxing (quicksort, insertion sort for small ranges).
+     */
+    private static void sort(long[] keys, int[] rows, int low, int high) {
+        while (high - low > 16) {
+            long pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, rows, i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                sort(keys, rows, low, j);
+                low = i;
+            } else {
+                sort(keys, rows, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(keys, rows, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(long[] keys, int[] rows, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+}
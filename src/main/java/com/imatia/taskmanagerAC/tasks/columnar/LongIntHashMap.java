@@ -0,0 +1,142 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code long} keys to {@code int} values, without boxing.
+ *
+ * <p>Uses linear probing with backward-shift deletion, so no tombstones accumulate. The key
+ * {@link Long#MIN_VALUE} is reserved to mark free slots. Not thread-safe.</p>
+ */
+final class LongIntHashMap {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key          the key.
+     * @param missingValue the value to return when the key is absent.
+     * @return the mapped value, or {@code missingValue}.
+     */
+    int get(long key, int missingValue) {
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any previous mapping.
+     *
+     * @param key   the key, other than {@link Long#MIN_VALUE}.
+     * @param value the value.
+     */
+    void put(long key, int value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Reserved key");
+        }
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @param key the key.
+     * @return true if a mapping was removed.
+     */
+    boolean remove(long key) {
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /**
+     * Closes the gap left at the given slot by moving back the entries of the same probe sequence.
+     *
+     * @param gap the slot being freed.
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (keys[slot] == FREE) {
+                keys[gap] = FREE;
+                return;
+            }
+            int home = slot(keys[slot]);
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (movable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary interning the string columns of {@link ColumnarTaskStore}.
+ *
+ * <p>Each distinct string is stored once and referenced from the columns by an {@code int} code, so repeated
+ * names and texts cost four bytes per row. The lower-case form of each string is kept alongside it, so that
+ * substring filters scan the dictionary instead of every row. Code 0 is reserved for null. Not thread-safe.</p>
+ */
+final class StringPool {
+
+    static final int NULL_CODE = 0;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final List<String> lowerCaseStrings = new ArrayList<>();
+
+    StringPool() {
+        strings.add(null);
+        lowerCaseStrings.add(null);
+    }
+
+    /**
+     * Returns the code of the given string, adding it to the dictionary if needed.
+     *
+     * @param value the string, possibly null.
+     * @return the code of the string.
+     */
+    int intern(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = strings.size();
+            codes.put(value, code);
+            strings.add(value);
+            lowerCaseStrings.add(value.toLowerCase(Locale.ROOT));
+        }
+        return code;
+    }
+
+    /**
+     * Returns the string with the given code.
+     *
+     * @param code the code returned by {@link #intern(String)}.
+     * @return the string, or null for {@link #NULL_CODE}.
+     */
+    String get(int code) {
+        return strings.get(code);
+    }
+
+    /**
+     * Returns the codes of every string containing the given substring, ignoring case.
+     *
+     * @param substring the substring to look for.
+     * @return a bit set indexed by code.
+     */
+    BitSet codesContaining(String substring) {
+        String needle = substring.toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet(strings.size());
+        for (int code = 1; code < lowerCaseStrings.size(); code++) {
+            if (lowerCaseStrings.get(code).contains(needle)) {
+                matches.set(code);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,317 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log making the writes of {@link ColumnarTaskStore} durable.
+ *
+ * <p>Each record is framed as {@code [int length][int crc32][payload]}. On replay, the log is truncated at the
+ * first incomplete or corrupt record, which is what a crash in the middle of an append leaves behind.
+ * Fields added to task records over time are appended at their end, so that older records still replay.
+ * When {@code fsync} is enabled, every append is forced to disk before returning.</p>
+ *
+ * <p>An append that fails is cut back off the log, so that no torn record is left in front of the later ones.
+ * If that fails too, the log refuses every further write, as replay would drop whatever followed the torn record.</p>
+ */
+final class TaskWriteAheadLog implements Closeable {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+    private static final byte NULL = 2;
+
+    private static final long NO_PARENT = Long.MIN_VALUE;
+
+    private final Path path;
+    private final boolean fsync;
+    private FileChannel channel;
+    private long recordCount;
+    private IOException failure;
+
+    /**
+     * Opens the log at the given path, creating it if needed.
+     *
+     * @param path  the log file.
+     * @param fsync whether every append must be forced to disk.
+     * @throws IOException if the file cannot be opened.
+     */
+    TaskWriteAheadLog(Path path, boolean fsync) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Replays every valid record of the log, then positions the log for appends after the last valid record.
+     *
+     * @param onPut    receives each stored task.
+     * @param onDelete receives the ID of each deleted task.
+     * @throws IOException if the file cannot be read.
+     */
+    void replay(Consumer<TaskDto> onPut, LongConsumer onDelete) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        long position = 0;
+        recordCount = 0;
+
+        while (true) {
+            header.clear();
+            if (channel.read(header, position) < 8) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || position + 8 + length > channel.size()) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + 8);
+            if (checksum(payload.array()) != crc) {
+                break;
+            }
+            payload.flip();
+            if (payload.get() == PUT) {
+                onPut.accept(readTask(payload));
+            } else {
+                onDelete.accept(payload.getLong());
+            }
+            position += 8 + length;
+            recordCount++;
+        }
+
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    /**
+     * Appends the new state of a task.
+     *
+     * @param task the task as stored.
+     */
+    void appendPut(TaskDto task) {
+        append(encode(out -> {
+            out.writeByte(PUT);
+            writeTask(out, task);
+        }));
+    }
+
+    /**
+     * Appends the deletion of a task.
+     *
+     * @param id the ID of the deleted task.
+     */
+    void appendDelete(long id) {
+        append(encode(out -> {
+            out.writeByte(DELETE);
+            out.writeLong(id);
+        }));
+    }
+
+    /**
+     * Returns the number of records in the log, including superseded ones.
+     *
+     * @return the record count.
+     */
+    long recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Replaces the log with one holding a single record per live task.
+     *
+     * <p>The new log is written to a temporary file, forced to disk, then atomically moved over the old one.</p>
+     *
+     * @param liveTasks feeds every live task to the given consumer.
+     * @throws IOException if the new log cannot be written.
+     */
+    void rewrite(Consumer<Consumer<TaskDto>> liveTasks) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long[] count = new long[1];
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            liveTasks.accept(task -> {
+                try {
+                    ByteBuffer record = encode(data -> {
+                        data.writeByte(PUT);
+                        writeTask(data, task);
+                    });
+                    while (record.hasRemaining()) {
+                        out.write(record);
+                    }
+                    count[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.force(true);
+        }
+
+        checkWritable();
+        channel.close();
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordCount = count[0];
+        } finally {
+            // The old log is still valid if the move failed, so reopen whichever file is at the path.
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+            } catch (IOException ex) {
+                failure = ex;
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(ByteBuffer record) {
+        try {
+            checkWritable();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        long start = -1;
+        try {
+            start = channel.position();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            recordCount++;
+        } catch (IOException ex) {
+            discardFrom(start, ex);
+            throw new UncheckedIOException("Failed to append to the write-ahead log " + path, ex);
+        }
+    }
+
+    /**
+     * Cuts a failed append off the log, or marks the log failed if that is not possible.
+     */
+    private void discardFrom(long start, IOException cause) {
+        try {
+            if (start < 0) {
+                throw cause;
+            }
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException ex) {
+            failure = cause;
+        }
+    }
+
+    private void checkWritable() throws IOException {
+        if (failure != null) {
+            throw new IOException("The write-ahead log " + path + " failed and no longer accepts writes", failure);
+        }
+    }
+
+    private static ByteBuffer encode(PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            writer.write(new DataOutputStream(bytes));
+            byte[] payload = bytes.toByteArray();
+
+            ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+            record.putInt(payload.length).putInt(checksum(payload)).put(payload);
+            record.flip();
+            return record;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, TaskDto task) throws IOException {
+        out.writeLong(task.getId());
+        writeString(out, task.getName());
+        writeString(out, task.getText());
+        out.writeLong(ColumnarTaskStore.toEpochMillis(task.getCreationDate()));
+        out.writeLong(ColumnarTaskStore.toEpochMillis(task.getEndingDate()));
+        out.writeByte(task.getCompleted() == null ? NULL : task.getCompleted() ? TRUE : FALSE);
+        out.writeLong(ColumnarTaskStore.toEpochMillis(task.getDueDate()));
+        out.writeLong(task.getParentId() == null ? NO_PARENT : task.getParentId());
+        writeString(out, task.getPath());
+    }
+
+    private static TaskDto readTask(ByteBuffer in) {
+        TaskDto task = new TaskDto();
+        task.setId(in.getLong());
+        task.setName(readString(in));
+        task.setText(readString(in));
+        task.setCreationDate(ColumnarTaskStore.fromEpochMillis(in.getLong()));
+        task.setEndingDate(ColumnarTaskStore.fromEpochMillis(in.getLong()));
+        byte completed = in.get();
+        task.setCompleted(completed == NULL ? null : completed == TRUE);
+        if (in.remaining() >= 8) {
+            task.setDueDate(ColumnarTaskStore.fromEpochMillis(in.getLong()));
+        }
+        if (in.remaining() >= 12) {
+            long parentId = in.getLong();
+            task.setParentId(parentId == NO_PARENT ? null : parentId);
+            task.setPath(readString(in));
+        }
+        return task;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes the payload of a record.
+     */
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -2,7 +2,9 @@ package com.imatia.taskmanagerAC.tasks.controller;
 
 import com.imatia.taskmanagerAC.exception.ResourceNotFoundException;
 import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.AsyncTaskService;
 import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing tasks. Provides endpoints for creating, updating,
@@ -21,15 +25,23 @@ import java.time.LocalDateTime;
 @RequestMapping("/api/v1/tasks")
 public class TaskController {
 
+    /**
+     * Maximum number of IDs accepted by the batch lookup.
+     */
+    private static final int MAX_BATCH_IDS = 100;
+
     private final ITaskService taskService;
+    private final AsyncTaskService asyncTaskService;
 
     /**
      * Constructor for TaskController.
      *
-     * @param taskService the service layer used to handle task operations.
+     * @param taskService      the service layer used to handle task operations.
+     * @param asyncTaskService the non-blocking facade used by the batch lookup.
      */
-    public TaskController(ITaskService taskService) {
+    public TaskController(ITaskService taskService, AsyncTaskService asyncTaskService) {
         this.taskService = taskService;
+        this.asyncTaskService = asyncTaskService;
     }
 
     /**
@@ -39,6 +51,8 @@ public class TaskController {
      * @param completed optional filter for tasks with a specific completion status.
      * @param startDate optional filter for tasks created on or after this date.
      * @param endDate   optional filter for tasks created on or before this date.
+     * @param tags      optional filter for tasks having at least one tag of every group, e.g.
+     *                  {@code tags=team:core,priority:high|priority:urgent}; see {@link TagFilter}.
      * @param page      the page number for pagination (default is 0).
      * @param size      the page size for pagination (default is 5).
      * @return a paginated list of tasks matching the filters.
@@ -49,15 +63,33 @@ public class TaskController {
             @RequestParam(required = false) Boolean completed,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) List<String> tags,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size) {
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<TaskDto> tasks = taskService.findAll(name, completed, startDate, endDate, pageable);
+        Page<TaskDto> tasks = tags == null
+                ? taskService.findAll(name, completed, startDate, endDate, pageable)
+                : taskService.findAll(name, completed, startDate, endDate, TagFilter.parse(tags), pageable);
 
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Retrieves several tasks by ID in one call, e.g. {@code GET /api/v1/tasks?ids=1,2,3}.
+     * IDs that do not exist are left out of the result.
+     *
+     * @param ids the IDs of the tasks to retrieve, at most {@value #MAX_BATCH_IDS}.
+     * @return the tasks found, in the order of {@code ids}.
+     */
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<List<TaskDto>>> getTasksByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " IDs can be requested at once");
+        }
+        return asyncTaskService.findAllById(ids).thenApply(ResponseEntity::ok);
+    }
+
     /**
      * Retrieves a task by its ID.
      *
@@ -126,6 +158,7 @@ public class TaskController {
      *
      * @param id the ID of the task to delete.
      * @throws ResourceNotFoundException if the task does not exist.
+     * @throws IllegalArgumentException  if the task has subtasks.
      */
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -0,0 +1,93 @@
+package com.imatia.taskmanagerAC.tasks.controller;
+
+import com.imatia.taskmanagerAC.exception.ResourceNotFoundException;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.dto.TaskMoveDto;
+import com.imatia.taskmanagerAC.tasks.dto.TaskProgressDto;
+import com.imatia.taskmanagerAC.tasks.hierarchy.TaskHierarchyService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the task hierarchy. Provides endpoints for querying subtrees, subtree progress
+ * and children of tasks, and for moving a task under another parent.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+@ConditionalOnExpression("'${taskmanager.store:jpa}' != 'columnar'")
+public class TaskHierarchyController {
+
+    /**
+     * Maximum number of parent IDs accepted by the children lookup.
+     */
+    private static final int MAX_PARENT_IDS = 100;
+
+    private final TaskHierarchyService hierarchyService;
+
+    /**
+     * Constructor for TaskHierarchyController.
+     *
+     * @param hierarchyService the service used to query and change the hierarchy.
+     */
+    public TaskHierarchyController(TaskHierarchyService hierarchyService) {
+        this.hierarchyService = hierarchyService;
+    }
+
+    /**
+     * Retrieves a task and all its subtasks, in depth-first order.
+     *
+     * @param id the ID of the root task.
+     * @return the tasks of the subtree, or throws a {@link ResourceNotFoundException} if the task does not exist.
+     */
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<TaskDto>> getSubtree(@PathVariable Long id) {
+        List<TaskDto> subtree = hierarchyService.findSubtree(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        return ResponseEntity.ok(subtree);
+    }
+
+    /**
+     * Retrieves the share of completed subtasks of a task.
+     *
+     * @param id the ID of the task.
+     * @return the progress of the task, or throws a {@link ResourceNotFoundException} if the task does not exist.
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<TaskProgressDto> getProgress(@PathVariable Long id) {
+        TaskProgressDto progress = hierarchyService.getProgress(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        return ResponseEntity.ok(progress);
+    }
+
+    /**
+     * Moves a task, with its subtasks, under another parent, or to the top level if no parent is given.
+     *
+     * @param id   the ID of the task to move.
+     * @param move the new parent.
+     * @return the moved task, or throws a {@link ResourceNotFoundException} if the task does not exist.
+     */
+    @PostMapping("/{id}/move")
+    public ResponseEntity<TaskDto> moveTask(@PathVariable Long id, @RequestBody TaskMoveDto move) {
+        TaskDto movedTask = hierarchyService.move(id, move.getParentId())
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+        return ResponseEntity.ok(movedTask);
+    }
+
+    /**
+     * Retrieves the direct children of several tasks in one call, e.g. {@code GET /api/v1/tasks/children?parentIds=1,2}.
+     *
+     * @param parentIds the IDs of the parent tasks, at most {@value #MAX_PARENT_IDS}.
+     * @return the children of each parent, keyed by parent ID.
+     */
+    @GetMapping("/children")
+    public ResponseEntity<Map<Long, List<TaskDto>>> getChildren(@RequestParam List<Long> parentIds) {
+        if (parentIds.size() > MAX_PARENT_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_PARENT_IDS + " parent IDs can be requested at once");
+        }
+        return ResponseEntity.ok(hierarchyService.findChildren(parentIds));
+    }
+}
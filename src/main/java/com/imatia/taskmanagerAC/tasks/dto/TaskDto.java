@@ -1,6 +1,9 @@
 package com.imatia.taskmanagerAC.tasks.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public class TaskDto {
 
@@ -16,6 +19,15 @@ public class TaskDto {
 
     private Boolean completed;
 
+    private LocalDateTime dueDate;
+
+    private Long parentId;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String path;
+
+    private Set<String> tags;
+
     public TaskDto(Long id, String name, String text, LocalDateTime creationDate, LocalDateTime endingDate, Boolean completed) {
         this.id = id;
         this.name = name;
@@ -37,6 +49,38 @@ public class TaskDto {
         this.completed = completed;
     }
 
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
     public LocalDateTime getEndingDate() {
         return endingDate;
     }
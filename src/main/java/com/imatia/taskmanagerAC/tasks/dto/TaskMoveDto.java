@@ -0,0 +1,17 @@
+package com.imatia.taskmanagerAC.tasks.dto;
+
+/**
+ * Request body of a task move: the new parent of the task, or null to make it a root task.
+ */
+public class TaskMoveDto {
+
+    private Long parentId;
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.imatia.taskmanagerAC.tasks.dto;
+
+/**
+ * Completion progress of the subtasks of a task, at every depth.
+ */
+public class TaskProgressDto {
+
+    private final long taskId;
+
+    private final long subtasks;
+
+    private final long completedSubtasks;
+
+    private final double percentage;
+
+    /**
+     * Constructor for TaskProgressDto. Without subtasks, the progress is that of the task itself.
+     *
+     * @param taskId            the ID of the task.
+     * @param subtasks          the number of subtasks.
+     * @param completedSubtasks the number of completed subtasks.
+     * @param completed         whether the task itself is completed.
+     */
+    public TaskProgressDto(long taskId, long subtasks, long completedSubtasks, boolean completed) {
+        this.taskId = taskId;
+        this.subtasks = subtasks;
+        this.completedSubtasks = completedSubtasks;
+        if (subtasks == 0) {
+            this.percentage = completed ? 100 : 0;
+        } else {
+            this.percentage = Math.round(completedSubtasks * 10000.0 / subtasks) / 100.0;
+        }
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public long getSubtasks() {
+        return subtasks;
+    }
+
+    public long getCompletedSubtasks() {
+        return completedSubtasks;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+}
@@ -0,0 +1,52 @@
+package com.imatia.taskmanagerAC.tasks.groupcommit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for group commit of new tasks, bound to {@code taskmanager.group-commit.*}.
+ */
+@ConfigurationProperties("taskmanager.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled;
+
+    private int maxBatchSize = 64;
+
+    private Duration maxWait = Duration.ofMillis(5);
+
+    private int queueCapacity = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,230 @@
+package com.imatia.taskmanagerAC.tasks.groupcommit;
+
+import com.imatia.taskmanagerAC.tasks.mapper.TaskMapper;
+import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskEvent;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskOutbox;
+import com.imatia.taskmanagerAC.tasks.repository.TaskRepository;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commits new tasks from concurrent callers together, one transaction per batch instead of one per task.
+ *
+ * <p>Callers enqueue their entity and wait on a future. A single committer thread takes the oldest pending
+ * task, keeps collecting tasks until {@code max-wait} after that task was enqueued or until {@code max-batch-size}
+ * tasks are pending, then saves the batch in one transaction per shard. A caller therefore waits at most
+ * {@code max-wait} plus the commit itself. Under light load a batch holds a single task; under a burst,
+ * many commits collapse into one.</p>
+ *
+ * <p>If a batch fails, its tasks are retried one by one so that a single invalid task only fails its own
+ * caller. When the queue is full or the committer is stopping, tasks are saved directly on the calling thread.
+ * When the outbox is enabled, the creation events of a batch are recorded in the transaction of the batch.</p>
+ */
+@Component
+@EnableConfigurationProperties(GroupCommitProperties.class)
+@ConditionalOnProperty(name = "taskmanager.group-commit.enabled", havingValue = "true")
+public class TaskGroupCommitter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskGroupCommitter.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskMapper taskMapper;
+    private final TaskOutbox taskOutbox;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingTask> queue;
+    private final Thread committer;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for TaskGroupCommitter. Starts the committer thread.
+     *
+     * @param taskRepository     the repository used to save the batches.
+     * @param transactionManager the transaction manager used to run each batch in one transaction.
+     * @param shardRouter        the router used to commit each batch on the shard of its tasks.
+     * @param taskMapper         the mapper used to build the payload of the creation events.
+     * @param taskOutbox         the outbox recording the creation events, if the outbox is enabled.
+     * @param properties         the group commit configuration.
+     */
+    public TaskGroupCommitter(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                              TaskShardRouter shardRouter, TaskMapper taskMapper,
+                              ObjectProvider<TaskOutbox> taskOutbox, GroupCommitProperties properties) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.taskMapper = taskMapper;
+        this.taskOutbox = taskOutbox.getIfAvailable();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.committer = new Thread(this::run, "task-group-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Saves a new task as part of the next batch and waits until it is committed.
+     *
+     * @param task the new task, with its ID assigned.
+     * @return the saved task.
+     */
+    public TaskEntity save(TaskEntity task) {
+        try {
+            return submit(task).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Queues a new task for the next batch.
+     *
+     * @param task the new task, with its ID assigned.
+     * @return a future completed with the saved task once its batch is committed.
+     */
+    public CompletableFuture<TaskEntity> submit(TaskEntity task) {
+        PendingTask pending = new PendingTask(task);
+        if (!running || !queue.offer(pending)) {
+            commitAlone(pending);
+        } else if (!running && queue.remove(pending)) {
+            // Stopped while offering: the committer may already have drained the queue and exited
+            commitAlone(pending);
+        }
+        return pending.result;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Committer loop. Keeps running after {@link #destroy()} until the queue is drained, and commits the tasks
+     * still queued when it stops, including on interruption, one by one.
+     */
+    private void run() {
+        List<PendingTask> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTask first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = first.enqueuedAt + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingTask next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                running = false;
+                batch.forEach(this::commitAlone);
+                break;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected failure in the group commit loop", ex);
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+        for (PendingTask pending = queue.poll(); pending != null; pending = queue.poll()) {
+            commitAlone(pending);
+        }
+    }
+
+    /**
+     * Commits a batch, in one transaction per shard.
+     */
+    private void commit(List<PendingTask> batch) {
+        Map<Integer, List<PendingTask>> byShard = new LinkedHashMap<>();
+        for (PendingTask pending : batch) {
+            byShard.computeIfAbsent(shardRouter.shardOf(pending.task.getId()), shard -> new ArrayList<>()).add(pending);
+        }
+
+        for (List<PendingTask> shardBatch : byShard.values()) {
+            List<TaskEntity> tasks = new ArrayList<>(shardBatch.size());
+            shardBatch.forEach(pending -> tasks.add(pending.task));
+            try {
+                List<TaskEntity> saved = shardRouter.onShardOf(tasks.get(0).getId(),
+                        () -> transactionTemplate.execute(status -> record(taskRepository.saveAll(tasks))));
+                for (int i = 0; i < shardBatch.size(); i++) {
+                    shardBatch.get(i).result.complete(saved.get(i));
+                }
+            } catch (RuntimeException ex) {
+                log.debug("Group commit of {} tasks failed, retrying them one by one", tasks.size(), ex);
+                shardBatch.forEach(this::commitAlone);
+            }
+        }
+    }
+
+    /**
+     * Commits a single task in its own transaction.
+     */
+    private void commitAlone(PendingTask pending) {
+        try {
+            pending.task.markNew();
+            TaskEntity saved = shardRouter.onShardOf(pending.task.getId(),
+                    () -> transactionTemplate.execute(status -> record(List.of(taskRepository.save(pending.task))).get(0)));
+            pending.result.complete(saved);
+        } catch (RuntimeException ex) {
+            pending.result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Records the creation events of saved tasks, flushing them first, if the outbox is enabled.
+     */
+    private List<TaskEntity> record(List<TaskEntity> saved) {
+        if (taskOutbox != null) {
+            taskRepository.flush();
+            saved.forEach(task -> taskOutbox.recordSaved(TaskEvent.Type.CREATED, taskMapper.toDto(task)));
+        }
+        return saved;
+    }
+
+    /**
+     * A task waiting to be committed, with the future of its caller.
+     */
+    private static final class PendingTask {
+
+        private final TaskEntity task;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<TaskEntity> result = new CompletableFuture<>();
+
+        private PendingTask(TaskEntity task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.imatia.taskmanagerAC.tasks.hierarchy;
+
+import com.imatia.taskmanagerAC.tasks.archive.TaskArchive;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.dto.TaskProgressDto;
+import com.imatia.taskmanagerAC.tasks.mapper.TaskMapper;
+import com.imatia.taskmanagerAC.tasks.model.AbstractTaskEntity;
+import com.imatia.taskmanagerAC.tasks.model.ArchivedTaskEntity;
+import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskEvent;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskOutbox;
+import com.imatia.taskmanagerAC.tasks.repository.ArchivedTaskRepository;
+import com.imatia.taskmanagerAC.tasks.repository.TaskRepository;
+import com.imatia.taskmanagerAC.tasks.service.TaskChangedEvent;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the task hierarchy: subtrees, subtree progress, moves and batched children lookups.
+ *
+ * <p>The hierarchy is stored as a parent ID and a materialized path (see {@link TaskPaths}) on each task. After
+ * the lookup of the task by ID, a subtree, its progress and a move each take one statement over a range of the
+ * path index, whatever the depth of the subtree. A whole hierarchy lives on the shard of its root, so these
+ * statements never span shards; moving a task under a parent on another shard is rejected. Archived tasks keep
+ * their place in the hierarchy and are included when the archive is not empty.</p>
+ *
+ * <p>Tasks carry their parent as a plain ID rather than a lazy association, so listing tasks never loads
+ * parents or children one by one: {@link #findChildren(Collection)} fetches the children of a whole page of
+ * tasks with one query per shard. Requires the JPA task store.</p>
+ *
+ * <p>A move is recorded like an update of the moved task: one {@link TaskChangedEvent} and, when the outbox is
+ * enabled, one {@code UPDATED} outbox event in the move transaction, both carrying the new parent and path. The
+ * subtasks, whose paths change in the same statement, get no event of their own: consumers keeping the paths of
+ * a hierarchy should re-read the subtree of a moved task.</p>
+ */
+@Service
+@ConditionalOnExpression("'${taskmanager.store:jpa}' != 'columnar'")
+public class TaskHierarchyService {
+
+    private static final Comparator<TaskDto> BY_PATH = Comparator.comparing(TaskDto::getPath);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskArchive taskArchive;
+    private final TaskMapper taskMapper;
+    private final TaskShardRouter shardRouter;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskOutbox taskOutbox;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int maxSubtreeSize;
+
+    /**
+     * Constructor for TaskHierarchyService.
+     *
+     * @param taskRepository         the repository of live tasks.
+     * @param archivedTaskRepository the repository of archived tasks.
+     * @param taskArchive            the bounds of the archive, used to skip it when it is empty.
+     * @param taskMapper             the mapper used for converting entities to DTOs.
+     * @param shardRouter            the router selecting the shard of each hierarchy.
+     * @param jdbcTemplate           the template used for the progress and move statements.
+     * @param eventPublisher         the publisher of the {@link TaskChangedEvent} of moved tasks.
+     * @param taskOutbox             the outbox recording the moves, if the outbox is enabled.
+     * @param transactionManager     the transaction manager used to run each operation in one transaction.
+     * @param maxSubtreeSize         the maximum number of tasks returned by a subtree lookup.
+     */
+    public TaskHierarchyService(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                                TaskArchive taskArchive, TaskMapper taskMapper, TaskShardRouter shardRouter,
+                                NamedParameterJdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                ObjectProvider<TaskOutbox> taskOutbox, PlatformTransactionManager transactionManager,
+                                @Value("${taskmanager.hierarchy.max-subtree-size:1000}") int maxSubtreeSize) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskArchive = taskArchive;
+        this.taskMapper = taskMapper;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.taskOutbox = taskOutbox.getIfAvailable();
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.maxSubtreeSize = maxSubtreeSize;
+    }
+
+    /**
+     * Retrieves a task and all its subtasks, at every depth, in depth-first order.
+     *
+     * @param id the ID of the root of the subtree.
+     * @return the tasks of the subtree, the root first, or empty if the task does not exist.
+     * @throws IllegalArgumentException if the subtree holds more than {@code max-subtree-size} tasks.
+     */
+    public Optional<List<TaskDto>> findSubtree(long id) {
+        return shardRouter.onShardOf(id, () -> readTransaction.execute(status -> {
+            Optional<TaskDto> root = findTask(id);
+            if (root.isEmpty()) {
+                return Optional.<List<TaskDto>>empty();
+            }
+
+            String path = root.get().getPath();
+            Pageable limit = PageRequest.of(0, maxSubtreeSize + 1);
+            List<TaskDto> subtree = new ArrayList<>(
+                    taskMapper.toDto(taskRepository.findByPathStartingWithOrderByPathAsc(path, limit)));
+            if (!taskArchive.isEmpty()) {
+                archivedTaskRepository.findByPathStartingWithOrderByPathAsc(path, limit)
+                        .forEach(task -> subtree.add(taskMapper.toDto(task)));
+                subtree.sort(BY_PATH);
+            }
+            if (subtree.size() > maxSubtreeSize) {
+                throw new IllegalArgumentException("Subtree of task " + id + " has more than " + maxSubtreeSize + " tasks");
+            }
+            return Optional.of(subtree);
+        }));
+    }
+
+    /**
+     * Computes the share of completed subtasks of a task, at every depth.
+     *
+     * @param id the ID of the task.
+     * @return the progress of the task, or empty if the task does not exist.
+     */
+    public Optional<TaskProgressDto> getProgress(long id) {
+        return shardRouter.onShardOf(id, () -> readTransaction.execute(status -> findTask(id).map(task -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("descendants", task.getPath() + "_%");
+            String sql = taskArchive.isEmpty()
+                    ? "SELECT COUNT(*), COALESCE(SUM(CASE WHEN COMPLETED = TRUE THEN 1 ELSE 0 END), 0) "
+                    + "FROM TASK WHERE PATH LIKE :descendants"
+                    : "SELECT COUNT(*), COALESCE(SUM(CASE WHEN COMPLETED = TRUE THEN 1 ELSE 0 END), 0) FROM ("
+                    + "SELECT COMPLETED FROM TASK WHERE PATH LIKE :descendants UNION ALL "
+                    + "SELECT COMPLETED FROM TASK_ARCHIVE WHERE PATH LIKE :descendants)";
+            return jdbcTemplate.queryForObject(sql, params, (rs, rowNum) -> new TaskProgressDto(
+                    id, rs.getLong(1), rs.getLong(2), Boolean.TRUE.equals(task.getCompleted())));
+        })));
+    }
+
+    /**
+     * Moves a live task, with all its subtasks, under another parent. The task is locked for the duration of the
+     * move, so that concurrent moves of the same task run one after the other.
+     *
+     * @param id       the ID of the task to move.
+     * @param parentId the ID of the new parent, or null to make the task a root task.
+     * @return the moved task, or empty if there is no live task with this ID.
+     * @throws IllegalArgumentException if the parent does not exist, is the task or one of its subtasks,
+     *                                  lives on another shard, or the hierarchy would become too deep.
+     */
+    public Optional<TaskDto> move(long id, Long parentId) {
+        if (parentId != null && shardRouter.shardOf(parentId) != shardRouter.shardOf(id)) {
+            throw new IllegalArgumentException("Task " + id + " cannot be moved to a hierarchy stored on another shard");
+        }
+
+        Optional<TaskChangedEvent> moved = shardRouter.onShardOf(id, () -> writeTransaction.execute(status -> {
+            Optional<TaskEntity> task = taskRepository.findByIdForUpdate(id);
+            if (task.isEmpty()) {
+                return Optional.<TaskChangedEvent>empty();
+            }
+
+            TaskDto previousTask = taskMapper.toDto(task.get());
+            String oldPath = TaskPaths.of(id, previousTask.getPath());
+            String newPath;
+            if (parentId == null) {
+                newPath = TaskPaths.root(id);
+            } else {
+                String parentPath = findTask(parentId).map(TaskDto::getPath).orElseThrow(() ->
+                        new IllegalArgumentException("Parent task " + parentId + " does not exist"));
+                if (parentPath.startsWith(oldPath)) {
+                    throw new IllegalArgumentException("Task " + id + " cannot be moved under itself or its subtasks");
+                }
+                newPath = TaskPaths.child(parentPath, id);
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("parentId", parentId)
+                    .addValue("subtree", oldPath + "%")
+                    .addValue("oldLength", oldPath.length())
+                    .addValue("newPath", newPath);
+            if (newPath.length() > oldPath.length()) {
+                Integer longest = jdbcTemplate.queryForObject(
+                        "SELECT MAX(LENGTH(PATH)) FROM TASK WHERE PATH LIKE :subtree", params, Integer.class);
+                if (longest != null && longest - oldPath.length() + newPath.length() > TaskPaths.MAX_LENGTH) {
+                    throw new IllegalArgumentException("Task hierarchy is too deep");
+                }
+            }
+
+            String update = " SET PATH = CONCAT(:newPath, SUBSTRING(PATH, :oldLength + 1)), "
+                    + "PARENT_ID = CASE WHEN ID = :id THEN :parentId ELSE PARENT_ID END WHERE PATH LIKE :subtree";
+            jdbcTemplate.update("UPDATE TASK" + update, params);
+            if (!taskArchive.isEmpty()) {
+                jdbcTemplate.update("UPDATE TASK_ARCHIVE" + update, params);
+            }
+
+            TaskDto movedTask = taskMapper.toDto(task.get());
+            movedTask.setParentId(parentId);
+            movedTask.setPath(newPath);
+            if (taskOutbox != null) {
+                taskOutbox.recordSaved(TaskEvent.Type.UPDATED, movedTask);
+            }
+            return Optional.of(new TaskChangedEvent(id, previousTask, movedTask));
+        }));
+
+        moved.ifPresent(eventPublisher::publishEvent);
+        return moved.map(TaskChangedEvent::getTask);
+    }
+
+    /**
+     * Retrieves the direct children of several tasks, with one query per shard.
+     *
+     * @param parentIds the IDs of the parent tasks; duplicates and nulls are ignored.
+     * @return the children of each parent, in path order, keyed by parent ID in the order of {@code parentIds}.
+     */
+    public Map<Long, List<TaskDto>> findChildren(Collection<Long> parentIds) {
+        Set<Long> uniqueIds = parentIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, List<TaskDto>> children = new LinkedHashMap<>();
+        uniqueIds.forEach(id -> children.put(id, new ArrayList<>()));
+
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : uniqueIds) {
+            idsByShard.computeIfAbsent(shardRouter.shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        for (List<Long> shardIds : idsByShard.values()) {
+            shardRouter.onShardOf(shardIds.get(0), () -> readTransaction.execute(status -> {
+                taskRepository.findByParentIdIn(shardIds)
+                        .forEach(task -> children.get(task.getParentId()).add(taskMapper.toDto(task)));
+                if (!taskArchive.isEmpty()) {
+                    archivedTaskRepository.findByParentIdIn(shardIds)
+                            .forEach(task -> children.get(task.getParentId()).add(taskMapper.toDto(task)));
+                }
+                return null;
+            }));
+        }
+
+        children.values().forEach(tasks -> tasks.sort(BY_PATH));
+        return children;
+    }
+
+    /**
+     * Finds a live or archived task, in the current transaction, with its path set.
+     */
+    private Optional<TaskDto> findTask(long id) {
+        Optional<? extends AbstractTaskEntity> task = taskRepository.findById(id);
+        if (task.isEmpty() && !taskArchive.isEmpty()) {
+            task = archivedTaskRepository.findById(id);
+        }
+        return task.map(entity -> {
+            TaskDto dto = entity instanceof TaskEntity
+                    ? taskMapper.toDto((TaskEntity) entity)
+                    : taskMapper.toDto((ArchivedTaskEntity) entity);
+            dto.setPath(TaskPaths.of(id, dto.getPath()));
+            return dto;
+        });
+    }
+}
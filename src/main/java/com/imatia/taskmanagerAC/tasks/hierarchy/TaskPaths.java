@@ -0,0 +1,56 @@
+package com.imatia.taskmanagerAC.tasks.hierarchy;
+
+/**
+ * Utility class building the materialized paths of the task hierarchy.
+ *
+ * <p>The path of a task lists the IDs from its root down to the task itself, each followed by a slash, as in
+ * {@code /1/5/12/}. The paths of the descendants of a task are exactly the paths starting with its own, so a
+ * subtree is a range scan of the path index.</p>
+ */
+public final class TaskPaths {
+
+    /**
+     * Maximum length of a path, the size of the PATH column.
+     */
+    public static final int MAX_LENGTH = 1000;
+
+    private TaskPaths() {
+    }
+
+    /**
+     * Returns the path of a root task.
+     *
+     * @param id the task ID.
+     * @return the path of the task.
+     */
+    public static String root(long id) {
+        return "/" + id + "/";
+    }
+
+    /**
+     * Returns the path of a child task.
+     *
+     * @param parentPath the path of the parent task.
+     * @param id         the task ID.
+     * @return the path of the task.
+     * @throws IllegalArgumentException if the path would exceed {@link #MAX_LENGTH}.
+     */
+    public static String child(String parentPath, long id) {
+        String path = parentPath + id + "/";
+        if (path.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Task hierarchy is too deep");
+        }
+        return path;
+    }
+
+    /**
+     * Returns the stored path of a task, or the path of a root task for rows written before paths existed.
+     *
+     * @param id   the task ID.
+     * @param path the stored path, possibly null.
+     * @return the path of the task.
+     */
+    public static String of(long id, String path) {
+        return path != null ? path : root(id);
+    }
+}
@@ -0,0 +1,40 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Configuration of the invalidation bus, active when {@code taskmanager.invalidation.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+@ConditionalOnProperty(name = "taskmanager.invalidation.enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    /**
+     * Creates the transport selected by {@code taskmanager.invalidation.transport}, unless another transport
+     * bean is declared.
+     *
+     * @param properties the invalidation properties.
+     * @return the {@code loopback} transport, or the {@code multicast} transport by default.
+     * @throws IOException if the multicast group cannot be joined.
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationTransport.class)
+    public InvalidationTransport invalidationTransport(InvalidationProperties properties) throws IOException {
+        switch (properties.getTransport()) {
+            case "loopback":
+                return new LoopbackInvalidationTransport(LoopbackNetwork.named(properties.getLoopback().getNetwork()),
+                        properties.getLoopback().getDelay());
+            case "multicast":
+                return new MulticastInvalidationTransport(properties.getMulticast());
+            default:
+                throw new IllegalArgumentException("Unknown invalidation transport '" + properties.getTransport() + "'");
+        }
+    }
+}
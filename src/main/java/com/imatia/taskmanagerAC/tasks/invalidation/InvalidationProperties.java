@@ -0,0 +1,142 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the invalidation bus, bound to {@code taskmanager.invalidation.*}.
+ */
+@ConfigurationProperties("taskmanager.invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled;
+
+    /**
+     * Transport of the invalidations: {@code multicast}, or {@code loopback} for instances in the same JVM.
+     */
+    private String transport = "multicast";
+
+    /**
+     * Number of tasks whose last applied version from each instance is remembered, to drop the duplicate and
+     * out-of-order invalidations of an instance.
+     */
+    private int maxTrackedTasks = 100_000;
+
+    private final Loopback loopback = new Loopback();
+
+    private final Multicast multicast = new Multicast();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public int getMaxTrackedTasks() {
+        return maxTrackedTasks;
+    }
+
+    public void setMaxTrackedTasks(int maxTrackedTasks) {
+        this.maxTrackedTasks = maxTrackedTasks;
+    }
+
+    public Loopback getLoopback() {
+        return loopback;
+    }
+
+    public Multicast getMulticast() {
+        return multicast;
+    }
+
+    /**
+     * Properties of the {@code loopback} transport.
+     */
+    public static class Loopback {
+
+        /**
+         * Name of the in-JVM network joined by the instance.
+         */
+        private String network = "default";
+
+        /**
+         * Delay added to each delivery, to simulate the network latency.
+         */
+        private Duration delay = Duration.ZERO;
+
+        public String getNetwork() {
+            return network;
+        }
+
+        public void setNetwork(String network) {
+            this.network = network;
+        }
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+    }
+
+    /**
+     * Properties of the {@code multicast} transport.
+     */
+    public static class Multicast {
+
+        private String group = "239.255.42.99";
+
+        private int port = 4446;
+
+        /**
+         * Name of the network interface to join the group on; by default, the first multicast-capable one.
+         */
+        private String networkInterface;
+
+        private int ttl = 1;
+
+        public String getGroup() {
+            return group;
+        }
+
+        public void setGroup(String group) {
+            this.group = group;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getNetworkInterface() {
+            return networkInterface;
+        }
+
+        public void setNetworkInterface(String networkInterface) {
+            this.networkInterface = networkInterface;
+        }
+
+        public int getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(int ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link TaskInvalidation}s between instances. Delivery is best effort: a lost message leaves the
+ * receivers stale until the next change of the task.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Starts receiving the messages of the other instances. Messages are passed to the receiver one at a time.
+     *
+     * @param receiver the receiver of the messages.
+     */
+    void start(Consumer<TaskInvalidation> receiver);
+
+    /**
+     * Broadcasts a message to the other instances.
+     *
+     * @param invalidation the message.
+     */
+    void send(TaskInvalidation invalidation);
+
+    /**
+     * Stops receiving and sending messages.
+     */
+    @Override
+    void close();
+}
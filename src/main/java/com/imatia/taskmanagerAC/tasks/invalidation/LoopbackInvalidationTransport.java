@@ -0,0 +1,80 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Transport broadcasting the invalidations to the other members of a {@link LoopbackNetwork}, in the same JVM.
+ *
+ * <p>Messages go through their wire encoding, and each member receives them in order on its own thread, after an
+ * optional delay simulating the network latency, as it would from the {@link MulticastInvalidationTransport}.</p>
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoopbackInvalidationTransport.class);
+
+    private final LoopbackNetwork network;
+    private final long delayNanos;
+    private final ScheduledExecutorService executor;
+    private volatile Consumer<TaskInvalidation> receiver;
+
+    /**
+     * Constructor for LoopbackInvalidationTransport.
+     *
+     * @param network the network to join.
+     * @param delay   the delay of each delivery.
+     */
+    public LoopbackInvalidationTransport(LoopbackNetwork network, Duration delay) {
+        this.network = network;
+        this.delayNanos = delay.toNanos();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-loopback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start(Consumer<TaskInvalidation> receiver) {
+        this.receiver = receiver;
+        network.join(this);
+    }
+
+    @Override
+    public void send(TaskInvalidation invalidation) {
+        ByteBuffer message = ByteBuffer.allocate(TaskInvalidation.SIZE);
+        invalidation.writeTo(message);
+        network.broadcast(this, message.array());
+    }
+
+    @Override
+    public void close() {
+        network.leave(this);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Receives a message from another member.
+     */
+    void deliver(byte[] message) {
+        try {
+            executor.schedule(() -> {
+                try {
+                    receiver.accept(TaskInvalidation.readFrom(ByteBuffer.wrap(message)));
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to apply an invalidation", ex);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Closed meanwhile, the message is lost as it would be on the network.
+        }
+    }
+}
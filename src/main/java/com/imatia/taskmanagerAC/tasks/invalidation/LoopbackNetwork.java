@@ -0,0 +1,49 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-JVM network of {@link LoopbackInvalidationTransport}s, standing in for the real network when several
+ * instances run in one JVM, such as in multi-node tests. Networks are named, and created on first use.
+ */
+public final class LoopbackNetwork {
+
+    private static final Map<String, LoopbackNetwork> NETWORKS = new ConcurrentHashMap<>();
+
+    private final List<LoopbackInvalidationTransport> members = new CopyOnWriteArrayList<>();
+
+    private LoopbackNetwork() {
+    }
+
+    /**
+     * Returns the network with the given name.
+     *
+     * @param name the name of the network.
+     * @return the network.
+     */
+    public static LoopbackNetwork named(String name) {
+        return NETWORKS.computeIfAbsent(name, key -> new LoopbackNetwork());
+    }
+
+    void join(LoopbackInvalidationTransport member) {
+        members.add(member);
+    }
+
+    void leave(LoopbackInvalidationTransport member) {
+        members.remove(member);
+    }
+
+    /**
+     * Delivers an encoded message to every member but its sender.
+     */
+    void broadcast(LoopbackInvalidationTransport sender, byte[] message) {
+        for (LoopbackInvalidationTransport member : members) {
+            if (member != sender) {
+                member.deliver(message);
+            }
+        }
+    }
+}
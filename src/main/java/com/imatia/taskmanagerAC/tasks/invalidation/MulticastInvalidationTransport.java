@@ -0,0 +1,134 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.function.Consumer;
+
+/**
+ * Transport broadcasting the invalidations to a UDP multicast group, one datagram per message, so that the
+ * instances of a network segment reach each other without a broker.
+ *
+ * <p>The group is joined with loopback enabled, so that instances sharing a host receive each other's messages;
+ * an instance's own messages come back to it and are dropped by the {@link TaskInvalidationBus}.</p>
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationTransport.class);
+
+    private final DatagramChannel channel;
+    private final InetSocketAddress group;
+
+    /**
+     * Constructor for MulticastInvalidationTransport. Joins the group.
+     *
+     * @param properties the multicast properties.
+     * @throws IOException if the group cannot be joined.
+     */
+    public MulticastInvalidationTransport(InvalidationProperties.Multicast properties) throws IOException {
+        InetAddress address = InetAddress.getByName(properties.getGroup());
+        if (!address.isMulticastAddress()) {
+            throw new IllegalArgumentException("'" + properties.getGroup() + "' is not a multicast address");
+        }
+        NetworkInterface networkInterface = networkInterface(properties.getNetworkInterface());
+        this.group = new InetSocketAddress(address, properties.getPort());
+        this.channel = DatagramChannel.open(address instanceof Inet6Address ? StandardProtocolFamily.INET6 : StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                    .bind(new InetSocketAddress(properties.getPort()))
+                    .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface)
+                    .setOption(StandardSocketOptions.IP_MULTICAST_TTL, properties.getTtl())
+                    .setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            channel.join(address, networkInterface);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void start(Consumer<TaskInvalidation> receiver) {
+        Thread receiverThread = new Thread(() -> receive(receiver), "invalidation-multicast");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    @Override
+    public void send(TaskInvalidation invalidation) {
+        ByteBuffer message = ByteBuffer.allocate(TaskInvalidation.SIZE);
+        invalidation.writeTo(message);
+        message.flip();
+        try {
+            channel.send(message, group);
+        } catch (IOException ex) {
+            log.warn("Failed to send the invalidation of task {}", invalidation.getTaskId(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Failed to close the multicast channel", ex);
+        }
+    }
+
+    private void receive(Consumer<TaskInvalidation> receiver) {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                while (buffer.remaining() >= TaskInvalidation.SIZE) {
+                    receiver.accept(TaskInvalidation.readFrom(buffer));
+                }
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Failed to receive an invalidation", ex);
+            }
+        }
+    }
+
+    /**
+     * Finds the interface with the given name, or the first multicast-capable interface that is up, preferring
+     * the non-loopback ones.
+     */
+    private static NetworkInterface networkInterface(String name) throws SocketException {
+        if (name != null) {
+            NetworkInterface networkInterface = NetworkInterface.getByName(name);
+            if (networkInterface == null) {
+                throw new IllegalArgumentException("Unknown network interface '" + name + "'");
+            }
+            return networkInterface;
+        }
+        NetworkInterface loopback = null;
+        for (NetworkInterface candidate : NetworkInterface.networkInterfaces().toArray(NetworkInterface[]::new)) {
+            if (!candidate.isUp()) {
+                continue;
+            }
+            if (candidate.isLoopback()) {
+                loopback = loopback == null ? candidate : loopback;
+            } else if (candidate.supportsMulticast()) {
+                return candidate;
+            }
+        }
+        if (loopback == null) {
+            throw new IllegalStateException("No network interface to join the invalidation group on");
+        }
+        return loopback;
+    }
+}
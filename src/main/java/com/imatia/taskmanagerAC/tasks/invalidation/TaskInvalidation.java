@@ -0,0 +1,72 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Message telling the other instances that a task changed, so that they drop or reload what they hold about it.
+ *
+ * <p>It carries no task data: receivers read the task from the shared database. The version is the time of
+ * the change in microseconds, strictly increasing on each instance, and lets receivers drop duplicate and
+ * out-of-order messages. A message is {@value #SIZE} bytes long on the wire.</p>
+ */
+public final class TaskInvalidation {
+
+    /**
+     * Size of an encoded message: task ID, version and origin, 8 bytes each.
+     */
+    public static final int SIZE = 24;
+
+    private final long taskId;
+    private final long version;
+    private final long origin;
+
+    /**
+     * Constructor for TaskInvalidation.
+     *
+     * @param taskId  the ID of the changed task.
+     * @param version the version of the change.
+     * @param origin  the ID of the instance that made the change.
+     */
+    public TaskInvalidation(long taskId, long version, long origin) {
+        this.taskId = taskId;
+        this.version = version;
+        this.origin = origin;
+    }
+
+    /**
+     * Reads a message.
+     *
+     * @param buffer the buffer to read the message from.
+     * @return the message.
+     * @throws java.nio.BufferUnderflowException if fewer than {@value #SIZE} bytes remain in the buffer.
+     */
+    public static TaskInvalidation readFrom(ByteBuffer buffer) {
+        return new TaskInvalidation(buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Writes the message.
+     *
+     * @param buffer the buffer to write the message to.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(taskId).putLong(version).putLong(origin);
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskInvalidation{taskId=" + taskId + ", version=" + version + ", origin=" + origin + "}";
+    }
+}
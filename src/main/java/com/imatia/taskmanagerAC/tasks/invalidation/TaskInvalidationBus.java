@@ -0,0 +1,191 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import com.imatia.taskmanagerAC.tasks.service.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-memory state of the instances sharing a database consistent: each committed task change is
+ * broadcast as a {@link TaskInvalidation}, and the invalidations of the other instances are passed to the
+ * {@link TaskInvalidationListener} beans, such as the tag index and the reminder timers.
+ *
+ * <p>Each instance gets a random ID at startup, so that it drops its own messages if the transport echoes them.
+ * Versions are only ordered within an instance, as they come from its clock: for each of the latest
+ * {@code max-tracked-tasks} tasks, the last version applied from each instance is remembered, and the older or
+ * repeated versions from that instance are dropped. Invalidations from different instances are always applied,
+ * listeners reloading the task from the database whatever the order they arrive in.</p>
+ *
+ * <p>The transport may lose invalidations, so the listeners are also resynchronized with the database every
+ * {@code resync-interval}. Other in-memory state, such as the archive bounds of
+ * {@link com.imatia.taskmanagerAC.tasks.archive.TaskArchive}, is not covered by the bus and refreshes itself
+ * periodically.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.invalidation.enabled", havingValue = "true")
+public class TaskInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskInvalidationBus.class);
+
+    private final InvalidationTransport transport;
+    private final ObjectProvider<TaskInvalidationListener> listenerProvider;
+    private final long instanceId = ThreadLocalRandom.current().nextLong();
+    private final Map<Long, Map<Long, Long>> appliedVersions;
+    private final Counter sent;
+    private final Counter applied;
+    private final Counter stale;
+    private final Timer latency;
+
+    private List<TaskInvalidationListener> listeners = List.of();
+    private long lastVersion;
+
+    /**
+     * Constructor for TaskInvalidationBus. Invalidations are received once the application is ready.
+     *
+     * @param transport     the transport of the invalidations.
+     * @param listeners     the beans receiving the invalidations of the other instances.
+     * @param properties    the invalidation properties.
+     * @param meterRegistry the registry receiving the bus metrics, if metrics are available.
+     */
+    public TaskInvalidationBus(InvalidationTransport transport, ObjectProvider<TaskInvalidationListener> listeners,
+                               InvalidationProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transport = transport;
+        this.listenerProvider = listeners;
+        int maxTrackedTasks = properties.getMaxTrackedTasks();
+        this.appliedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, Long>> eldest) {
+                return size() > maxTrackedTasks;
+            }
+        };
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.sent = registry.counter("taskmanager.invalidation.messages", "result", "sent");
+            this.applied = registry.counter("taskmanager.invalidation.messages", "result", "applied");
+            this.stale = registry.counter("taskmanager.invalidation.messages", "result", "stale");
+            this.latency = Timer.builder("taskmanager.invalidation.latency")
+                    .description("Time from a change to its invalidation on another instance, across their clocks")
+                    .register(registry);
+        } else {
+            this.sent = null;
+            this.applied = null;
+            this.stale = null;
+            this.latency = null;
+        }
+    }
+
+    /**
+     * Starts receiving the invalidations of the other instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listeners = listenerProvider.orderedStream().collect(Collectors.toList());
+        transport.start(this::receive);
+        log.info("Invalidation bus started as instance {} with {} listeners", instanceId, listeners.size());
+    }
+
+    /**
+     * Broadcasts a committed task change.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        transport.send(new TaskInvalidation(event.getTaskId(), nextVersion(), instanceId));
+        if (sent != null) {
+            sent.increment();
+        }
+    }
+
+    /**
+     * Resynchronizes the listeners with the database, to recover the invalidations lost by the transport.
+     */
+    @Scheduled(initialDelayString = "${taskmanager.invalidation.resync-interval:PT5M}",
+            fixedDelayString = "${taskmanager.invalidation.resync-interval:PT5M}")
+    public void resync() {
+        for (TaskInvalidationListener listener : listeners) {
+            try {
+                listener.resync();
+            } catch (RuntimeException ex) {
+                log.warn("{} failed to resynchronize", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of this instance on the bus.
+     *
+     * @return the instance ID.
+     */
+    public long getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Applies an invalidation received from the transport.
+     *
+     * @param invalidation the invalidation.
+     */
+    void receive(TaskInvalidation invalidation) {
+        if (invalidation.getOrigin() == instanceId) {
+            return;
+        }
+        synchronized (appliedVersions) {
+            Map<Long, Long> versionsByOrigin = appliedVersions.computeIfAbsent(invalidation.getTaskId(),
+                    taskId -> new HashMap<>(4));
+            Long appliedVersion = versionsByOrigin.get(invalidation.getOrigin());
+            if (appliedVersion != null && appliedVersion >= invalidation.getVersion()) {
+                if (stale != null) {
+                    stale.increment();
+                }
+                return;
+            }
+            versionsByOrigin.put(invalidation.getOrigin(), invalidation.getVersion());
+        }
+
+        for (TaskInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException ex) {
+                log.warn("{} failed to apply the invalidation of task {}", listener.getClass().getSimpleName(),
+                        invalidation.getTaskId(), ex);
+            }
+        }
+        if (applied != null) {
+            applied.increment();
+            latency.record(Math.max(0, currentMicros() - invalidation.getVersion()), TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /**
+     * Returns the version of a change made now: the current time in microseconds, strictly increasing.
+     */
+    private synchronized long nextVersion() {
+        lastVersion = Math.max(currentMicros(), lastVersion + 1);
+        return lastVersion;
+    }
+
+    private static long currentMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+}
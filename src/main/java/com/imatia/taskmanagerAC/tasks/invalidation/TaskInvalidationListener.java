@@ -0,0 +1,25 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+/**
+ * Bean holding in-memory state about tasks, kept up to date with the changes made by other instances.
+ *
+ * <p>Invalidations are delivered one at a time, on the thread of the transport, after the changes made by
+ * this instance are applied through {@link com.imatia.taskmanagerAC.tasks.service.TaskChangedEvent}s: a
+ * listener reloads the task from the database, and must not let the reload overwrite a newer local change. As the
+ * transport may lose invalidations, listeners are also asked to resynchronize periodically.</p>
+ */
+public interface TaskInvalidationListener {
+
+    /**
+     * Applies a change made by another instance.
+     *
+     * @param invalidation the invalidation of the changed task.
+     */
+    void onInvalidation(TaskInvalidation invalidation);
+
+    /**
+     * Compares the in-memory state with the database and reloads what differs, to recover the changes whose
+     * invalidation was lost. Called periodically, on a scheduler thread.
+     */
+    void resync();
+}
@@ -0,0 +1,102 @@
+package com.imatia.taskmanagerAC.tasks.lease;
+
+import com.imatia.taskmanagerAC.config.datasource.ShardContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Time-limited leases in the TASK_JOB_LOCK table, electing the one instance that runs a background job.
+ *
+ * <p>A lease is held by the instance that last acquired it until it expires, and is renewed by acquiring it
+ * again before then. Expiry is computed from the database clock, so instances with skewed clocks still
+ * agree on who holds a lease. An instance that stops renewing, because it crashed or lost the database,
+ * loses its lease once it expires; jobs relying on a lease must therefore keep each step shorter than the
+ * lease duration, and renew it between steps.</p>
+ *
+ * <p>The leases are stored on the default shard, whatever shard the calling thread is routed to, and are
+ * written in their own short statements: they must not be acquired or released inside a transaction.</p>
+ */
+@Component
+public class JobLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner;
+
+    /**
+     * Constructor for JobLease.
+     *
+     * @param jdbcTemplate the template used to read and write the leases.
+     */
+    public JobLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Returns the name identifying this instance as the owner of its leases.
+     *
+     * @return the owner name, unique to this application context.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Acquires or renews the lease on a job, unless another instance holds it.
+     *
+     * @param job      the job name.
+     * @param duration how long the lease is held without being renewed.
+     * @return true if this instance holds the lease for the given duration.
+     * @throws IllegalStateException if a transaction is active.
+     */
+    public boolean tryAcquire(String job, Duration duration) {
+        return onDefaultShard(() -> {
+            createIfMissing(job);
+            return jdbcTemplate.update(
+                    "UPDATE TASK_JOB_LOCK SET OWNER = ?, LOCKED_UNTIL = DATEADD('MILLISECOND', ?, LOCALTIMESTAMP) "
+                            + "WHERE NAME = ? AND (OWNER = ? OR LOCKED_UNTIL < LOCALTIMESTAMP)",
+                    owner, duration.toMillis(), job, owner) == 1;
+        });
+    }
+
+    /**
+     * Releases the lease on a job if this instance holds it, so that another instance can take it at once.
+     *
+     * @param job the job name.
+     * @throws IllegalStateException if a transaction is active.
+     */
+    public void release(String job) {
+        onDefaultShard(() -> jdbcTemplate.update(
+                "UPDATE TASK_JOB_LOCK SET OWNER = NULL, LOCKED_UNTIL = LOCALTIMESTAMP WHERE NAME = ? AND OWNER = ?",
+                job, owner));
+    }
+
+    private void createIfMissing(String job) {
+        try {
+            jdbcTemplate.update("INSERT INTO TASK_JOB_LOCK (NAME, LOCKED_UNTIL) "
+                    + "SELECT ?, LOCALTIMESTAMP FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM TASK_JOB_LOCK WHERE NAME = ?)", job, job);
+        } catch (DuplicateKeyException ex) {
+            // Created concurrently by another instance.
+        }
+    }
+
+    private static <T> T onDefaultShard(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Job leases cannot be written inside a transaction");
+        }
+        Integer shard = ShardContext.current();
+        ShardContext.set(null);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(shard);
+        }
+    }
+}
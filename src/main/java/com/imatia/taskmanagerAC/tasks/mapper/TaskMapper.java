@@ -1,6 +1,7 @@
 package com.imatia.taskmanagerAC.tasks.mapper;
 
 import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.model.ArchivedTaskEntity;
 import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
 import org.mapstruct.Mapper;
 
@@ -13,5 +14,7 @@ public interface TaskMapper {
 
     List<TaskDto> toDto(List<TaskEntity> tasks);
 
+    TaskDto toDto(ArchivedTaskEntity task);
+
     TaskEntity toEntity(TaskDto taskDto);
 }
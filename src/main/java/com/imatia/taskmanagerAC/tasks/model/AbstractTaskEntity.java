@@ -0,0 +1,151 @@
+package com.imatia.taskmanagerAC.tasks.model;
+
+import org.hibernate.annotations.BatchSize;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.MappedSuperclass;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Columns shared by live tasks ({@link TaskEntity}) and archived tasks ({@link ArchivedTaskEntity}).
+ */
+@MappedSuperclass
+public abstract class AbstractTaskEntity {
+
+    /**
+     * Assigned by {@link com.imatia.taskmanagerAC.tasks.sharding.SnowflakeIdGenerator} before the first save,
+     * so that the owning shard is known before the row is written.
+     */
+    @Id
+    private Long id;
+
+    @Column(name = "NAME", nullable = false, length = 50)
+    private String name;
+
+    @Column(name = "TEXT", nullable = false, length = 250)
+    private String text;
+
+    @Column(name = "CREATION_DATE")
+    private LocalDateTime creationDate;
+
+    @Column(name = "ENDING_DATE")
+    private LocalDateTime endingDate;
+
+    @Column(name = "COMPLETED")
+    private Boolean completed;
+
+    @Column(name = "DUE_DATE")
+    private LocalDateTime dueDate;
+
+    /**
+     * Set when the task is created, then only changed by the JDBC statements of
+     * {@link com.imatia.taskmanagerAC.tasks.hierarchy.TaskHierarchyService#move(long, Long)}: an update of the entity
+     * must not write back a value read before a move.
+     */
+    @Column(name = "PARENT_ID", updatable = false)
+    private Long parentId;
+
+    /**
+     * Materialized path of the task in its hierarchy, see {@link com.imatia.taskmanagerAC.tasks.hierarchy.TaskPaths}.
+     * Not updatable, like the parent ID.
+     */
+    @Column(name = "PATH", length = 1000, updatable = false)
+    private String path;
+
+    /**
+     * Tags of the task, shared by the live and archived task of an ID, so that archiving a task keeps them.
+     * Loaded with the task; the tags of a page of tasks are loaded in batches rather than task by task.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "TASK_TAG", joinColumns = @JoinColumn(name = "TASK_ID"))
+    @Column(name = "TAG", length = 50)
+    @BatchSize(size = 100)
+    private Set<String> tags = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDateTime getEndingDate() {
+        return endingDate;
+    }
+
+    public void setEndingDate(LocalDateTime endingDate) {
+        this.endingDate = endingDate;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
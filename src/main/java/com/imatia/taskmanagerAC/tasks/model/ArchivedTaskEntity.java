@@ -0,0 +1,13 @@
+package com.imatia.taskmanagerAC.tasks.model;
+
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+/**
+ * Completed task moved out of the TASK table by {@link com.imatia.taskmanagerAC.tasks.archive.TaskArchiver}.
+ * Archived rows keep their ID and every column of the original task.
+ */
+@Entity
+@Table(name = "TASK_ARCHIVE")
+public class ArchivedTaskEntity extends AbstractTaskEntity {
+}
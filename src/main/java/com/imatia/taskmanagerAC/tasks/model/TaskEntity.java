@@ -1,81 +1,35 @@
 package com.imatia.taskmanagerAC.tasks.model;
 
+import org.springframework.data.domain.Persistable;
+
 import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
 import javax.persistence.Table;
-import javax.persistence.Column;
-import javax.persistence.GenerationType;
-import java.time.LocalDateTime;
+import javax.persistence.Transient;
 
 @Entity
 @Table(name = "TASK")
-public class TaskEntity {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "NAME", nullable = false, length = 50)
-    private String name;
-
-    @Column(name = "TEXT", nullable = false, length = 250)
-    private String text;
-
-    @Column(name = "CREATION_DATE")
-    private LocalDateTime creationDate;
-
-    @Column(name = "ENDING_DATE")
-    private LocalDateTime endingDate;
-
-    @Column(name = "COMPLETED")
-    private Boolean completed;
-
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getText() {
-        return text;
-    }
-
-    public void setText(String text) {
-        this.text = text;
-    }
-
-    public LocalDateTime getCreationDate() {
-        return creationDate;
-    }
+public class TaskEntity extends AbstractTaskEntity implements Persistable<Long> {
 
-    public void setCreationDate(LocalDateTime creationDate) {
-        this.creationDate = creationDate;
-    }
-
-    public LocalDateTime getEndingDate() {
-        return endingDate;
-    }
+    @Transient
+    private boolean newTask;
 
-    public void setEndingDate(LocalDateTime endingDate) {
-        this.endingDate = endingDate;
+    @Override
+    public boolean isNew() {
+        return newTask || getId() == null;
     }
 
-    public Boolean getCompleted() {
-        return completed;
+    /**
+     * Marks this entity as not yet persisted, so that saving it inserts a row even though its ID is set.
+     */
+    public void markNew() {
+        this.newTask = true;
     }
 
-    public void setCompleted(Boolean completed) {
-        this.completed = completed;
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newTask = false;
     }
-}
\ No newline at end of file
+}
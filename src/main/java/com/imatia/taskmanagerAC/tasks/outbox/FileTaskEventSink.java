@@ -0,0 +1,53 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink appending task events to a file, one JSON object per line. Each batch is forced to disk before returning.
+ */
+public class FileTaskEventSink implements TaskEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new FileTaskEventSink.
+     *
+     * @param path         the file to append to, created if needed.
+     * @param objectMapper the mapper used to write the events.
+     */
+    public FileTaskEventSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<TaskEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (TaskEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Sink logging every task event, for local testing.
+ */
+public class LoggingTaskEventSink implements TaskEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingTaskEventSink.class);
+
+    @Override
+    public void publish(List<TaskEvent> events) {
+        for (TaskEvent event : events) {
+            log.info("Task event {}: {} task {} {}", event.getId(), event.getType(), event.getTaskId(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration of the transactional outbox, active when {@code taskmanager.outbox.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(name = "taskmanager.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    /**
+     * Creates the sink selected by {@code taskmanager.outbox.sink}.
+     *
+     * @param properties   the outbox properties.
+     * @param objectMapper the mapper used by the file sink.
+     * @return the {@code file} sink, or the {@code log} sink by default.
+     */
+    @Bean
+    public TaskEventSink taskEventSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        if ("file".equals(properties.getSink())) {
+            return new FileTaskEventSink(Paths.get(properties.getFilePath()), objectMapper);
+        }
+        return new LoggingTaskEventSink();
+    }
+}
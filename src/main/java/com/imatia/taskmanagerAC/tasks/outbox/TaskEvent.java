@@ -0,0 +1,59 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change read from the outbox, as handed to a {@link TaskEventSink}.
+ */
+public class TaskEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final long id;
+    private final long taskId;
+    private final Type type;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    /**
+     * Constructs a new TaskEvent.
+     *
+     * @param id        the outbox ID, increasing with the order of the changes of each task.
+     * @param taskId    the ID of the changed task.
+     * @param type      the kind of change.
+     * @param payload   the task as JSON after the change, or null for a deletion.
+     * @param createdAt when the change was committed.
+     */
+    public TaskEvent(long id, long taskId, Type type, String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.taskId = taskId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
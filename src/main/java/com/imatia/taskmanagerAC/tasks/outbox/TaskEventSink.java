@@ -0,0 +1,20 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the task events published by the {@link TaskOutboxRelay}.
+ *
+ * <p>Declaring a bean of this type replaces the sink selected by {@code taskmanager.outbox.sink}.</p>
+ */
+public interface TaskEventSink {
+
+    /**
+     * Publishes a batch of events. Events of the same task are in the order they happened.
+     * Delivery is at least once: if this method throws, the whole batch is published again later.
+     *
+     * @param events the events, ordered by outbox ID.
+     * @throws Exception if the batch could not be published.
+     */
+    void publish(List<TaskEvent> events) throws Exception;
+}
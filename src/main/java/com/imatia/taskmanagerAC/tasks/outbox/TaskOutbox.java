@@ -0,0 +1,71 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes task change events to the TASK_OUTBOX table, in the transaction of the change.
+ *
+ * <p>Callers must flush the change itself before recording its event. The task row is then locked by the
+ * transaction when the event gets its outbox ID, so the events of a task are numbered in the order the
+ * changes commit, which is the order the relay publishes them in.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.enabled", havingValue = "true")
+public class TaskOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for TaskOutbox.
+     *
+     * @param jdbcTemplate the template used to insert the events, taking part in the current transaction.
+     * @param objectMapper the mapper used to serialize the task payloads.
+     */
+    public TaskOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records the creation or update of a task.
+     *
+     * @param type the kind of change, {@link TaskEvent.Type#CREATED} or {@link TaskEvent.Type#UPDATED}.
+     * @param task the task after the change.
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void recordSaved(TaskEvent.Type type, TaskDto task) {
+        try {
+            insert(task.getId(), type, objectMapper.writeValueAsString(task));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize task " + task.getId(), ex);
+        }
+    }
+
+    /**
+     * Records the deletion of a task.
+     *
+     * @param taskId the ID of the deleted task.
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void recordDeleted(Long taskId) {
+        insert(taskId, TaskEvent.Type.DELETED, null);
+    }
+
+    private void insert(Long taskId, TaskEvent.Type type, String payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Task events must be recorded in the transaction of the change");
+        }
+        jdbcTemplate.update("INSERT INTO TASK_OUTBOX (TASK_ID, EVENT_TYPE, PAYLOAD, CREATED_AT) VALUES (?, ?, ?, ?)",
+                taskId, type.name(), payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
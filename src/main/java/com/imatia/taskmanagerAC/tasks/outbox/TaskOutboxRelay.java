@@ -0,0 +1,175 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import com.imatia.taskmanagerAC.tasks.lease.JobLease;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduled job publishing the task events of the TASK_OUTBOX table to the {@link TaskEventSink}.
+ *
+ * <p>Each run reads the oldest events of every shard in batches, ordered by outbox ID, publishes each batch, and
+ * deletes it once the sink has accepted it. Delivery is at least once: a batch that fails, or whose deletion
+ * fails, is published again on the next run. Writers never wait for the relay.</p>
+ *
+ * <p>Only the instance holding the {@value #JOB} {@link JobLease} relays, so that instances sharing a database do
+ * not publish events twice. The holder keeps the lease by renewing it on every run and before each batch; if it
+ * stops, another instance takes over once the lease expires, and republishes at most the batch the holder had not
+ * deleted yet. A batch must therefore be published well within {@code lease-duration}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.outbox.enabled", havingValue = "true")
+public class TaskOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOutboxRelay.class);
+
+    /**
+     * Name of the lease electing the relaying instance.
+     */
+    static final String JOB = "task-outbox-relay";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskEventSink sink;
+    private final OutboxProperties properties;
+    private final JobLease jobLease;
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final Counter published;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Constructor for TaskOutboxRelay.
+     *
+     * @param jdbcTemplate  the template used to read and delete the events.
+     * @param shardRouter   the router used to relay the events of every shard.
+     * @param sink          the destination of the events.
+     * @param properties    the outbox configuration.
+     * @param jobLease      the lease electing the one instance that relays.
+     * @param meterRegistry the registry receiving the relay metrics, if metrics are available.
+     */
+    public TaskOutboxRelay(JdbcTemplate jdbcTemplate, TaskShardRouter shardRouter, TaskEventSink sink,
+                           OutboxProperties properties, JobLease jobLease,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardRouter = shardRouter;
+        this.sink = sink;
+        this.properties = properties;
+        this.jobLease = jobLease;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.published = registry.counter("taskmanager.outbox.published");
+            this.failures = registry.counter("taskmanager.outbox.failures");
+            this.batchSizes = registry.summary("taskmanager.outbox.batch.size");
+            Gauge.builder("taskmanager.outbox.lag.seconds", this, relay -> relay.getLag().toMillis() / 1000.0)
+                    .register(registry);
+        } else {
+            this.published = null;
+            this.failures = null;
+            this.batchSizes = null;
+        }
+    }
+
+    /**
+     * Publishes the pending events of every shard, if this instance holds the relay lease.
+     */
+    @Scheduled(fixedDelayString = "${taskmanager.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!jobLease.tryAcquire(JOB, properties.getLeaseDuration())) {
+            log.debug("Relay skipped, the {} lease is held by another instance", JOB);
+            return;
+        }
+        LocalDateTime[] oldest = {null};
+        int[] batches = {0};
+        boolean[] leaseLost = {false};
+        shardRouter.forEachShard(() -> {
+            if (leaseLost[0]) {
+                return;
+            }
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                if (batches[0]++ > 0 && !jobLease.tryAcquire(JOB, properties.getLeaseDuration())) {
+                    log.warn("Relay stopped, the {} lease was lost", JOB);
+                    leaseLost[0] = true;
+                    return;
+                }
+                int relayed = relayBatch();
+                if (relayed < properties.getBatchSize()) {
+                    break;
+                }
+            }
+            LocalDateTime shardOldest = jdbcTemplate.getJdbcTemplate().queryForObject(
+                    "SELECT MIN(CREATED_AT) FROM TASK_OUTBOX", (rs, rowNum) -> toLocalDateTime(rs.getTimestamp(1)));
+            if (shardOldest != null && (oldest[0] == null || shardOldest.isBefore(oldest[0]))) {
+                oldest[0] = shardOldest;
+            }
+        });
+        oldestPending.set(oldest[0]);
+    }
+
+    /**
+     * Returns how long the oldest event still pending after the last run has been waiting.
+     *
+     * @return the relay lag, zero when every event has been published.
+     */
+    public Duration getLag() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+
+    /**
+     * Publishes and deletes the oldest batch of events of the current shard.
+     *
+     * @return the number of events published, or -1 if the batch failed.
+     */
+    private int relayBatch() {
+        List<TaskEvent> events = jdbcTemplate.query(
+                "SELECT ID, TASK_ID, EVENT_TYPE, PAYLOAD, CREATED_AT FROM TASK_OUTBOX ORDER BY ID LIMIT :limit",
+                new MapSqlParameterSource("limit", properties.getBatchSize()),
+                (rs, rowNum) -> new TaskEvent(rs.getLong(1), rs.getLong(2), TaskEvent.Type.valueOf(rs.getString(3)),
+                        rs.getString(4), toLocalDateTime(rs.getTimestamp(5))));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(events);
+        } catch (Exception ex) {
+            log.warn("Failed to publish {} task events, retrying on the next run", events.size(), ex);
+            if (failures != null) {
+                failures.increment();
+            }
+            return -1;
+        }
+
+        List<Long> ids = events.stream().map(TaskEvent::getId).collect(Collectors.toList());
+        jdbcTemplate.update("DELETE FROM TASK_OUTBOX WHERE ID IN (:ids)", new MapSqlParameterSource("ids", ids));
+        if (published != null) {
+            published.increment(events.size());
+            batchSizes.record(events.size());
+        }
+        return events.size();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,135 @@
+package com.imatia.taskmanagerAC.tasks.query;
+
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Estimates the cost of task list queries from {@link TaskTableStatistics} and bounds it before the query runs.
+ *
+ * <p>A filtered page costs as many row reads as its count query, which visits every candidate row: the rows in
+ * the creation date range when there is one (index range scan), else the rows with the requested completion
+ * status (index scan), else the whole table. The name filter is a leading-wildcard LIKE and cannot narrow the
+ * scan. An unfiltered page only reads {@code offset + size} rows through the creation date index.</p>
+ *
+ * <p>A tag filter resolved by the tag index turns into an ID list, and the query reads those rows only. A tag
+ * filter applied by the database checks each tag of the filter against the TASK_TAG table for every candidate
+ * row, so each tag adds one lookup per candidate row.</p>
+ *
+ * <p>Page sizes are capped to {@code max-page-size}, and to {@code expensive-page-size} when the estimate exceeds
+ * {@code expensive-scan-rows}. Queries estimated above {@code max-scan-rows}, and offsets beyond {@code max-offset},
+ * are rejected: deep pages should be reached through the creation date filters instead, passing the creation date
+ * of the last task seen as {@code endDate}.</p>
+ */
+@Component
+@EnableConfigurationProperties(QueryGuardProperties.class)
+public class QueryCostGuard {
+
+    private final TaskTableStatistics statistics;
+    private final QueryGuardProperties properties;
+
+    /**
+     * Constructor for QueryCostGuard.
+     *
+     * @param statistics the statistics of the TASK table.
+     * @param properties the limits to enforce.
+     */
+    public QueryCostGuard(TaskTableStatistics statistics, QueryGuardProperties properties) {
+        this.statistics = statistics;
+        this.properties = properties;
+    }
+
+    /**
+     * Checks a list query against the limits.
+     *
+     * @param name      the name filter, or null.
+     * @param completed the completion status filter, or null.
+     * @param startDate the lower bound of the creation date filter, or null.
+     * @param endDate   the upper bound of the creation date filter, or null.
+     * @param tags      the tag filter, possibly empty.
+     * @param taggedIds the IDs the tag filter was resolved to by the tag index, or null if the database applies it.
+     * @param pageable  the requested page.
+     * @return the page to query, with its size capped if needed.
+     * @throws IllegalArgumentException if the query is too expensive to run.
+     */
+    public Pageable admit(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                          TagFilter tags, long[] taggedIds, Pageable pageable) {
+        if (!properties.isEnabled()) {
+            return pageable;
+        }
+        if (pageable.isUnpaged()) {
+            throw new IllegalArgumentException("Unpaged task queries are not allowed");
+        }
+        if (pageable.getOffset() > properties.getMaxOffset()) {
+            throw new IllegalArgumentException("Page offset " + pageable.getOffset() + " exceeds the maximum of "
+                    + properties.getMaxOffset() + "; narrow the query with startDate/endDate instead");
+        }
+
+        long scanRows = estimateScanRows(name, completed, startDate, endDate, tags, taggedIds, pageable);
+        if (scanRows > properties.getMaxScanRows()) {
+            throw new IllegalArgumentException("Query would scan about " + scanRows
+                    + " tasks; narrow it with completed, startDate or endDate");
+        }
+
+        int maxSize = scanRows > properties.getExpensiveScanRows()
+                ? properties.getExpensivePageSize() : properties.getMaxPageSize();
+        if (pageable.getPageSize() <= maxSize) {
+            return pageable;
+        }
+        // Start the capped page at, or just before, the requested offset.
+        return PageRequest.of((int) (pageable.getOffset() / maxSize), maxSize, pageable.getSort());
+    }
+
+    /**
+     * Estimates the number of rows a list query reads, including its count query.
+     *
+     * @return the estimated row reads.
+     */
+    long estimateScanRows(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                          TagFilter tags, long[] taggedIds, Pageable pageable) {
+        TaskTableStatistics.Snapshot stats = statistics.current();
+        long pageRows = pageable.getOffset() + pageable.getPageSize();
+        if (!tags.isEmpty() && taggedIds != null) {
+            return taggedIds.length;
+        }
+        int tagLookups = tags.getGroups().stream().mapToInt(Set::size).sum();
+        if (name == null && completed == null && startDate == null && endDate == null && tagLookups == 0) {
+            return Math.min(pageRows, stats.getRows());
+        }
+
+        double fraction;
+        if (startDate != null || endDate != null) {
+            fraction = dateRangeFraction(stats, startDate, endDate);
+        } else if (completed != null) {
+            fraction = stats.getRows() == 0 ? 0 : (double) (completed ? stats.getCompletedRows()
+                    : stats.getRows() - stats.getCompletedRows()) / stats.getRows();
+        } else {
+            fraction = 1;
+        }
+        long candidateRows = (long) Math.ceil(stats.getRows() * fraction);
+        return Math.max(pageRows, candidateRows * (1 + tagLookups));
+    }
+
+    /**
+     * Fraction of the tasks created within the range, assuming creation dates are spread uniformly.
+     */
+    private static double dateRangeFraction(TaskTableStatistics.Snapshot stats, LocalDateTime startDate,
+                                            LocalDateTime endDate) {
+        if (stats.getOldest() == null || stats.getNewest() == null) {
+            return 1;
+        }
+        LocalDateTime from = startDate == null || startDate.isBefore(stats.getOldest()) ? stats.getOldest() : startDate;
+        LocalDateTime to = endDate == null || endDate.isAfter(stats.getNewest()) ? stats.getNewest() : endDate;
+        if (to.isBefore(from)) {
+            return 0;
+        }
+        long span = Duration.between(stats.getOldest(), stats.getNewest()).toMillis();
+        return span == 0 ? 1 : Math.min(1, (double) Duration.between(from, to).toMillis() / span);
+    }
+}
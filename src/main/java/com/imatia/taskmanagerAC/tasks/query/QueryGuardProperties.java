@@ -0,0 +1,70 @@
+package com.imatia.taskmanagerAC.tasks.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the cost guard of task list queries, bound to {@code taskmanager.query-guard.*}.
+ */
+@ConfigurationProperties("taskmanager.query-guard")
+public class QueryGuardProperties {
+
+    private boolean enabled = true;
+
+    private int maxPageSize = 100;
+
+    private long maxOffset = 10_000;
+
+    private long expensiveScanRows = 100_000;
+
+    private int expensivePageSize = 20;
+
+    private long maxScanRows = 5_000_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public long getMaxOffset() {
+        return maxOffset;
+    }
+
+    public void setMaxOffset(long maxOffset) {
+        this.maxOffset = maxOffset;
+    }
+
+    public long getExpensiveScanRows() {
+        return expensiveScanRows;
+    }
+
+    public void setExpensiveScanRows(long expensiveScanRows) {
+        this.expensiveScanRows = expensiveScanRows;
+    }
+
+    public int getExpensivePageSize() {
+        return expensivePageSize;
+    }
+
+    public void setExpensivePageSize(int expensivePageSize) {
+        this.expensivePageSize = expensivePageSize;
+    }
+
+    public long getMaxScanRows() {
+        return maxScanRows;
+    }
+
+    public void setMaxScanRows(long maxScanRows) {
+        this.maxScanRows = maxScanRows;
+    }
+}
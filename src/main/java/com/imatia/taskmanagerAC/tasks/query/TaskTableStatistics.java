@@ -0,0 +1,118 @@
+package com.imatia.taskmanagerAC.tasks.query;
+
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Periodically refreshed statistics of the TASK table, summed over every shard, used to estimate query costs.
+ */
+@Component
+public class TaskTableStatistics {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Constructor for TaskTableStatistics.
+     *
+     * @param jdbcTemplate the template used to read the statistics.
+     * @param shardRouter  the router used to read the statistics of every shard.
+     */
+    public TaskTableStatistics(JdbcTemplate jdbcTemplate, TaskShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Recomputes the statistics once the application has started, then periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${taskmanager.query-guard.statistics-interval:PT5M}",
+            fixedDelayString = "${taskmanager.query-guard.statistics-interval:PT5M}")
+    public void refresh() {
+        Snapshot[] total = {Snapshot.EMPTY};
+        shardRouter.forEachShard(() -> jdbcTemplate.query(
+                "SELECT COUNT(*), SUM(CASE WHEN COMPLETED = TRUE THEN 1 ELSE 0 END), MIN(CREATION_DATE), MAX(CREATION_DATE) FROM TASK",
+                rs -> {
+                    total[0] = total[0].plus(new Snapshot(rs.getLong(1), rs.getLong(2),
+                            toLocalDateTime(rs.getTimestamp(3)), toLocalDateTime(rs.getTimestamp(4))));
+                }));
+        current.set(total[0]);
+    }
+
+    /**
+     * Returns the latest statistics.
+     *
+     * @return the statistics, empty until the first refresh.
+     */
+    public Snapshot current() {
+        return current.get();
+    }
+
+    void set(Snapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Statistics of the TASK table at a point in time.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0, null, null);
+
+        private final long rows;
+        private final long completedRows;
+        private final LocalDateTime oldest;
+        private final LocalDateTime newest;
+
+        /**
+         * Constructs a new Snapshot.
+         *
+         * @param rows          the number of tasks.
+         * @param completedRows the number of completed tasks.
+         * @param oldest        the oldest creation date, or null.
+         * @param newest        the newest creation date, or null.
+         */
+        public Snapshot(long rows, long completedRows, LocalDateTime oldest, LocalDateTime newest) {
+            this.rows = rows;
+            this.completedRows = completedRows;
+            this.oldest = oldest;
+            this.newest = newest;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getCompletedRows() {
+            return completedRows;
+        }
+
+        public LocalDateTime getOldest() {
+            return oldest;
+        }
+
+        public LocalDateTime getNewest() {
+            return newest;
+        }
+
+        private Snapshot plus(Snapshot other) {
+            return new Snapshot(rows + other.rows, completedRows + other.completedRows,
+                    oldest == null || (other.oldest != null && other.oldest.isBefore(oldest)) ? other.oldest : oldest,
+                    newest == null || (other.newest != null && other.newest.isAfter(newest)) ? other.newest : newest);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding timers with a fixed tick resolution.
+ *
+ * <p>Level 0 has one slot per tick; each higher level has slots spanning a whole turn of the level below,
+ * so {@code levels} levels of {@code wheelSize} slots cover {@code wheelSize^levels} ticks. A timer goes into
+ * the lowest level whose span covers its delay, and is moved down a level each time the wheel reaches its slot,
+ * until it fires from level 0. Timers further away than the span are parked in the farthest slot of the top
+ * level and placed again when reached.</p>
+ *
+ * <p>Scheduling and cancelling are O(1): each slot is a doubly linked list, and a timer unlinks itself.
+ * Advancing costs O(1) per tick plus the timers fired or moved. Not thread-safe.</p>
+ *
+ * @param <T> the payload of the timers.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long maxDelayTicks;
+    private final Timer<T>[] slots;
+    private long nextTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis the resolution of the wheel, in milliseconds.
+     * @param wheelSize  the number of slots per level, rounded up to a power of two.
+     * @param levels     the number of levels.
+     * @param nowMillis  the current time, in epoch milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        if (bits * levels >= 63) {
+            throw new IllegalArgumentException("Timing wheel span exceeds the range of a long");
+        }
+        this.maxDelayTicks = (1L << (bits * levels)) - 1;
+        this.slots = new Timer[levels << bits];
+        for (int i = 0; i < slots.length; i++) {
+            Timer<T> head = new Timer<>(0, null);
+            head.prev = head;
+            head.next = head;
+            slots[i] = head;
+        }
+        this.nextTick = Math.floorDiv(nowMillis, tickMillis) + 1;
+    }
+
+    /**
+     * Schedules a timer. A deadline in the past fires on the next tick.
+     *
+     * @param deadlineMillis when the timer must fire, in epoch milliseconds.
+     * @param payload        the payload handed back when the timer fires.
+     * @return the timer, which can be cancelled.
+     */
+    Timer<T> schedule(long deadlineMillis, T payload) {
+        // Rounded up so that a timer never fires before its deadline.
+        long deadlineTick = -Math.floorDiv(-deadlineMillis, tickMillis);
+        Timer<T> timer = new Timer<>(deadlineTick, payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer.
+     *
+     * @param timer the timer.
+     * @return true if the timer was pending, false if it had already fired or been cancelled.
+     */
+    boolean cancel(Timer<T> timer) {
+        if (timer.prev == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time, firing every timer due by then, tick by tick.
+     *
+     * @param nowMillis the current time, in epoch milliseconds.
+     * @param onExpired receives the payload of each timer fired.
+     */
+    void advanceTo(long nowMillis, Consumer<T> onExpired) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0) {
+            nextTick = Math.max(nextTick, nowTick + 1);
+            return;
+        }
+        while (nextTick <= nowTick) {
+            int index = (int) (nextTick & mask);
+            for (int level = 1; level < levels && index == 0; level++) {
+                index = (int) ((nextTick >>> (bits * level)) & mask);
+                cascade(level, index);
+            }
+
+            Timer<T> head = slots[(int) (nextTick & mask)];
+            while (head.next != head) {
+                Timer<T> timer = head.next;
+                timer.unlink();
+                size--;
+                onExpired.accept(timer.payload);
+            }
+            nextTick++;
+        }
+    }
+
+    /**
+     * Returns the number of pending timers.
+     *
+     * @return the timer count.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the timers of a higher level slot down, now that the wheel has reached it.
+     */
+    private void cascade(int level, int index) {
+        Timer<T> head = slots[(level << bits) + index];
+        Timer<T> timer = head.next;
+        head.prev = head;
+        head.next = head;
+        while (timer != head) {
+            Timer<T> next = timer.next;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long tick = Math.max(timer.deadlineTick, nextTick);
+        long delay = tick - nextTick;
+        if (delay > maxDelayTicks) {
+            delay = maxDelayTicks;
+            tick = nextTick + delay;
+        }
+
+        int level = 0;
+        while (level < levels - 1 && (delay >>> (bits * (level + 1))) != 0) {
+            level++;
+        }
+        int index = (int) ((tick >>> (bits * level)) & mask);
+        timer.linkBefore(slots[(level << bits) + index]);
+    }
+
+    /**
+     * A pending timer, linked into the slot it waits in.
+     *
+     * @param <T> the payload of the timer.
+     */
+    static final class Timer<T> {
+
+        private final long deadlineTick;
+        private final T payload;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        T getPayload() {
+            return payload;
+        }
+
+        private void linkBefore(Timer<T> head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
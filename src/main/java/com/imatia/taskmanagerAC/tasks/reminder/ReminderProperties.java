@@ -0,0 +1,92 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the due date reminders, bound to {@code taskmanager.reminders.*}.
+ */
+@ConfigurationProperties("taskmanager.reminders")
+public class ReminderProperties {
+
+    private boolean enabled;
+
+    private Duration tick = Duration.ofSeconds(1);
+
+    private int wheelSize = 64;
+
+    private int levels = 4;
+
+    private Duration lead = Duration.ofMinutes(15);
+
+    private Duration loadWindow = Duration.ofMinutes(10);
+
+    private Duration catchUp = Duration.ofMinutes(5);
+
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTick() {
+        return tick;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    public void setLevels(int levels) {
+        this.levels = levels;
+    }
+
+    public Duration getLead() {
+        return lead;
+    }
+
+    public void setLead(Duration lead) {
+        this.lead = lead;
+    }
+
+    public Duration getLoadWindow() {
+        return loadWindow;
+    }
+
+    public void setLoadWindow(Duration loadWindow) {
+        this.loadWindow = loadWindow;
+    }
+
+    public Duration getCatchUp() {
+        return catchUp;
+    }
+
+    public void setCatchUp(Duration catchUp) {
+        this.catchUp = catchUp;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+}
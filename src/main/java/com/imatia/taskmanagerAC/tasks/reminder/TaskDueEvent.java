@@ -0,0 +1,53 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by the {@link TaskReminderScheduler} when a pending task approaches or passes
+ * its due date.
+ */
+public class TaskDueEvent {
+
+    /**
+     * Kind of due date event.
+     */
+    public enum Kind {
+        /**
+         * The task is due within the configured lead time.
+         */
+        REMINDER,
+        /**
+         * The due date of the task has passed.
+         */
+        OVERDUE
+    }
+
+    private final long taskId;
+    private final Kind kind;
+    private final LocalDateTime dueDate;
+
+    /**
+     * Constructor for TaskDueEvent.
+     *
+     * @param taskId  the ID of the task.
+     * @param kind    the kind of event.
+     * @param dueDate the due date of the task.
+     */
+    public TaskDueEvent(long taskId, Kind kind, LocalDateTime dueDate) {
+        this.taskId = taskId;
+        this.kind = kind;
+        this.dueDate = dueDate;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+}
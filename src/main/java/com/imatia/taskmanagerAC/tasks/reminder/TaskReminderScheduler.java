@@ -0,0 +1,483 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import com.imatia.taskmanagerAC.tasks.columnar.ColumnarTaskStore;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.invalidation.TaskInvalidation;
+import com.imatia.taskmanagerAC.tasks.invalidation.TaskInvalidationListener;
+import com.imatia.taskmanagerAC.tasks.lease.JobLease;
+import com.imatia.taskmanagerAC.tasks.service.TaskChangedEvent;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link TaskDueEvent} when a pending task approaches its due date, and another once it is overdue.
+ *
+ * <p>Timers are kept in a {@link HierarchicalTimingWheel}, so scheduling and cancelling a timer are O(1) however
+ * many are pending. Only the tasks due in the next {@code load-window} (plus the reminder lead) are held in memory:
+ * the next window is read from the due date index of the TASK table before the current one runs out. At startup,
+ * tasks that became due during the last {@code catch-up} are loaded as well, so that a restart does not skip them;
+ * their events may therefore be published twice across a restart.</p>
+ *
+ * <p>Changes made through the task service are applied to the timers once committed: a new due date moves the
+ * timers, and a completed or deleted task loses them. The changes made by other instances are read from the TASK
+ * table when their invalidation arrives, and the loaded window is periodically compared with the TASK table to
+ * recover lost invalidations. Fired timers are remembered for {@code catch-up}, so that a task changed again
+ * without a new due date does not fire twice.</p>
+ *
+ * <p>Every instance keeps the timers of every task, but only the instance holding the {@value #JOB}
+ * {@link JobLease} publishes the events; the others drop them. The lease is renewed every third of
+ * {@code lease-duration}, and taken over by another instance once the holder stops renewing it: the events falling
+ * due until then are not published. Events are published on the scheduler thread, so listeners should hand long
+ * work off to another thread. Requires the JPA task store.</p>
+ */
+@Component
+@EnableConfigurationProperties(ReminderProperties.class)
+@ConditionalOnExpression("${taskmanager.reminders.enabled:false} and '${taskmanager.store:jpa}' != 'columnar'")
+public class TaskReminderScheduler implements DisposableBean, TaskInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderScheduler.class);
+
+    /**
+     * Name of the lease electing the instance publishing the events.
+     */
+    static final String JOB = "task-reminders";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReminderProperties properties;
+    private final JobLease jobLease;
+    private final long leadMillis;
+    private final long windowMillis;
+    private final long catchUpMillis;
+    private final long leaseCheckNanos;
+    private final Map<Long, PendingTask> pendingTasks = new HashMap<>();
+    private final Map<Long, Boolean> changedWhileReloading = new HashMap<>();
+    private final ScheduledExecutorService executor;
+    private final Counter reminders;
+    private final Counter overdue;
+
+    private HierarchicalTimingWheel<TaskDueEvent> wheel;
+    private long loadedUntil;
+    private long loadingUntil;
+    private Set<Long> changedWhileLoading;
+    private Set<Long> changedWhileResyncing;
+    private long nextLeaseCheck;
+    private volatile boolean publisher;
+
+    /**
+     * Constructor for TaskReminderScheduler. Timers start once the application is ready.
+     *
+     * @param jdbcTemplate   the template used to read the due date windows.
+     * @param shardRouter    the router used to read every shard.
+     * @param eventPublisher the publisher of the {@link TaskDueEvent}s.
+     * @param properties     the reminder configuration.
+     * @param jobLease       the lease electing the instance publishing the events.
+     * @param meterRegistry  the registry receiving the reminder metrics, if metrics are available.
+     */
+    public TaskReminderScheduler(NamedParameterJdbcTemplate jdbcTemplate, TaskShardRouter shardRouter,
+                                 ApplicationEventPublisher eventPublisher, ReminderProperties properties,
+                                 JobLease jobLease, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.jobLease = jobLease;
+        this.leadMillis = properties.getLead().toMillis();
+        this.windowMillis = properties.getLoadWindow().toMillis();
+        this.catchUpMillis = properties.getCatchUp().toMillis();
+        this.leaseCheckNanos = properties.getLeaseDuration().toNanos() / 3;
+        this.nextLeaseCheck = System.nanoTime();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            this.reminders = registry.counter("taskmanager.reminders.fired", "kind", "reminder");
+            this.overdue = registry.counter("taskmanager.reminders.fired", "kind", "overdue");
+            Gauge.builder("taskmanager.reminders.pending", this, TaskReminderScheduler::pendingCount).register(registry);
+        } else {
+            this.reminders = null;
+            this.overdue = null;
+        }
+    }
+
+    /**
+     * Loads the first window of due tasks and starts the wheel.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long now = nowMillis();
+        synchronized (this) {
+            wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                    properties.getLevels(), now);
+            loadedUntil = now - properties.getCatchUp().toMillis();
+        }
+        loadUntil(now + leadMillis + windowMillis);
+
+        long tick = properties.getTick().toMillis();
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                tick(nowMillis());
+            } catch (RuntimeException ex) {
+                log.error("Failed to advance the reminder timers", ex);
+            }
+        }, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies a committed task change to its timers.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        long taskId = event.getTaskId();
+        markChanged(taskId);
+        changedWhileReloading.replace(taskId, Boolean.TRUE);
+
+        TaskDto task = event.getTask();
+        LocalDateTime dueDate = isPending(task) ? task.getDueDate() : null;
+        PendingTask pending = pendingTasks.get(taskId);
+        if (pending != null && dueDate != null && dueDate.equals(pending.dueDate)) {
+            return;
+        }
+        if (pending != null) {
+            cancel(taskId);
+        }
+
+        // An update keeping the due date of a pending task must not fire its events again.
+        TaskDto previousTask = event.getPreviousTask();
+        boolean unchanged = previousTask != null && isPending(previousTask)
+                && Objects.equals(previousTask.getDueDate(), dueDate);
+        if (dueDate != null && !unchanged
+                && ColumnarTaskStore.toEpochMillis(dueDate) < Math.max(loadedUntil, loadingUntil)) {
+            schedule(taskId, dueDate, nowMillis());
+        }
+    }
+
+    /**
+     * Reloads the due date of a task changed by another instance, and moves its timers. A change committed by
+     * this instance while the task is read takes precedence over it.
+     *
+     * @param invalidation the invalidation of the task.
+     */
+    @Override
+    public void onInvalidation(TaskInvalidation invalidation) {
+        long taskId = invalidation.getTaskId();
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            changedWhileReloading.put(taskId, Boolean.FALSE);
+        }
+
+        List<LocalDateTime> dueDates = null;
+        try {
+            dueDates = shardRouter.onShardOf(taskId, () -> jdbcTemplate.query(
+                    "SELECT DUE_DATE FROM TASK WHERE ID = :id AND DUE_DATE IS NOT NULL "
+                            + "AND (COMPLETED IS NULL OR COMPLETED = FALSE)",
+                    new MapSqlParameterSource("id", taskId), (rs, row) -> rs.getTimestamp(1).toLocalDateTime()));
+        } finally {
+            synchronized (this) {
+                boolean changed = Boolean.TRUE.equals(changedWhileReloading.remove(taskId));
+                if (dueDates != null && !changed) {
+                    reschedule(taskId, dueDates.isEmpty() ? null : dueDates.get(0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the timers of the tasks due in the loaded window with the TASK table, and moves those that differ.
+     * Changes applied while the table is read take precedence over the rows read.
+     */
+    @Override
+    public void resync() {
+        long from = nowMillis();
+        long until;
+        synchronized (this) {
+            if (wheel == null || changedWhileResyncing != null) {
+                return;
+            }
+            until = loadedUntil;
+            changedWhileResyncing = new HashSet<>();
+        }
+
+        Map<Long, LocalDateTime> dueTasks;
+        try {
+            dueTasks = from < until ? readDueTasks(from, until) : Map.of();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                changedWhileResyncing = null;
+            }
+            throw ex;
+        }
+
+        synchronized (this) {
+            for (Long taskId : new ArrayList<>(pendingTasks.keySet())) {
+                long due = ColumnarTaskStore.toEpochMillis(pendingTasks.get(taskId).dueDate);
+                if (due >= from && due < until && !dueTasks.containsKey(taskId)
+                        && !changedWhileResyncing.contains(taskId)) {
+                    cancel(taskId);
+                }
+            }
+            for (Map.Entry<Long, LocalDateTime> dueTask : dueTasks.entrySet()) {
+                if (!changedWhileResyncing.contains(dueTask.getKey())) {
+                    reschedule(dueTask.getKey(), dueTask.getValue());
+                }
+            }
+            changedWhileResyncing = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Loads the next window if the current one is running out, then fires the timers due by the given time. Their
+     * events are published if this instance holds the lease.
+     *
+     * @param now the current time, as returned by {@link #nowMillis()}.
+     */
+    void tick(long now) {
+        if (now + leadMillis + windowMillis / 2 >= loadedUntil) {
+            loadUntil(now + leadMillis + windowMillis);
+        }
+        boolean publishing = holdsLease();
+
+        List<TaskDueEvent> fired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(now, event -> {
+                fired.add(event);
+                if (event.getKind() == TaskDueEvent.Kind.OVERDUE) {
+                    pendingTasks.get(event.getTaskId()).overdue = null;
+                } else {
+                    pendingTasks.get(event.getTaskId()).reminder = null;
+                }
+            });
+        }
+        if (!publishing) {
+            return;
+        }
+
+        for (TaskDueEvent event : fired) {
+            Counter counter = event.getKind() == TaskDueEvent.Kind.OVERDUE ? overdue : reminders;
+            if (counter != null) {
+                counter.increment();
+            }
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException ex) {
+                log.warn("Listener of the {} event of task {} failed", event.getKind(), event.getTaskId(), ex);
+            }
+        }
+    }
+
+    /**
+     * Acquires or renews the lease if it was last checked a third of its duration ago.
+     *
+     * @return true if this instance holds the lease and publishes the events.
+     */
+    private boolean holdsLease() {
+        long now = System.nanoTime();
+        if (now - nextLeaseCheck >= 0) {
+            nextLeaseCheck = now + leaseCheckNanos;
+            try {
+                publisher = jobLease.tryAcquire(JOB, properties.getLeaseDuration());
+            } catch (RuntimeException ex) {
+                publisher = false;
+                log.warn("Failed to renew the {} lease, due events are not published", JOB, ex);
+            }
+        }
+        return publisher;
+    }
+
+    /**
+     * Returns the number of pending timers.
+     *
+     * @return the timer count, reminders and overdue timers included.
+     */
+    synchronized int pendingCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    /**
+     * Schedules the timers of the pending tasks due between the end of the loaded window and the given time.
+     * The rows are read without holding the lock, and changes committed meanwhile take precedence over them.
+     */
+    private void loadUntil(long until) {
+        long from;
+        synchronized (this) {
+            if (until <= loadedUntil || changedWhileLoading != null) {
+                return;
+            }
+            from = loadedUntil;
+            loadingUntil = until;
+            changedWhileLoading = new HashSet<>();
+        }
+
+        Map<Long, LocalDateTime> dueTasks;
+        try {
+            dueTasks = readDueTasks(from, until);
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                loadingUntil = 0;
+                changedWhileLoading = null;
+            }
+            throw ex;
+        }
+
+        long now = nowMillis();
+        synchronized (this) {
+            for (Map.Entry<Long, LocalDateTime> dueTask : dueTasks.entrySet()) {
+                if (!changedWhileLoading.contains(dueTask.getKey()) && !pendingTasks.containsKey(dueTask.getKey())) {
+                    schedule(dueTask.getKey(), dueTask.getValue(), now);
+                }
+            }
+            loadedUntil = until;
+            loadingUntil = 0;
+            changedWhileLoading = null;
+            pendingTasks.values().removeIf(pending -> pending.overdue == null
+                    && ColumnarTaskStore.toEpochMillis(pending.dueDate) < now - catchUpMillis);
+        }
+        log.debug("Loaded {} tasks due before {}", dueTasks.size(), ColumnarTaskStore.fromEpochMillis(until));
+    }
+
+    /**
+     * Reads the pending tasks due between the given times, from every shard.
+     */
+    private Map<Long, LocalDateTime> readDueTasks(long from, long until) {
+        Map<Long, LocalDateTime> dueTasks = new HashMap<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(ColumnarTaskStore.fromEpochMillis(from)))
+                .addValue("until", Timestamp.valueOf(ColumnarTaskStore.fromEpochMillis(until)));
+        shardRouter.forEachShard(() -> jdbcTemplate.query(
+                "SELECT ID, DUE_DATE FROM TASK WHERE DUE_DATE >= :from AND DUE_DATE < :until "
+                        + "AND (COMPLETED IS NULL OR COMPLETED = FALSE)", params,
+                rs -> {
+                    dueTasks.put(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+                }));
+        return dueTasks;
+    }
+
+    /**
+     * Schedules the timers of a task. The reminder is skipped once the task is already overdue.
+     */
+    private void schedule(long taskId, LocalDateTime dueDate, long now) {
+        long due = ColumnarTaskStore.toEpochMillis(dueDate);
+        PendingTask pending = new PendingTask(dueDate);
+        if (due > now && leadMillis > 0) {
+            pending.reminder = wheel.schedule(due - leadMillis,
+                    new TaskDueEvent(taskId, TaskDueEvent.Kind.REMINDER, dueDate));
+        }
+        pending.overdue = wheel.schedule(due, new TaskDueEvent(taskId, TaskDueEvent.Kind.OVERDUE, dueDate));
+        pendingTasks.put(taskId, pending);
+    }
+
+    /**
+     * Moves the timers of a task changed by another instance. A task already due is scheduled if it fell due
+     * during the last {@code catch-up}, as its fired timers are remembered that long. Called with the lock held.
+     */
+    private void reschedule(long taskId, LocalDateTime dueDate) {
+        markChanged(taskId);
+        PendingTask pending = pendingTasks.get(taskId);
+        if (pending != null && dueDate != null && dueDate.equals(pending.dueDate)) {
+            return;
+        }
+        if (pending != null) {
+            cancel(taskId);
+        }
+        long now = nowMillis();
+        if (dueDate != null) {
+            long due = ColumnarTaskStore.toEpochMillis(dueDate);
+            if (due >= now - catchUpMillis && due < Math.max(loadedUntil, loadingUntil)) {
+                schedule(taskId, dueDate, now);
+            }
+        }
+    }
+
+    /**
+     * Records that the timers of a task were set while the window is loaded or resynchronized, so that the rows
+     * read meanwhile do not override them. Called with the lock held.
+     */
+    private void markChanged(long taskId) {
+        if (changedWhileLoading != null) {
+            changedWhileLoading.add(taskId);
+        }
+        if (changedWhileResyncing != null) {
+            changedWhileResyncing.add(taskId);
+        }
+    }
+
+    private void cancel(long taskId) {
+        PendingTask pending = pendingTasks.remove(taskId);
+        if (pending.reminder != null) {
+            wheel.cancel(pending.reminder);
+        }
+        if (pending.overdue != null) {
+            wheel.cancel(pending.overdue);
+        }
+    }
+
+    private static boolean isPending(TaskDto task) {
+        return task != null && !Boolean.TRUE.equals(task.getCompleted());
+    }
+
+    /**
+     * Current time on the scale of the due dates, which are local date-times.
+     */
+    static long nowMillis() {
+        return ColumnarTaskStore.toEpochMillis(LocalDateTime.now());
+    }
+
+    /**
+     * The timers of a task. A timer is null once fired, or if it was skipped.
+     */
+    private static final class PendingTask {
+
+        private final LocalDateTime dueDate;
+        private HierarchicalTimingWheel.Timer<TaskDueEvent> reminder;
+        private HierarchicalTimingWheel.Timer<TaskDueEvent> overdue;
+
+        private PendingTask(LocalDateTime dueDate) {
+            this.dueDate = dueDate;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.imatia.taskmanagerAC.tasks.repository;
+
+import com.imatia.taskmanagerAC.tasks.model.ArchivedTaskEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTaskEntity, Long>, JpaSpecificationExecutor<ArchivedTaskEntity> {
+
+    List<ArchivedTaskEntity> findByPathStartingWithOrderByPathAsc(String pathPrefix, Pageable pageable);
+
+    List<ArchivedTaskEntity> findByParentIdIn(Collection<Long> parentIds);
+
+    boolean existsByParentId(Long parentId);
+}
@@ -1,9 +1,27 @@
 package com.imatia.taskmanagerAC.tasks.repository;
 
 import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity> {
 
+    List<TaskEntity> findByPathStartingWithOrderByPathAsc(String pathPrefix, Pageable pageable);
+
+    List<TaskEntity> findByParentIdIn(Collection<Long> parentIds);
+
+    boolean existsByParentId(Long parentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TaskEntity t WHERE t.id = :id")
+    Optional<TaskEntity> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,157 @@
+package com.imatia.taskmanagerAC.tasks.service;
+
+import com.imatia.taskmanagerAC.config.datasource.ReadYourWritesContext;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over the active {@link ITaskService}, running each call on a dedicated bounded executor.
+ *
+ * <p>Independent lookups can be started together and composed with the returned futures instead of running
+ * one after the other. When the executor queue is full, the returned future fails with a
+ * {@link java.util.concurrent.RejectedExecutionException} rather than blocking the caller. A read-your-writes pin
+ * on the calling thread is carried over to the executor thread.</p>
+ */
+@Service
+public class AsyncTaskService implements DisposableBean {
+
+    private final ITaskService taskService;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor for AsyncTaskService.
+     *
+     * @param taskService   the service the calls are delegated to.
+     * @param threads       the number of executor threads.
+     * @param queueCapacity the number of calls that can wait for a thread.
+     */
+    public AsyncTaskService(ITaskService taskService,
+                            @Value("${taskmanager.async.threads:16}") int threads,
+                            @Value("${taskmanager.async.queue-capacity:1000}") int queueCapacity) {
+        this.taskService = taskService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "task-async-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#findAll}.
+     *
+     * @param name      filter tasks by name (case-insensitive substring match).
+     * @param completed filter tasks by completion status.
+     * @param startDate filter tasks created on or after this date.
+     * @param endDate   filter tasks created on or before this date.
+     * @param pageable  pagination and sorting information.
+     * @return a future completed with the page of tasks.
+     */
+    public CompletableFuture<Page<TaskDto>> findAll(String name, Boolean completed, LocalDateTime startDate,
+                                                    LocalDateTime endDate, Pageable pageable) {
+        return submit(() -> taskService.findAll(name, completed, startDate, endDate, pageable));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#findById}.
+     *
+     * @param id the ID of the task.
+     * @return a future completed with the task, or empty if not found.
+     */
+    public CompletableFuture<Optional<TaskDto>> findById(Long id) {
+        return submit(() -> taskService.findById(id));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#findAllById}.
+     *
+     * @param ids the IDs of the tasks.
+     * @return a future completed with the tasks found, in the order of {@code ids}.
+     */
+    public CompletableFuture<List<TaskDto>> findAllById(Collection<Long> ids) {
+        return submit(() -> taskService.findAllById(ids));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#createTask}.
+     *
+     * @param task the task to create.
+     * @return a future completed with the created task.
+     */
+    public CompletableFuture<TaskDto> createTask(TaskDto task) {
+        return submit(() -> taskService.createTask(task));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#updateTask}.
+     *
+     * @param id   the ID of the task to update.
+     * @param task the updated task data.
+     * @return a future completed with the updated task, or null if it does not exist.
+     */
+    public CompletableFuture<TaskDto> updateTask(Long id, TaskDto task) {
+        return submit(() -> taskService.updateTask(id, task));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#partialUpdateTask}.
+     *
+     * @param id   the ID of the task to update.
+     * @param task the task data with fields to update.
+     * @return a future completed with the updated task, or null if it does not exist.
+     */
+    public CompletableFuture<TaskDto> partialUpdateTask(Long id, TaskDto task) {
+        return submit(() -> taskService.partialUpdateTask(id, task));
+    }
+
+    /**
+     * Asynchronous {@link ITaskService#deleteById}.
+     *
+     * @param id the ID of the task to delete.
+     * @return a future completed with true if the task was deleted.
+     */
+    public CompletableFuture<Boolean> deleteById(Long id) {
+        return submit(() -> taskService.deleteById(id));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        boolean pinned = ReadYourWritesContext.isPinnedToPrimary();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (pinned) {
+                    ReadYourWritesContext.pinToPrimary();
+                }
+                try {
+                    return call.get();
+                } finally {
+                    ReadYourWritesContext.clear();
+                }
+            }, executor);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+}
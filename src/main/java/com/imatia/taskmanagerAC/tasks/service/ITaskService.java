@@ -1,18 +1,27 @@
 package com.imatia.taskmanagerAC.tasks.service;
 
 import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ITaskService {
 
-    Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    default Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        return findAll(name, completed, startDate, endDate, TagFilter.NONE, pageable);
+    }
+
+    Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate, TagFilter tags, Pageable pageable);
 
     Optional<TaskDto> findById(Long id);
 
+    List<TaskDto> findAllById(Collection<Long> ids);
+
     TaskDto createTask(TaskDto task);
 
     TaskDto updateTask(Long id, TaskDto task);
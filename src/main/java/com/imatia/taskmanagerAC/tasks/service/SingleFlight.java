@@ -0,0 +1,89 @@
+package com.imatia.taskmanagerAC.tasks.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller for a key runs the call, and callers arriving
+ * while it is in flight wait for its result instead of running their own.
+ *
+ * <p>Unlike a cache, nothing is kept once the call completes; the next caller runs a fresh call. Failures are
+ * propagated to every waiting caller.</p>
+ *
+ * @param <K> the key type, identifying identical calls.
+ * @param <V> the result type.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> share;
+    private final Counter leaders;
+    private final Counter followers;
+
+    /**
+     * Constructs a new SingleFlight.
+     *
+     * @param operation     the name of the collapsed operation, used as a metric tag.
+     * @param share         turns the result of the call into the result handed to a waiting caller, e.g. a copy.
+     * @param meterRegistry the registry receiving the call counts, or null to disable them.
+     */
+    SingleFlight(String operation, UnaryOperator<V> share, MeterRegistry meterRegistry) {
+        this.share = share;
+        this.leaders = meterRegistry == null ? null
+                : meterRegistry.counter("taskmanager.single-flight.calls", "operation", operation, "role", "leader");
+        this.followers = meterRegistry == null ? null
+                : meterRegistry.counter("taskmanager.single-flight.calls", "operation", operation, "role", "follower");
+    }
+
+    /**
+     * Runs the call, or waits for the identical call already in flight.
+     *
+     * @param key  the key of the call.
+     * @param call the call to run if none is in flight for the key.
+     * @return the result of the call.
+     */
+    V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            increment(followers);
+            return share.apply(await(existing));
+        }
+
+        increment(leaders);
+        try {
+            V result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.imatia.taskmanagerAC.tasks.service;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+
+/**
+ * Application event published by {@link TaskService} after a task is created, updated or deleted.
+ *
+ * <p>It is published in the transaction of the change, if any, so that listeners interested in committed
+ * state only should use a {@code @TransactionalEventListener}. Listeners must not modify the tasks.</p>
+ */
+public class TaskChangedEvent {
+
+    private final long taskId;
+    private final TaskDto previousTask;
+    private final TaskDto task;
+
+    /**
+     * Constructor for TaskChangedEvent.
+     *
+     * @param taskId       the ID of the changed task.
+     * @param previousTask the task before an update, or null for a creation or deletion.
+     * @param task         the task after the change, or null if it was deleted.
+     */
+    public TaskChangedEvent(long taskId, TaskDto previousTask, TaskDto task) {
+        this.taskId = taskId;
+        this.previousTask = previousTask;
+        this.task = task;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public TaskDto getPreviousTask() {
+        return previousTask;
+    }
+
+    public TaskDto getTask() {
+        return task;
+    }
+
+    public boolean isDeleted() {
+        return task == null;
+    }
+}
@@ -1,83 +1,282 @@
 package com.imatia.taskmanagerAC.tasks.service;
 
+import com.imatia.taskmanagerAC.config.datasource.ReadYourWritesContext;
+import com.imatia.taskmanagerAC.tasks.archive.TaskArchive;
+import com.imatia.taskmanagerAC.tasks.groupcommit.TaskGroupCommitter;
+import com.imatia.taskmanagerAC.tasks.hierarchy.TaskPaths;
 import com.imatia.taskmanagerAC.tasks.mapper.TaskMapper;
+import com.imatia.taskmanagerAC.tasks.model.AbstractTaskEntity;
+import com.imatia.taskmanagerAC.tasks.model.ArchivedTaskEntity;
 import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskEvent;
+import com.imatia.taskmanagerAC.tasks.outbox.TaskOutbox;
+import com.imatia.taskmanagerAC.tasks.query.QueryCostGuard;
+import com.imatia.taskmanagerAC.tasks.repository.ArchivedTaskRepository;
 import com.imatia.taskmanagerAC.tasks.repository.TaskRepository;
 import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.sharding.PageMerger;
+import com.imatia.taskmanagerAC.tasks.sharding.SnowflakeIdGenerator;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
 import com.imatia.taskmanagerAC.tasks.specification.TaskSpecification;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import com.imatia.taskmanagerAC.tasks.tag.TaskTagIndex;
+import com.imatia.taskmanagerAC.tasks.tag.TaskTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing tasks. Implements business logic for creating, updating,
  * deleting, and querying tasks, utilizing the repository and mapper layers.
+ *
+ * <p>Concurrent identical reads are coalesced: while a {@code findById} or {@code findAll} call is in flight,
+ * identical calls wait for its result instead of querying the database again. Reads are therefore run in
+ * their own read-only transaction, started behind the coalescing. Callers that are already in a transaction,
+ * or pinned to the primary for read-your-writes consistency, always run their own query.</p>
+ *
+ * <p>When the outbox is enabled, every change records a task event in the transaction of the change itself. Every change is also
+ * published as a {@link TaskChangedEvent} to in-process listeners.</p>
  */
 @Service
 public class TaskService implements ITaskService {
 
+    /**
+     * Order produced by {@link TaskSpecification#orderByCompletedAndDate()}: newest first, undated tasks last.
+     */
+    private static final Comparator<AbstractTaskEntity> CREATION_DATE_DESC = Comparator.comparing(
+            AbstractTaskEntity::getCreationDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+
+    private static final Comparator<TaskDto> DTO_CREATION_DATE_DESC = Comparator.comparing(
+            TaskDto::getCreationDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskArchive taskArchive;
     private final TaskMapper taskMapper;
+    private final TaskShardRouter shardRouter;
+    private final SnowflakeIdGenerator idGenerator;
+    private final TaskGroupCommitter groupCommitter;
+    private final QueryCostGuard queryCostGuard;
+    private final TaskOutbox taskOutbox;
+    private final TaskTagIndex tagIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final SingleFlight<Long, Optional<TaskDto>> findByIdFlight;
+    private final SingleFlight<List<Object>, Page<TaskDto>> findAllFlight;
 
     /**
      * Constructor for TaskService.
      *
-     * @param taskRepository the repository used for task persistence operations.
-     * @param taskMapper     the mapper used for converting between TaskEntity and TaskDto.
+     * @param taskRepository         the repository used for task persistence operations.
+     * @param archivedTaskRepository the repository used to read and remove archived tasks.
+     * @param taskArchive            the bounds of the archive, used to skip it when a query cannot match it.
+     * @param taskMapper             the mapper used for converting between TaskEntity and TaskDto.
+     * @param shardRouter            the router selecting the shard of each task.
+     * @param idGenerator            the generator of new task IDs.
+     * @param groupCommitter         the group committer of new tasks, if group commit is enabled.
+     * @param queryCostGuard         the guard capping the page size and rejecting expensive list queries.
+     * @param taskOutbox             the outbox recording task events, if the outbox is enabled.
+     * @param tagIndex               the index resolving tag filters, if it is enabled.
+     * @param eventPublisher         the publisher of the {@link TaskChangedEvent}s.
+     * @param transactionManager     the transaction manager used to run coalesced reads and task creations.
+     * @param meterRegistry          the registry receiving the coalescing metrics, if metrics are available.
      */
-    public TaskService(TaskRepository taskRepository, TaskMapper taskMapper) {
+    public TaskService(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                       TaskArchive taskArchive, TaskMapper taskMapper,
+                       TaskShardRouter shardRouter, SnowflakeIdGenerator idGenerator,
+                       ObjectProvider<TaskGroupCommitter> groupCommitter, QueryCostGuard queryCostGuard,
+                       ObjectProvider<TaskOutbox> taskOutbox, ObjectProvider<TaskTagIndex> tagIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager, ObjectProvider<MeterRegistry> meterRegistry) {
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskArchive = taskArchive;
         this.taskMapper = taskMapper;
+        this.shardRouter = shardRouter;
+        this.idGenerator = idGenerator;
+        this.groupCommitter = groupCommitter.getIfAvailable();
+        this.queryCostGuard = queryCostGuard;
+        this.taskOutbox = taskOutbox.getIfAvailable();
+        this.tagIndex = tagIndex.getIfAvailable();
+        this.eventPublisher = eventPublisher;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.findByIdFlight = new SingleFlight<>("findById", task -> task.map(TaskService::copy),
+                meterRegistry.getIfAvailable());
+        this.findAllFlight = new SingleFlight<>("findAll", page -> page.map(TaskService::copy),
+                meterRegistry.getIfAvailable());
     }
 
     /**
      * Retrieves a paginated list of tasks based on the specified filters and sorting.
+     * Archived tasks are included only when the filters may match some of them.
+     * Tag filters are resolved to task IDs by the {@link TaskTagIndex} when it can, and by the database otherwise.
+     * The page size may then be reduced by the {@link QueryCostGuard}, which accounts for how the tags are resolved.
      *
      * @param name      filter tasks by name (case-insensitive substring match).
      * @param completed filter tasks by completion status.
      * @param startDate filter tasks created on or after this date.
      * @param endDate   filter tasks created on or before this date.
-     * @param pageable  pagination and sorting information.
+     * @param tags      filter tasks by tags.
+     * @param requested pagination and sorting information.
      * @return a paginated list of tasks matching the filters.
+     * @throws IllegalArgumentException if the query is estimated too expensive to run.
      */
     @Override
-    public Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        Specification<TaskEntity> spec = Specification.where(TaskSpecification.filterByName(name))
-                .and(TaskSpecification.filterByCompleted(completed))
-                .and(TaskSpecification.filterByDateRange(startDate, endDate)
-                        .and(TaskSpecification.orderByCompletedAndDate()));
+    public Page<TaskDto> findAll(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                                 TagFilter tags, Pageable requested) {
+        long[] taggedIds = tags.isEmpty() || tagIndex == null ? null : tagIndex.resolve(tags).orElse(null);
+        Pageable pageable = queryCostGuard.admit(name, completed, startDate, endDate, tags, taggedIds, requested);
+        if (!canCoalesce()) {
+            return readTransaction.execute(status ->
+                    findAllInternal(name, completed, startDate, endDate, tags, taggedIds, pageable));
+        }
+
+        List<Object> key = Arrays.asList(name == null ? null : name.toLowerCase(), completed, startDate, endDate, tags,
+                pageable.getOffset(), pageable.getPageSize(), pageable.getSort());
+        return findAllFlight.execute(key, () -> readTransaction.execute(status ->
+                findAllInternal(name, completed, startDate, endDate, tags, taggedIds, pageable)));
+    }
+
+    /**
+     * Retrieves a page of tasks, in the current transaction.
+     *
+     * @param taggedIds the IDs the tag filter was resolved to by the tag index, or null if the database applies it.
+     */
+    private Page<TaskDto> findAllInternal(String name, Boolean completed, LocalDateTime startDate, LocalDateTime endDate,
+                                          TagFilter tags, long[] taggedIds, Pageable pageable) {
+        if (taggedIds != null && taggedIds.length == 0) {
+            return Page.empty(pageable);
+        }
+        Specification<TaskEntity> spec = TaskSpecification.<TaskEntity>matching(name, completed, startDate, endDate)
+                .and(TaskSpecification.filterByTags(tags, taggedIds));
 
-        Page<TaskEntity> taskPage = taskRepository.findAll(spec, pageable);
-        return taskPage.map(taskMapper::toDto);
+        if (!taskArchive.mayContain(completed, startDate, endDate)) {
+            Page<TaskEntity> taskPage = shardRouter.scatterGather(
+                    shardPage -> taskRepository.findAll(spec, shardPage), CREATION_DATE_DESC, pageable);
+            return taskPage.map(taskMapper::toDto);
+        }
+
+        Specification<ArchivedTaskEntity> archiveSpec = TaskSpecification.<ArchivedTaskEntity>matching(name, completed, startDate, endDate)
+                .and(TaskSpecification.filterByTags(tags, taggedIds));
+        Pageable head = PageMerger.head(pageable);
+
+        Page<TaskDto> livePage = shardRouter.scatterGather(
+                shardPage -> taskRepository.findAll(spec, shardPage), CREATION_DATE_DESC, head).map(taskMapper::toDto);
+        Page<TaskDto> archivedPage = shardRouter.scatterGather(
+                shardPage -> archivedTaskRepository.findAll(archiveSpec, shardPage), CREATION_DATE_DESC, head).map(taskMapper::toDto);
+        return PageMerger.merge(List.of(livePage, archivedPage), DTO_CREATION_DATE_DESC, pageable);
     }
 
     /**
-     * Retrieves a task by its ID.
+     * Retrieves a task by its ID, looking into the archive when it is not a live task.
      *
      * @param id the ID of the task.
      * @return an Optional containing the task if found, or empty if not found.
      */
     @Override
     public Optional<TaskDto> findById(Long id) {
-        Optional<TaskEntity> task = taskRepository.findById(id);
+        if (!canCoalesce()) {
+            return readTransaction.execute(status -> findByIdInternal(id));
+        }
+        return findByIdFlight.execute(id, () -> readTransaction.execute(status -> findByIdInternal(id)));
+    }
+
+    /**
+     * Retrieves a task by its ID, in the current transaction.
+     */
+    private Optional<TaskDto> findByIdInternal(Long id) {
+        Optional<TaskEntity> task = shardRouter.onShardOf(id, () -> taskRepository.findById(id));
+        if (task.isEmpty() && !taskArchive.isEmpty()) {
+            Optional<ArchivedTaskEntity> archivedTask = shardRouter.onShardOf(id, () -> archivedTaskRepository.findById(id));
+            return Optional.ofNullable(taskMapper.toDto(archivedTask.orElse(null)));
+        }
         return Optional.ofNullable(taskMapper.toDto(task.orElse(null)));
     }
 
+    /**
+     * Retrieves several tasks by ID, with one IN query per shard, looking into the archive for the IDs
+     * that are not live tasks. Each shard is read in its own read-only transaction.
+     *
+     * @param ids the IDs of the tasks; duplicates and nulls are ignored.
+     * @return the tasks found, in the order of their first ID in {@code ids}.
+     */
+    @Override
+    public List<TaskDto> findAllById(Collection<Long> ids) {
+        Set<Long> uniqueIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : uniqueIds) {
+            idsByShard.computeIfAbsent(shardRouter.shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        Map<Long, TaskDto> found = new HashMap<>();
+        for (List<Long> shardIds : idsByShard.values()) {
+            shardRouter.onShardOf(shardIds.get(0), () -> readTransaction.execute(status -> {
+                taskRepository.findAllById(shardIds).forEach(task -> found.put(task.getId(), taskMapper.toDto(task)));
+                List<Long> missing = shardIds.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+                if (!missing.isEmpty() && !taskArchive.isEmpty()) {
+                    archivedTaskRepository.findAllById(missing).forEach(task -> found.put(task.getId(), taskMapper.toDto(task)));
+                }
+                return null;
+            }));
+        }
+
+        return uniqueIds.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     /**
      * Creates a new task.
-     * Ensures default values for creation date and completion status if not provided.
+     * Assigns a new ID, which determines the shard the task is stored on,
+     * and ensures default values for creation date and completion status if not provided.
+     * A subtask is stored on the shard of its parent, so that a whole hierarchy lives on one shard; its parent
+     * is read, and locked when it is live, in the transaction creating it, so that it cannot be moved or deleted
+     * before the subtask is saved. When group commit is enabled and no transaction is active, a top-level task
+     * is committed together with concurrently created tasks.
      *
      * @param task the task to create.
      * @return the created task as a TaskDto.
+     * @throws IllegalArgumentException if the parent task does not exist, the hierarchy is too deep or a tag is invalid.
      */
     @Override
     public TaskDto createTask(TaskDto task) {
         TaskEntity taskEntity = taskMapper.toEntity(task);
+        if (task.getTags() != null) {
+            taskEntity.setTags(TaskTags.normalize(task.getTags()));
+        }
+        Long parentId = task.getParentId();
+        if (parentId == null) {
+            taskEntity.setId(idGenerator.nextId());
+            taskEntity.setPath(TaskPaths.root(taskEntity.getId()));
+        } else {
+            taskEntity.setId(nextIdOnShardOf(parentId));
+        }
+        taskEntity.markNew();
 
         if (taskEntity.getCreationDate() == null) {
             taskEntity.setCreationDate(LocalDateTime.now());
@@ -87,11 +286,26 @@ public class TaskService implements ITaskService {
             taskEntity.setCompleted(false);
         }
 
-        return taskMapper.toDto(taskRepository.save(taskEntity));
+        TaskDto createdTask;
+        if (parentId == null && groupCommitter != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            createdTask = taskMapper.toDto(groupCommitter.save(taskEntity));
+        } else {
+            createdTask = shardRouter.onShardOf(taskEntity.getId(), () -> writeTransaction.execute(status -> {
+                if (parentId != null) {
+                    taskEntity.setPath(TaskPaths.child(lockParentPath(parentId), taskEntity.getId()));
+                }
+                TaskDto savedTask = taskMapper.toDto(save(taskEntity));
+                recordSaved(TaskEvent.Type.CREATED, savedTask);
+                return savedTask;
+            }));
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(createdTask.getId(), null, createdTask));
+        return createdTask;
     }
 
     /**
      * Updates an existing task with the provided data. Overwrites all fields.
+     * Updating an archived task moves it back to the live tasks.
      *
      * @param id   the ID of the task to update.
      * @param task the updated task data.
@@ -100,12 +314,12 @@ public class TaskService implements ITaskService {
     @Override
     @Transactional
     public TaskDto updateTask(Long id, TaskDto task) {
-        return updateTaskInternal(id, task, false);
+        return shardRouter.onShardOf(id, () -> updateTaskInternal(id, task, false));
     }
 
     /**
      * Partially updates an existing task with the provided data.
-     * Only non-null fields are updated.
+     * Only non-null fields are updated. Updating an archived task moves it back to the live tasks.
      *
      * @param id   the ID of the task to update.
      * @param task the task data with fields to update.
@@ -114,24 +328,42 @@ public class TaskService implements ITaskService {
     @Override
     @Transactional
     public TaskDto partialUpdateTask(Long id, TaskDto task) {
-        return updateTaskInternal(id, task, true);
+        return shardRouter.onShardOf(id, () -> updateTaskInternal(id, task, true));
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a task by its ID, whether it is live or archived. A task with subtasks is not deleted: its subtasks
+     * must be deleted or moved first. A live task is locked before its subtasks are counted, so that no subtask
+     * can be created under it meanwhile.
      *
      * @param id the ID of the task to delete.
      * @return true if the task was deleted, false if it was not found.
+     * @throws IllegalArgumentException if the task has subtasks.
      */
     @Override
     @Transactional
     public boolean deleteById(Long id) {
-        Optional<TaskDto> existingTask = findById(id);
-        if (existingTask.isPresent()) {
-            taskRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return shardRouter.onShardOf(id, () -> {
+            Optional<TaskEntity> existingTask = taskRepository.findByIdForUpdate(id);
+            if (taskRepository.existsByParentId(id) || (!taskArchive.isEmpty() && archivedTaskRepository.existsByParentId(id))) {
+                throw new IllegalArgumentException("Task " + id + " has subtasks; delete or move them first");
+            }
+            boolean deleted;
+            if (existingTask.isPresent()) {
+                taskRepository.delete(existingTask.get());
+                deleted = true;
+            } else {
+                deleted = removeFromArchive(id);
+            }
+            if (deleted && taskOutbox != null) {
+                taskRepository.flush();
+                taskOutbox.recordDeleted(id);
+            }
+            if (deleted) {
+                eventPublisher.publishEvent(new TaskChangedEvent(id, null, null));
+            }
+            return deleted;
+        });
     }
 
     /**
@@ -144,71 +376,107 @@ public class TaskService implements ITaskService {
      * @return the updated task as a TaskDto, or null if the task does not exist.
      */
     private TaskDto updateTaskInternal(Long id, TaskDto task, boolean isPartial) {
-        Optional<TaskDto> existingTaskOpt = findById(id);
+        Optional<TaskDto> existingTaskOpt = findByIdInternal(id);
         if (existingTaskOpt.isEmpty()) {
             return null;
         }
 
         TaskDto existingTask = existingTaskOpt.get();
+        TaskDto previousTask = copy(existingTask);
 
-        if (!isPartial) {
-            copyTaskFields(existingTask, task);
-        } else {
-            partialUpdateFields(existingTask, task);
-        }
-
-        if (task.getCompleted() != null) {
-            existingTask.setCompleted(task.getCompleted());
-            existingTask.setEndingDate(isComplete(task.getCompleted()));
-        }
+        TaskUpdates.apply(existingTask, task, isPartial);
 
+        // The archived task goes first: deleting it deletes the tags it shares with the live task.
+        removeFromArchive(id);
         TaskEntity taskEntity = taskMapper.toEntity(existingTask);
+        TaskDto updatedTask = taskMapper.toDto(save(taskEntity));
+        recordSaved(TaskEvent.Type.UPDATED, updatedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(id, previousTask, updatedTask));
 
-        return taskMapper.toDto(taskRepository.save(taskEntity));
+        return updatedTask;
     }
 
     /**
-     * Copies all fields from the given task into the existing task.
+     * Reads the path of the parent of a new task, in the current transaction. A live parent is locked until the
+     * transaction ends, as a move or a deletion of the parent would otherwise leave the new task with a stale path
+     * or no parent.
      *
-     * @param existingTask the existing task to update.
-     * @param task         the task containing updated data.
+     * @param parentId the ID of the parent task.
+     * @return the path of the parent.
+     * @throws IllegalArgumentException if the parent task does not exist.
      */
-    private void copyTaskFields(TaskDto existingTask, TaskDto task) {
-        existingTask.setName(task.getName());
-        existingTask.setText(task.getText());
-        existingTask.setCreationDate(task.getCreationDate());
-        existingTask.setEndingDate(task.getEndingDate());
-        existingTask.setCompleted(task.getCompleted());
+    private String lockParentPath(Long parentId) {
+        Optional<? extends AbstractTaskEntity> parent = taskRepository.findByIdForUpdate(parentId);
+        if (parent.isEmpty() && !taskArchive.isEmpty()) {
+            parent = archivedTaskRepository.findById(parentId);
+        }
+        return parent.map(entity -> TaskPaths.of(parentId, entity.getPath())).orElseThrow(() ->
+                new IllegalArgumentException("Parent task " + parentId + " does not exist"));
     }
 
     /**
-     * Partially updates fields of an existing task with non-null fields from the given task.
-     *
-     * @param existingTask the existing task to update.
-     * @param task         the task containing fields to update.
+     * Generates an ID owned by the same shard as the given task ID.
+     * IDs hash uniformly over the shards, so this takes as many attempts as there are shards on average.
      */
-    private void partialUpdateFields(TaskDto existingTask, TaskDto task) {
-        if (task.getName() != null) {
-            existingTask.setName(task.getName());
-        }
-        if (task.getText() != null) {
-            existingTask.setText(task.getText());
+    private long nextIdOnShardOf(long id) {
+        int shard = shardRouter.shardOf(id);
+        long nextId = idGenerator.nextId();
+        while (shardRouter.shardOf(nextId) != shard) {
+            nextId = idGenerator.nextId();
         }
-        if (task.getCreationDate() != null) {
-            existingTask.setCreationDate(task.getCreationDate());
-        }
-        if (task.getEndingDate() != null) {
-            existingTask.setEndingDate(task.getEndingDate());
+        return nextId;
+    }
+
+    /**
+     * Saves a task, flushing it right away when its event is recorded in the outbox,
+     * so that the row is locked before the event is numbered.
+     */
+    private TaskEntity save(TaskEntity task) {
+        return taskOutbox != null ? taskRepository.saveAndFlush(task) : taskRepository.save(task);
+    }
+
+    /**
+     * Records the creation or update of a task in the outbox, if the outbox is enabled.
+     */
+    private void recordSaved(TaskEvent.Type type, TaskDto task) {
+        if (taskOutbox != null) {
+            taskOutbox.recordSaved(type, task);
         }
     }
 
     /**
-     * Sets the ending date of a task based on its completion status.
+     * Indicates whether the current read may share the result of an identical read in flight.
+     * Reads inside a transaction must see its writes, and pinned reads must see the primary.
+     */
+    private static boolean canCoalesce() {
+        return !TransactionSynchronizationManager.isActualTransactionActive() && !ReadYourWritesContext.isPinnedToPrimary();
+    }
+
+    /**
+     * Copies a task, so that callers sharing a coalesced result cannot modify each other's instance.
+     */
+    private static TaskDto copy(TaskDto task) {
+        TaskDto copy = new TaskDto(task.getId(), task.getName(), task.getText(),
+                task.getCreationDate(), task.getEndingDate(), task.getCompleted());
+        copy.setDueDate(task.getDueDate());
+        copy.setParentId(task.getParentId());
+        copy.setPath(task.getPath());
+        copy.setTags(task.getTags() == null ? null : new TreeSet<>(task.getTags()));
+        return copy;
+    }
+
+    /**
+     * Removes a task from the archive, if it is archived.
      *
-     * @param completed the completion status of the task.
-     * @return the current date and time if completed is true, or null if false.
+     * @param id the ID of the task.
+     * @return true if an archived task was removed, false otherwise.
      */
-    private LocalDateTime isComplete(boolean completed) {
-        return completed ? LocalDateTime.now() : null;
+    private boolean removeFromArchive(Long id) {
+        if (taskArchive.isEmpty()) {
+            return false;
+        }
+        Optional<ArchivedTaskEntity> archivedTask = archivedTaskRepository.findById(id);
+        archivedTask.ifPresent(archivedTaskRepository::delete);
+        return archivedTask.isPresent();
     }
 }
@@ -0,0 +1,93 @@
+package com.imatia.taskmanagerAC.tasks.service;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.tag.TaskTags;
+
+import java.time.LocalDateTime;
+
+/**
+ * Utility class holding the rules for applying full and partial updates to a task,
+ * shared by every {@link ITaskService} implementation.
+ */
+public final class TaskUpdates {
+
+    private TaskUpdates() {
+    }
+
+    /**
+     * Applies an update to an existing task.
+     * A full update overwrites every field, while a partial update only copies non-null fields.
+     * When the update sets the completion status, the ending date is set accordingly.
+     * Tags are normalized, see {@link TaskTags}.
+     *
+     * @param existingTask the existing task to update.
+     * @param task         the updated task data.
+     * @param isPartial    flag indicating whether the update is partial or full.
+     * @throws IllegalArgumentException if a tag is invalid.
+     */
+    public static void apply(TaskDto existingTask, TaskDto task, boolean isPartial) {
+        if (!isPartial) {
+            copyTaskFields(existingTask, task);
+        } else {
+            partialUpdateFields(existingTask, task);
+        }
+
+        if (task.getCompleted() != null) {
+            existingTask.setCompleted(task.getCompleted());
+            existingTask.setEndingDate(isComplete(task.getCompleted()));
+        }
+    }
+
+    /**
+     * Copies all fields from the given task into the existing task.
+     *
+     * @param existingTask the existing task to update.
+     * @param task         the task containing updated data.
+     */
+    private static void copyTaskFields(TaskDto existingTask, TaskDto task) {
+        existingTask.setName(task.getName());
+        existingTask.setText(task.getText());
+        existingTask.setCreationDate(task.getCreationDate());
+        existingTask.setEndingDate(task.getEndingDate());
+        existingTask.setCompleted(task.getCompleted());
+        existingTask.setDueDate(task.getDueDate());
+        existingTask.setTags(TaskTags.normalize(task.getTags()));
+    }
+
+    /**
+     * Partially updates fields of an existing task with non-null fields from the given task.
+     *
+     * @param existingTask the existing task to update.
+     * @param task         the task containing fields to update.
+     */
+    private static void partialUpdateFields(TaskDto existingTask, TaskDto task) {
+        if (task.getName() != null) {
+            existingTask.setName(task.getName());
+        }
+        if (task.getText() != null) {
+            existingTask.setText(task.getText());
+        }
+        if (task.getCreationDate() != null) {
+            existingTask.setCreationDate(task.getCreationDate());
+        }
+        if (task.getEndingDate() != null) {
+            existingTask.setEndingDate(task.getEndingDate());
+        }
+        if (task.getDueDate() != null) {
+            existingTask.setDueDate(task.getDueDate());
+        }
+        if (task.getTags() != null) {
+            existingTask.setTags(TaskTags.normalize(task.getTags()));
+        }
+    }
+
+    /**
+     * Sets the ending date of a task based on its completion status.
+     *
+     * @param completed the completion status of the task.
+     * @return the current date and time if completed is true, or null if false.
+     */
+    private static LocalDateTime isComplete(boolean completed) {
+        return completed ? LocalDateTime.now() : null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.imatia.taskmanagerAC.tasks.sharding;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Utility class merging pages fetched from several sources into a single page.
+ *
+ * <p>Each source page must be sorted with the same comparator and contain the first
+ * {@code offset + pageSize} elements of its source. The merge is a k-way merge over a priority queue,
+ * so it only walks the elements needed to fill the requested page.</p>
+ */
+public final class PageMerger {
+
+    private PageMerger() {
+    }
+
+    /**
+     * Returns the page request each source must answer for the requested page to be merged from them:
+     * the first {@code offset + pageSize} elements, in the same sort order.
+     *
+     * @param pageable the requested page.
+     * @return the first page covering the requested one, or the unpaged request unchanged.
+     */
+    public static Pageable head(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        long size = pageable.getOffset() + pageable.getPageSize();
+        return PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, size), pageable.getSort());
+    }
+
+    /**
+     * Merges the given sorted pages and extracts the requested page.
+     *
+     * @param sources  the sorted pages to merge, one per source.
+     * @param order    the order shared by every source page.
+     * @param pageable the page to extract from the merged sequence.
+     * @param <T>      the element type.
+     * @return the requested page, whose total is the sum of the source totals.
+     */
+    public static <T> Page<T> merge(List<Page<T>> sources, Comparator<? super T> order, Pageable pageable) {
+        long total = 0;
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.value, b.value));
+        for (Page<T> source : sources) {
+            total += source.getTotalElements();
+            Iterator<T> iterator = source.getContent().iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<T> content = new ArrayList<>(Math.min(limit, 1024));
+
+        while (!heads.isEmpty() && content.size() < limit) {
+            Head<T> head = heads.poll();
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(head.value);
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Current element of a source together with the rest of that source.
+     */
+    private static final class Head<T> {
+        private final T value;
+        private final Iterator<T> rest;
+
+        private Head(T value, Iterator<T> rest) {
+            this.value = value;
+            this.rest = rest;
+        }
+    }
+}
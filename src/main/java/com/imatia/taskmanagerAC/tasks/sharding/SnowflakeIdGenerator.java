@@ -0,0 +1,85 @@
+package com.imatia.taskmanagerAC.tasks.sharding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake-style generator of task IDs, unique across shards and application instances.
+ *
+ * <p>Each ID packs a millisecond timestamp, the worker ID of the instance and a per-millisecond sequence.
+ * The layout fits in 53 bits so that IDs remain exact when handled as JavaScript numbers:</p>
+ * <ul>
+ *     <li>41 bits: milliseconds since {@link #EPOCH_MILLIS} (about 69 years)</li>
+ *     <li>6 bits: worker ID (64 instances)</li>
+ *     <li>6 bits: sequence (64 IDs per millisecond and instance)</li>
+ * </ul>
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    /**
+     * Custom epoch of the generator: 2023-01-01T00:00:00Z.
+     */
+    static final long EPOCH_MILLIS = 1672531200000L;
+
+    static final int WORKER_BITS = 6;
+    static final int SEQUENCE_BITS = 6;
+
+    private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    /**
+     * Constructs a new SnowflakeIdGenerator.
+     *
+     * @param workerId the ID of this application instance, between 0 and 63.
+     */
+    public SnowflakeIdGenerator(@Value("${taskmanager.id.worker-id:0}") long workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker ID must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * Generates the next ID. IDs generated by one instance are strictly increasing.
+     *
+     * @return a new unique ID.
+     */
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH_MILLIS) << (WORKER_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /**
+     * Spins until the clock moves past the given timestamp.
+     *
+     * @param lastTimestamp the timestamp whose sequence is exhausted.
+     * @return the first timestamp greater than {@code lastTimestamp}.
+     */
+    private long waitNextMillis(long lastTimestamp) {
+        long timestamp = System.currentTimeMillis();
+        while (timestamp <= lastTimestamp) {
+            Thread.onSpinWait();
+            timestamp = System.currentTimeMillis();
+        }
+        return timestamp;
+    }
+}
@@ -0,0 +1,158 @@
+package com.imatia.taskmanagerAC.tasks.sharding;
+
+import com.imatia.taskmanagerAC.config.datasource.ShardContext;
+import com.imatia.taskmanagerAC.config.datasource.ShardingProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Routes task persistence operations to the shard owning each task.
+ *
+ * <p>Tasks are assigned to shards by a hash of their ID. Operations on a single task run on its shard,
+ * while queries spanning every task are scattered to all shards and their results merged. With a single
+ * shard, which is the case when sharding is disabled, every operation runs unchanged.</p>
+ *
+ * <p>A transaction is bound to one shard: once it has touched a shard, it must not be routed elsewhere.</p>
+ */
+@Component
+public class TaskShardRouter {
+
+    private final int shardCount;
+    private final TransactionTemplate shardReadTransaction;
+
+    /**
+     * Constructor for TaskShardRouter.
+     *
+     * @param shardingProperties the sharding configuration.
+     * @param transactionManager the transaction manager used to open one read transaction per shard.
+     */
+    public TaskShardRouter(ShardingProperties shardingProperties, PlatformTransactionManager transactionManager) {
+        this.shardCount = shardingProperties.getShardCount();
+        this.shardReadTransaction = new TransactionTemplate(transactionManager);
+        this.shardReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardReadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count, 1 when sharding is disabled.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Computes the shard owning the given task ID.
+     *
+     * @param id the task ID.
+     * @return the shard index, between 0 and {@code getShardCount() - 1}.
+     */
+    public int shardOf(long id) {
+        return Math.floorMod(mix(id), shardCount);
+    }
+
+    /**
+     * Runs an operation on the shard owning the given task ID.
+     *
+     * @param id     the task ID.
+     * @param action the operation to run.
+     * @param <T>    the result type.
+     * @return the result of the operation.
+     * @throws IllegalStateException if the current thread is already routed to a different shard.
+     */
+    public <T> T onShardOf(Long id, Supplier<T> action) {
+        if (shardCount == 1 || id == null) {
+            return action.get();
+        }
+        return onShard(shardOf(id), action);
+    }
+
+    /**
+     * Runs a paginated query on every shard and merges the results into the requested page.
+     *
+     * <p>Each shard is queried in its own read-only transaction for the first {@code offset + size} rows,
+     * so the cost of deep pages grows with the offset.</p>
+     *
+     * @param query    the query to run on each shard, for a given page request.
+     * @param order    the order in which the query returns its rows.
+     * @param pageable the requested page.
+     * @param <T>      the row type.
+     * @return the requested page of the merged results.
+     */
+    public <T> Page<T> scatterGather(Function<Pageable, Page<T>> query, Comparator<? super T> order, Pageable pageable) {
+        if (shardCount == 1) {
+            return query.apply(pageable);
+        }
+
+        Pageable shardPage = PageMerger.head(pageable);
+
+        List<Page<T>> pages = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            pages.add(onShard(shard, () -> shardReadTransaction.execute(status -> query.apply(shardPage))));
+        }
+        return PageMerger.merge(pages, order, pageable);
+    }
+
+    /**
+     * Runs an operation once on every shard, sequentially.
+     *
+     * @param action the operation to run; it must open its own transaction if it needs one.
+     */
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            onShard(shard, () -> {
+                action.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs an operation with the current thread routed to the given shard.
+     *
+     * @param shard  the shard index.
+     * @param action the operation to run.
+     * @param <T>    the result type.
+     * @return the result of the operation.
+     */
+    private <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.current();
+        if (previous != null && previous != shard) {
+            throw new IllegalStateException("Cannot route to shard " + shard + " while routed to shard " + previous);
+        }
+
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Spreads the bits of an ID so that consecutive IDs land on different shards (MurmurHash3 finalizer).
+     *
+     * @param id the ID to hash.
+     * @return the hashed value.
+     */
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,50 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the task snapshot, bound to {@code taskmanager.snapshot.*}.
+ */
+@ConfigurationProperties("taskmanager.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private String path = "data/tasks.snapshot";
+
+    private boolean restoreDatabase = true;
+
+    private int restoreBatchSize = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public boolean isRestoreDatabase() {
+        return restoreDatabase;
+    }
+
+    public void setRestoreDatabase(boolean restoreDatabase) {
+        this.restoreDatabase = restoreDatabase;
+    }
+
+    public int getRestoreBatchSize() {
+        return restoreBatchSize;
+    }
+
+    public void setRestoreBatchSize(int restoreBatchSize) {
+        this.restoreBatchSize = restoreBatchSize;
+    }
+}
@@ -0,0 +1,287 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import com.imatia.taskmanagerAC.tasks.columnar.ColumnarTaskStore;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of a task snapshot file, memory-mapped so that rows are read straight from the page cache.
+ *
+ * <p>The file is laid out column by column, little-endian:</p>
+ * <pre>
+ * header      magic, version, row count, reserved, creation time, string heap length (32 bytes)
+ * ID          long[count]
+ * CREATION    long[count], epoch milliseconds or {@link #NO_DATE}
+ * ENDING      long[count], epoch milliseconds or {@link #NO_DATE}
+ * DUE         long[count], epoch milliseconds or {@link #NO_DATE}
+ * PARENT      long[count], parent task ID or {@link #NO_PARENT}
+ * COMPLETED   bitmap, set when the task is completed
+ * KNOWN       bitmap, set when the completion status is not null
+ * ARCHIVED    bitmap, set when the task lives in TASK_ARCHIVE
+ * NAME        int[count], offsets into the string heap
+ * TEXT        int[count], offsets into the string heap
+ * PATH        int[count], offsets into the string heap
+ * heap        [int length][UTF-8 bytes] entries, length -1 for null
+ * </pre>
+ *
+ * <p>Numeric columns are read in place and never copied; only the strings of the rows actually read are decoded.
+ * Instances are immutable and can be shared between threads. The mapping is released when the instance is
+ * garbage collected.</p>
+ */
+public final class TaskSnapshot {
+
+    static final int MAGIC = 0x54534B53;
+    static final int VERSION = 3;
+    static final int HEADER_BYTES = 32;
+
+    /**
+     * Epoch-millisecond value standing for a null date, the same as in {@link ColumnarTaskStore}.
+     */
+    public static final long NO_DATE = ColumnarTaskStore.NO_DATE;
+
+    /**
+     * Parent ID standing for a root task.
+     */
+    public static final long NO_PARENT = Long.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final Instant createdAt;
+    private final int creationDates;
+    private final int endingDates;
+    private final int dueDates;
+    private final int parentIds;
+    private final int completed;
+    private final int completedKnown;
+    private final int archived;
+    private final int nameOffsets;
+    private final int textOffsets;
+    private final int pathOffsets;
+    private final int heap;
+
+    private TaskSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a task snapshot file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported task snapshot version " + buffer.getInt(4));
+        }
+
+        this.count = buffer.getInt(8);
+        this.createdAt = Instant.ofEpochMilli(buffer.getLong(16));
+        long heapLength = buffer.getLong(24);
+        int bitmapBytes = bitmapBytes(count);
+
+        this.creationDates = HEADER_BYTES + 8 * count;
+        this.endingDates = creationDates + 8 * count;
+        this.dueDates = endingDates + 8 * count;
+        this.parentIds = dueDates + 8 * count;
+        this.completed = parentIds + 8 * count;
+        this.completedKnown = completed + bitmapBytes;
+        this.archived = completedKnown + bitmapBytes;
+        this.nameOffsets = archived + bitmapBytes;
+        this.textOffsets = nameOffsets + 4 * count;
+        this.pathOffsets = textOffsets + 4 * count;
+        this.heap = pathOffsets + 4 * count;
+        if (count < 0 || heap + heapLength != buffer.capacity()) {
+            throw new IOException("Truncated task snapshot file");
+        }
+    }
+
+    /**
+     * Maps a snapshot file into memory.
+     *
+     * @param path the snapshot file.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be mapped or is not a valid snapshot.
+     */
+    public static TaskSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TaskSnapshot(mapped);
+        }
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     *
+     * @return the row count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns when the snapshot was written.
+     *
+     * @return the creation time of the snapshot.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the ID of a row.
+     *
+     * @param row the row index, between 0 and {@code size() - 1}.
+     * @return the task ID.
+     */
+    public long id(int row) {
+        return buffer.getLong(HEADER_BYTES + 8 * row);
+    }
+
+    /**
+     * Returns the creation date of a row.
+     *
+     * @param row the row index.
+     * @return the creation date in epoch milliseconds, or {@link #NO_DATE}.
+     */
+    public long creationDate(int row) {
+        return buffer.getLong(creationDates + 8 * row);
+    }
+
+    /**
+     * Returns the ending date of a row.
+     *
+     * @param row the row index.
+     * @return the ending date in epoch milliseconds, or {@link #NO_DATE}.
+     */
+    public long endingDate(int row) {
+        return buffer.getLong(endingDates + 8 * row);
+    }
+
+    /**
+     * Returns the due date of a row.
+     *
+     * @param row the row index.
+     * @return the due date in epoch milliseconds, or {@link #NO_DATE}.
+     */
+    public long dueDate(int row) {
+        return buffer.getLong(dueDates + 8 * row);
+    }
+
+    /**
+     * Returns the parent ID of a row.
+     *
+     * @param row the row index.
+     * @return the parent task ID, or {@link #NO_PARENT} for a root task.
+     */
+    public long parentId(int row) {
+        return buffer.getLong(parentIds + 8 * row);
+    }
+
+    /**
+     * Returns the completion status of a row.
+     *
+     * @param row the row index.
+     * @return the completion status, or null if unknown.
+     */
+    public Boolean completed(int row) {
+        return bit(completedKnown, row) ? bit(completed, row) : null;
+    }
+
+    /**
+     * Indicates whether a row was read from the TASK_ARCHIVE table.
+     *
+     * @param row the row index.
+     * @return true if the task is archived.
+     */
+    public boolean isArchived(int row) {
+        return bit(archived, row);
+    }
+
+    /**
+     * Returns the name of a row, decoded from the string heap.
+     *
+     * @param row the row index.
+     * @return the task name, possibly null.
+     */
+    public String name(int row) {
+        return string(buffer.getInt(nameOffsets + 4 * row));
+    }
+
+    /**
+     * Returns the text of a row, decoded from the string heap.
+     *
+     * @param row the row index.
+     * @return the task text, possibly null.
+     */
+    public String text(int row) {
+        return string(buffer.getInt(textOffsets + 4 * row));
+    }
+
+    /**
+     * Returns the hierarchy path of a row, decoded from the string heap.
+     *
+     * @param row the row index.
+     * @return the task path, possibly null.
+     */
+    public String path(int row) {
+        return string(buffer.getInt(pathOffsets + 4 * row));
+    }
+
+    /**
+     * Materializes a row as a DTO.
+     *
+     * @param row the row index.
+     * @return the task.
+     */
+    public TaskDto toDto(int row) {
+        TaskDto task = new TaskDto(id(row), name(row), text(row),
+                ColumnarTaskStore.fromEpochMillis(creationDate(row)),
+                ColumnarTaskStore.fromEpochMillis(endingDate(row)),
+                completed(row));
+        task.setDueDate(ColumnarTaskStore.fromEpochMillis(dueDate(row)));
+        long parentId = parentId(row);
+        task.setParentId(parentId == NO_PARENT ? null : parentId);
+        task.setPath(path(row));
+        return task;
+    }
+
+    /**
+     * Materializes every row as a DTO, in file order.
+     *
+     * @param consumer receives each task.
+     */
+    public void forEach(Consumer<TaskDto> consumer) {
+        for (int row = 0; row < count; row++) {
+            consumer.accept(toDto(row));
+        }
+    }
+
+    /**
+     * Returns the size of each bitmap column, rounded up to whole longs so that the following columns stay aligned.
+     *
+     * @param count the row count.
+     * @return the bitmap size in bytes.
+     */
+    static int bitmapBytes(int count) {
+        return ((count + 63) >>> 6) << 3;
+    }
+
+    private boolean bit(int column, int row) {
+        return (buffer.get(column + (row >>> 3)) & (1 << (row & 7))) != 0;
+    }
+
+    private String string(int offset) {
+        int position = heap + offset;
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.position(position + 4).limit(position + 4 + length);
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+}
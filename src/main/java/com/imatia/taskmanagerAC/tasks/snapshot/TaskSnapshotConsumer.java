@@ -0,0 +1,18 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+/**
+ * Cache or index layer that warms itself from the task snapshot at startup.
+ *
+ * <p>Beans implementing this interface receive the mapped snapshot once, after the database has been restored
+ * from it and before the application starts serving requests.</p>
+ */
+public interface TaskSnapshotConsumer {
+
+    /**
+     * Warms the consumer from the snapshot. Rows should be read through the accessors of {@link TaskSnapshot}
+     * rather than materialized, so that only the needed columns are touched.
+     *
+     * @param snapshot the mapped snapshot.
+     */
+    void warmFrom(TaskSnapshot snapshot);
+}
@@ -0,0 +1,202 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import com.imatia.taskmanagerAC.config.datasource.ShardContext;
+import com.imatia.taskmanagerAC.tasks.columnar.ColumnarTaskStore;
+import com.imatia.taskmanagerAC.tasks.hierarchy.TaskPaths;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the TASK and TASK_ARCHIVE tables to a {@link TaskSnapshot} file periodically and on shutdown, and
+ * restores them from it at startup.
+ *
+ * <p>The restore runs while the context is refreshing, so the application only starts serving requests once
+ * the database and every {@link TaskSnapshotConsumer} are warm. Rows are merged by ID, which makes the restore
+ * suitable for in-memory databases seeded by {@code data.sql}; for a persistent database, disable it with
+ * {@code taskmanager.snapshot.restore-database=false} and keep the snapshot for the consumers only.</p>
+ */
+@Component
+@DependsOnDatabaseInitialization
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(name = "taskmanager.snapshot.enabled", havingValue = "true")
+public class TaskSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSnapshotService.class);
+
+    private static final String COLUMNS = "ID, NAME, TEXT, CREATION_DATE, ENDING_DATE, COMPLETED, DUE_DATE, PARENT_ID, PATH";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final TaskShardRouter shardRouter;
+    private final ObjectProvider<TaskSnapshotConsumer> consumers;
+    private final SnapshotProperties properties;
+
+    /**
+     * Constructor for TaskSnapshotService.
+     *
+     * @param jdbcTemplate       the template used to read and restore the tables.
+     * @param transactionManager the transaction manager used for consistent reads and batched restores.
+     * @param shardRouter        the router used to read and restore every shard.
+     * @param consumers          the layers to warm from the snapshot at startup.
+     * @param properties         the snapshot configuration.
+     */
+    public TaskSnapshotService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               TaskShardRouter shardRouter, ObjectProvider<TaskSnapshotConsumer> consumers,
+                               SnapshotProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.consumers = consumers;
+        this.properties = properties;
+    }
+
+    /**
+     * Restores the database from the snapshot file, if there is one, then warms every consumer from it.
+     */
+    @PostConstruct
+    public void restore() {
+        Path path = Paths.get(properties.getPath());
+        if (!Files.isRegularFile(path)) {
+            log.info("No task snapshot at {}, starting cold", path);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TaskSnapshot snapshot;
+        try {
+            snapshot = TaskSnapshot.open(path);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable task snapshot at {}", path, ex);
+            return;
+        }
+        long mapped = System.nanoTime();
+
+        if (properties.isRestoreDatabase()) {
+            shardRouter.forEachShard(() -> restoreShard(snapshot));
+        }
+        long restored = System.nanoTime();
+
+        consumers.orderedStream().forEach(consumer -> consumer.warmFrom(snapshot));
+        long warmed = System.nanoTime();
+
+        log.info("Loaded {} tasks from the snapshot of {}: mapped in {} ms, database restored in {} ms, "
+                        + "consumers warmed in {} ms", snapshot.size(), snapshot.getCreatedAt(),
+                (mapped - start) / 1_000_000, (restored - mapped) / 1_000_000, (warmed - restored) / 1_000_000);
+    }
+
+    /**
+     * Writes a new snapshot of every shard.
+     */
+    @Scheduled(initialDelayString = "${taskmanager.snapshot.interval:PT15M}",
+            fixedDelayString = "${taskmanager.snapshot.interval:PT15M}")
+    @PreDestroy
+    public void writeSnapshot() {
+        long start = System.nanoTime();
+        TaskSnapshotWriter writer = new TaskSnapshotWriter();
+        shardRouter.forEachShard(() -> readTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT " + COLUMNS + " FROM TASK", rs -> {
+                addRow(writer, rs, false);
+            });
+            jdbcTemplate.query("SELECT " + COLUMNS + " FROM TASK_ARCHIVE", rs -> {
+                addRow(writer, rs, true);
+            });
+        }));
+        long read = System.nanoTime();
+
+        try {
+            writer.writeTo(Paths.get(properties.getPath()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write the task snapshot to " + properties.getPath(), ex);
+        }
+        log.info("Wrote a snapshot of {} tasks: read in {} ms, written in {} ms", writer.size(),
+                (read - start) / 1_000_000, (System.nanoTime() - read) / 1_000_000);
+    }
+
+    /**
+     * Merges the snapshot rows owned by the current shard into its tables, in batches.
+     */
+    private void restoreShard(TaskSnapshot snapshot) {
+        Integer currentShard = ShardContext.current();
+        int shard = currentShard == null ? 0 : currentShard;
+        List<Object[]> live = new ArrayList<>(properties.getRestoreBatchSize());
+        List<Object[]> archived = new ArrayList<>(properties.getRestoreBatchSize());
+
+        for (int row = 0; row < snapshot.size(); row++) {
+            long id = snapshot.id(row);
+            if (shardRouter.getShardCount() > 1 && shardRouter.shardOf(id) != shard) {
+                continue;
+            }
+            List<Object[]> batch = snapshot.isArchived(row) ? archived : live;
+            batch.add(new Object[]{id, snapshot.name(row), snapshot.text(row),
+                    toTimestamp(snapshot.creationDate(row)), toTimestamp(snapshot.endingDate(row)),
+                    snapshot.completed(row), toTimestamp(snapshot.dueDate(row)),
+                    snapshot.parentId(row) == TaskSnapshot.NO_PARENT ? null : snapshot.parentId(row),
+                    TaskPaths.of(id, snapshot.path(row))});
+            if (batch.size() == properties.getRestoreBatchSize()) {
+                merge(batch == live ? "TASK" : "TASK_ARCHIVE", batch);
+                batch.clear();
+            }
+        }
+        merge("TASK", live);
+        merge("TASK_ARCHIVE", archived);
+    }
+
+    private void merge(String table, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int[] types = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BOOLEAN,
+                Types.TIMESTAMP, Types.BIGINT, Types.VARCHAR};
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "MERGE INTO " + table + " (" + COLUMNS + ") KEY (ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, types));
+    }
+
+    private static void addRow(TaskSnapshotWriter writer, ResultSet rs, boolean archived) throws SQLException {
+        boolean completed = rs.getBoolean(6);
+        Boolean completedOrNull = rs.wasNull() ? null : completed;
+        long parentId = rs.getLong(8);
+        if (rs.wasNull()) {
+            parentId = TaskSnapshot.NO_PARENT;
+        }
+        writer.add(rs.getLong(1), rs.getString(2), rs.getString(3),
+                toEpochMillis(rs.getTimestamp(4)), toEpochMillis(rs.getTimestamp(5)), toEpochMillis(rs.getTimestamp(7)),
+                parentId, rs.getString(9), completedOrNull, archived);
+    }
+
+    private static long toEpochMillis(Timestamp timestamp) {
+        return ColumnarTaskStore.toEpochMillis(timestamp == null ? null : timestamp.toLocalDateTime());
+    }
+
+    private static Timestamp toTimestamp(long epochMillis) {
+        return epochMillis == TaskSnapshot.NO_DATE ? null : Timestamp.valueOf(ColumnarTaskStore.fromEpochMillis(epochMillis));
+    }
+}
@@ -0,0 +1,187 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Accumulates task rows in column buffers and writes them as a {@link TaskSnapshot} file.
+ *
+ * <p>The file is written to a temporary sibling, forced to disk, then atomically moved into place,
+ * so readers only ever see complete snapshots. Not thread-safe.</p>
+ */
+public class TaskSnapshotWriter {
+
+    private long[] ids = new long[1024];
+    private long[] creationDates = new long[1024];
+    private long[] endingDates = new long[1024];
+    private long[] dueDates = new long[1024];
+    private long[] parentIds = new long[1024];
+    private int[] nameOffsets = new int[1024];
+    private int[] textOffsets = new int[1024];
+    private int[] pathOffsets = new int[1024];
+    private final BitSet completed = new BitSet();
+    private final BitSet completedKnown = new BitSet();
+    private final BitSet archived = new BitSet();
+    private final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+    private int count;
+
+    /**
+     * Adds a root task row without a due date to the snapshot.
+     *
+     * @param id           the task ID.
+     * @param name         the task name, possibly null.
+     * @param text         the task text, possibly null.
+     * @param creationDate the creation date in epoch milliseconds, or {@link TaskSnapshot#NO_DATE}.
+     * @param endingDate   the ending date in epoch milliseconds, or {@link TaskSnapshot#NO_DATE}.
+     * @param isCompleted  the completion status, possibly null.
+     * @param isArchived   whether the task is stored in the archive.
+     */
+    public void add(long id, String name, String text, long creationDate, long endingDate,
+                    Boolean isCompleted, boolean isArchived) {
+        add(id, name, text, creationDate, endingDate, TaskSnapshot.NO_DATE, TaskSnapshot.NO_PARENT, null,
+                isCompleted, isArchived);
+    }
+
+    /**
+     * Adds a task row to the snapshot.
+     *
+     * @param id           the task ID.
+     * @param name         the task name, possibly null.
+     * @param text         the task text, possibly null.
+     * @param creationDate the creation date in epoch milliseconds, or {@link TaskSnapshot#NO_DATE}.
+     * @param endingDate   the ending date in epoch milliseconds, or {@link TaskSnapshot#NO_DATE}.
+     * @param dueDate      the due date in epoch milliseconds, or {@link TaskSnapshot#NO_DATE}.
+     * @param parentId     the parent task ID, or {@link TaskSnapshot#NO_PARENT}.
+     * @param path         the hierarchy path of the task, possibly null.
+     * @param isCompleted  the completion status, possibly null.
+     * @param isArchived   whether the task is stored in the archive.
+     */
+    public void add(long id, String name, String text, long creationDate, long endingDate, long dueDate,
+                    long parentId, String path, Boolean isCompleted, boolean isArchived) {
+        if (count == ids.length) {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            creationDates = Arrays.copyOf(creationDates, capacity);
+            endingDates = Arrays.copyOf(endingDates, capacity);
+            dueDates = Arrays.copyOf(dueDates, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity);
+            pathOffsets = Arrays.copyOf(pathOffsets, capacity);
+        }
+
+        ids[count] = id;
+        creationDates[count] = creationDate;
+        endingDates[count] = endingDate;
+        dueDates[count] = dueDate;
+        parentIds[count] = parentId;
+        nameOffsets[count] = appendString(name);
+        textOffsets[count] = appendString(text);
+        pathOffsets[count] = appendString(path);
+        completedKnown.set(count, isCompleted != null);
+        completed.set(count, Boolean.TRUE.equals(isCompleted));
+        archived.set(count, isArchived);
+        count++;
+    }
+
+    /**
+     * Returns the number of rows added so far.
+     *
+     * @return the row count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Writes the snapshot to the given file, replacing it atomically.
+     *
+     * @param path the snapshot file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        int bitmapBytes = TaskSnapshot.bitmapBytes(count);
+        byte[] heap = strings.toByteArray();
+        long size = TaskSnapshot.HEADER_BYTES + 40L * count + 3L * bitmapBytes + 12L * count + heap.length;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + count + " tasks exceeds the 2 GB limit of a mapped file");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(TaskSnapshot.MAGIC)
+                .putInt(TaskSnapshot.VERSION)
+                .putInt(count)
+                .putInt(0)
+                .putLong(System.currentTimeMillis())
+                .putLong(heap.length);
+        buffer.asLongBuffer().put(ids, 0, count);
+        buffer.position(buffer.position() + 8 * count);
+        buffer.asLongBuffer().put(creationDates, 0, count);
+        buffer.position(buffer.position() + 8 * count);
+        buffer.asLongBuffer().put(endingDates, 0, count);
+        buffer.position(buffer.position() + 8 * count);
+        buffer.asLongBuffer().put(dueDates, 0, count);
+        buffer.position(buffer.position() + 8 * count);
+        buffer.asLongBuffer().put(parentIds, 0, count);
+        buffer.position(buffer.position() + 8 * count);
+        putBitmap(buffer, completed, bitmapBytes);
+        putBitmap(buffer, completedKnown, bitmapBytes);
+        putBitmap(buffer, archived, bitmapBytes);
+        buffer.asIntBuffer().put(nameOffsets, 0, count);
+        buffer.position(buffer.position() + 4 * count);
+        buffer.asIntBuffer().put(textOffsets, 0, count);
+        buffer.position(buffer.position() + 4 * count);
+        buffer.asIntBuffer().put(pathOffsets, 0, count);
+        buffer.position(buffer.position() + 4 * count);
+        buffer.put(heap);
+        buffer.flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Appends a string to the heap as {@code [int length][UTF-8 bytes]}, with length -1 for null.
+     *
+     * @return the offset of the entry in the heap.
+     */
+    private int appendString(String value) {
+        int offset = strings.size();
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes == null ? -1 : bytes.length;
+        strings.write(length);
+        strings.write(length >>> 8);
+        strings.write(length >>> 16);
+        strings.write(length >>> 24);
+        if (bytes != null) {
+            strings.write(bytes, 0, bytes.length);
+        }
+        return offset;
+    }
+
+    private static void putBitmap(ByteBuffer buffer, BitSet bits, int bitmapBytes) {
+        byte[] bytes = Arrays.copyOf(bits.toByteArray(), bitmapBytes);
+        buffer.put(bytes);
+    }
+}
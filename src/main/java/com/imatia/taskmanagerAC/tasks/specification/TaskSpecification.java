@@ -1,21 +1,45 @@
 package com.imatia.taskmanagerAC.tasks.specification;
 
 
-import com.imatia.taskmanagerAC.tasks.model.TaskEntity;
+import com.imatia.taskmanagerAC.tasks.model.AbstractTaskEntity;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
 import org.springframework.data.jpa.domain.Specification;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Utility class providing specifications for querying and filtering TaskEntity objects.
  * This class contains static methods for building JPA Specifications based on various filters
  * such as task name, completion status, date range, and sorting order.
+ * The specifications apply to both live and archived tasks, as they share the columns of {@link AbstractTaskEntity}.
  */
 public class TaskSpecification {
 
+    /**
+     * Combines the name, completion status and date range filters, ordered by descending creation date.
+     *
+     * @param name      the substring to search for in task names; if null, no filtering is applied.
+     * @param completed the completion status to filter by; if null, no filtering is applied.
+     * @param startDate the starting date of the range; if null, no lower bound is applied.
+     * @param endDate   the ending date of the range; if null, no upper bound is applied.
+     * @param <T>       the task entity type to query.
+     * @return a Specification object applying every filter and the default order.
+     */
+    public static <T extends AbstractTaskEntity> Specification<T> matching(String name, Boolean completed,
+                                                                          LocalDateTime startDate, LocalDateTime endDate) {
+        return Specification.<T>where(filterByName(name))
+                .and(filterByCompleted(completed))
+                .and(TaskSpecification.<T>filterByDateRange(startDate, endDate)
+                        .and(orderByCompletedAndDate()));
+    }
+
     /**
      * Creates a specification to filter tasks by name.
      * The filter performs a case-insensitive search for tasks whose name contains the specified substring.
@@ -23,8 +47,8 @@ public class TaskSpecification {
      * @param name the substring to search for in task names; if null, no filtering is applied.
      * @return a Specification object for filtering by task name.
      */
-    public static Specification<TaskEntity> filterByName(String name) {
-        return (Root<TaskEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+    public static <T extends AbstractTaskEntity> Specification<T> filterByName(String name) {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             if (name != null) {
                 return cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
             }
@@ -38,8 +62,8 @@ public class TaskSpecification {
      * @param completed the completion status to filter by; if null, no filtering is applied.
      * @return a Specification object for filtering by task completion status.
      */
-    public static Specification<TaskEntity> filterByCompleted(Boolean completed) {
-        return (Root<TaskEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+    public static <T extends AbstractTaskEntity> Specification<T> filterByCompleted(Boolean completed) {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             if (completed != null) {
                 return cb.equal(root.get("completed"), completed);
             }
@@ -55,8 +79,8 @@ public class TaskSpecification {
      * @param endDate   the ending date of the range; if null, no upper bound is applied.
      * @return a Specification object for filtering tasks by date range.
      */
-    public static Specification<TaskEntity> filterByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return (Root<TaskEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+    public static <T extends AbstractTaskEntity> Specification<T> filterByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             if (startDate != null && endDate != null) {
                 return cb.between(root.get("creationDate"), startDate, endDate);
             } else if (startDate != null) {
@@ -68,14 +92,40 @@ public class TaskSpecification {
         };
     }
 
+    /**
+     * Creates a specification to filter tasks by tags.
+     * When the filter has been resolved to task IDs by the {@link com.imatia.taskmanagerAC.tasks.tag.TaskTagIndex},
+     * the tasks are selected by ID; otherwise each group of the filter is checked against the TASK_TAG table.
+     *
+     * @param tags    the tag filter; if empty, no filtering is applied.
+     * @param taskIds the IDs of the tasks matching the filter, or null if they are not known.
+     * @return a Specification object for filtering tasks by tags.
+     */
+    public static <T extends AbstractTaskEntity> Specification<T> filterByTags(TagFilter tags, long[] taskIds) {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            if (tags.isEmpty()) {
+                return cb.conjunction();
+            }
+            if (taskIds != null) {
+                return root.get("id").in(Arrays.stream(taskIds).boxed().collect(Collectors.toList()));
+            }
+            Predicate[] groups = tags.getGroups().stream()
+                    .map(group -> cb.or(group.stream()
+                            .map(tag -> cb.isMember(tag, root.<Set<String>>get("tags")))
+                            .toArray(Predicate[]::new)))
+                    .toArray(Predicate[]::new);
+            return cb.and(groups);
+        };
+    }
+
     /**
      * Creates a specification to sort tasks by completion status and creation date.
      * Tasks are ordered by descending creation date.
      *
      * @return a Specification object for sorting tasks by completion status and creation date.
      */
-    public static Specification<TaskEntity> orderByCompletedAndDate() {
-        return (Root<TaskEntity> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+    public static <T extends AbstractTaskEntity> Specification<T> orderByCompletedAndDate() {
+        return (Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             query.orderBy(
                     cb.desc(root.get("creationDate"))
             );
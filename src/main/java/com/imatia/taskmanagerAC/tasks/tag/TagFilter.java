@@ -0,0 +1,100 @@
+package com.imatia.taskmanagerAC.tasks.tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Tag filter of a task list query: a task matches when it has at least one tag of every group.
+ *
+ * <p>Groups are written as {@code tags=team:core,priority:high|priority:urgent}: commas separate the groups,
+ * which must all match, and {@code |} separates the alternatives of a group. The example matches the tasks of
+ * team core whose priority is high or urgent.</p>
+ */
+public final class TagFilter {
+
+    /**
+     * Maximum number of tags of a filter, over all groups.
+     */
+    public static final int MAX_TAGS = 20;
+
+    /**
+     * Filter matching every task.
+     */
+    public static final TagFilter NONE = new TagFilter(List.of());
+
+    private final List<Set<String>> groups;
+
+    private TagFilter(List<Set<String>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Parses a filter from the values of the {@code tags} request parameter.
+     *
+     * @param values the groups, each made of alternatives separated by {@code |}; may be null.
+     * @return the filter, {@link #NONE} if there are no values.
+     * @throws IllegalArgumentException if a tag is invalid or there are too many tags.
+     */
+    public static TagFilter parse(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return NONE;
+        }
+        List<Set<String>> groups = new ArrayList<>();
+        int tagCount = 0;
+        for (String value : values) {
+            Set<String> group = new TreeSet<>();
+            for (String tag : value.split("\\|")) {
+                group.add(TaskTags.normalize(tag));
+            }
+            tagCount += group.size();
+            groups.add(Collections.unmodifiableSet(group));
+        }
+        if (tagCount > MAX_TAGS) {
+            throw new IllegalArgumentException("At most " + MAX_TAGS + " tags can be filtered on");
+        }
+        return new TagFilter(Collections.unmodifiableList(groups));
+    }
+
+    /**
+     * Creates a filter matching the tasks having every given tag.
+     *
+     * @param tags the tags.
+     * @return the filter.
+     */
+    public static TagFilter allOf(String... tags) {
+        return parse(List.of(tags));
+    }
+
+    /**
+     * Returns the groups of this filter.
+     *
+     * @return the groups, each holding its alternatives.
+     */
+    public List<Set<String>> getGroups() {
+        return groups;
+    }
+
+    public boolean isEmpty() {
+        return groups.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TagFilter && groups.equals(((TagFilter) other).groups);
+    }
+
+    @Override
+    public int hashCode() {
+        return groups.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        List<String> values = new ArrayList<>();
+        groups.forEach(group -> values.add(String.join("|", group)));
+        return String.join(",", values);
+    }
+}
@@ -0,0 +1,349 @@
+package com.imatia.taskmanagerAC.tasks.tag;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.invalidation.TaskInvalidation;
+import com.imatia.taskmanagerAC.tasks.invalidation.TaskInvalidationListener;
+import com.imatia.taskmanagerAC.tasks.service.TaskChangedEvent;
+import com.imatia.taskmanagerAC.tasks.sharding.TaskShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the task tags, resolving a {@link TagFilter} to the IDs of the matching tasks.
+ *
+ * <p>Each tag has a {@link RoaringBitmap} of the tasks carrying it. Task IDs are sparse 64-bit values, so each
+ * tagged task gets a dense ordinal, reused once the task loses its last tag, and the bitmaps hold ordinals. The
+ * tags of each task are kept as well, so that a change only touches the bitmaps of the tags it adds or removes. A
+ * filter is resolved by uniting the bitmaps of each group and intersecting the unions, smallest first.</p>
+ *
+ * <p>The index is loaded from the TASK_TAG table once the application is ready, and then follows the changes
+ * committed through the task service. Until it is loaded, or when a filter matches more than {@code max-ids}
+ * tasks, {@link #resolve(TagFilter)} returns empty and the filter is applied by the database instead. The
+ * changes made by other instances are reloaded from the TASK_TAG table when their invalidation arrives, and the
+ * whole index is periodically reloaded to recover lost invalidations.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.tags.index.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskTagIndex implements TaskInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTagIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final int maxIds;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> bitmaps = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Set<String>> taskTags = new HashMap<>();
+    private final Map<Long, Boolean> changedWhileReloading = new HashMap<>();
+    private long[] taskIds = new long[1024];
+    private int nextOrdinal;
+    private int[] freeOrdinals = new int[64];
+    private int freeOrdinalCount;
+    private boolean loaded;
+    private Set<Long> changedWhileLoading;
+
+    /**
+     * Constructor for TaskTagIndex. The index is loaded once the application is ready.
+     *
+     * @param jdbcTemplate  the template used to read the TASK_TAG table.
+     * @param shardRouter   the router used to read every shard.
+     * @param maxIds        the largest number of task IDs a filter is resolved to.
+     * @param meterRegistry the registry receiving the index metrics, if metrics are available.
+     */
+    public TaskTagIndex(JdbcTemplate jdbcTemplate, TaskShardRouter shardRouter,
+                        @Value("${taskmanager.tags.index.max-ids:1000}") int maxIds,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.maxIds = maxIds;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("taskmanager.tags.index.tasks", this, TaskTagIndex::getTaskCount).register(registry);
+            Gauge.builder("taskmanager.tags.index.tags", this, TaskTagIndex::getTagCount).register(registry);
+        }
+    }
+
+    /**
+     * Loads the tags of every task, and removes those of the tasks no longer tagged. Changes committed meanwhile
+     * take precedence over the rows read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        boolean reload;
+        lock.writeLock().lock();
+        try {
+            reload = loaded;
+            if (changedWhileLoading != null) {
+                return;
+            }
+            changedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Set<String>> tagsByTask = new HashMap<>();
+        try {
+            shardRouter.forEachShard(() -> jdbcTemplate.query("SELECT TASK_ID, TAG FROM TASK_TAG", rs -> {
+                tagsByTask.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getString(2));
+            }));
+        } catch (RuntimeException ex) {
+            log.error(reload ? "Failed to reload the tag index" : "Failed to load the tag index, tag filters are applied by the database", ex);
+            lock.writeLock().lock();
+            try {
+                changedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Set<String>> task : tagsByTask.entrySet()) {
+                if (!changedWhileLoading.contains(task.getKey())) {
+                    setTags(task.getKey(), task.getValue());
+                }
+            }
+            for (Long taskId : new ArrayList<>(ordinals.keySet())) {
+                if (!tagsByTask.containsKey(taskId) && !changedWhileLoading.contains(taskId)) {
+                    setTags(taskId, Set.of());
+                }
+            }
+            changedWhileLoading = null;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reload) {
+            log.debug("Reloaded the tags of {} tasks", tagsByTask.size());
+        } else {
+            log.info("Loaded the tags of {} tasks", tagsByTask.size());
+        }
+    }
+
+    /**
+     * Applies a committed task change to the index.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskDto task = event.getTask();
+        lock.writeLock().lock();
+        try {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(event.getTaskId());
+            }
+            changedWhileReloading.replace(event.getTaskId(), Boolean.TRUE);
+            setTags(event.getTaskId(), task == null || task.getTags() == null ? Set.of() : task.getTags());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the tags of a task changed by another instance. A change committed by this instance while the tags
+     * are read takes precedence over them.
+     *
+     * @param invalidation the invalidation of the task.
+     */
+    @Override
+    public void onInvalidation(TaskInvalidation invalidation) {
+        long taskId = invalidation.getTaskId();
+        lock.writeLock().lock();
+        try {
+            changedWhileReloading.put(taskId, Boolean.FALSE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<String> tags = null;
+        try {
+            tags = shardRouter.onShardOf(taskId, () -> jdbcTemplate.queryForList(
+                    "SELECT TAG FROM TASK_TAG WHERE TASK_ID = ?", String.class, taskId));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                boolean changed = Boolean.TRUE.equals(changedWhileReloading.remove(taskId));
+                if (tags != null && !changed) {
+                    if (changedWhileLoading != null) {
+                        changedWhileLoading.add(taskId);
+                    }
+                    setTags(taskId, new HashSet<>(tags));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Reloads the whole index.
+     */
+    @Override
+    public void resync() {
+        load();
+    }
+
+    /**
+     * Resolves a tag filter to the IDs of the tasks matching it, live or archived.
+     *
+     * @param filter the filter, not empty.
+     * @return the IDs of the matching tasks, in ascending order, or empty if the index is not loaded yet
+     * or more than {@code max-ids} tasks match.
+     */
+    public Optional<long[]> resolve(TagFilter filter) {
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                return Optional.empty();
+            }
+
+            List<RoaringBitmap> unions = new ArrayList<>();
+            for (Set<String> group : filter.getGroups()) {
+                RoaringBitmap union = new RoaringBitmap();
+                for (String tag : group) {
+                    RoaringBitmap bitmap = bitmaps.get(tag);
+                    if (bitmap != null) {
+                        union = RoaringBitmap.or(union, bitmap);
+                    }
+                }
+                if (union.isEmpty()) {
+                    return Optional.of(new long[0]);
+                }
+                unions.add(union);
+            }
+            unions.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+
+            RoaringBitmap matching = unions.get(0);
+            for (int i = 1; i < unions.size() && !matching.isEmpty(); i++) {
+                matching = RoaringBitmap.and(matching, unions.get(i));
+            }
+            if (matching.cardinality() > maxIds) {
+                return Optional.empty();
+            }
+
+            int[] matchingOrdinals = matching.toArray();
+            long[] ids = new long[matchingOrdinals.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = taskIds[matchingOrdinals[i]];
+            }
+            Arrays.sort(ids);
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tagged tasks in the index.
+     *
+     * @return the task count.
+     */
+    public int getTaskCount() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct tags in the index.
+     *
+     * @return the tag count.
+     */
+    public int getTagCount() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the tags of a task, updating only the bitmaps of the tags added or removed. Called with the write
+     * lock held.
+     */
+    private void setTags(long taskId, Set<String> tags) {
+        Set<String> previousTags = taskTags.getOrDefault(taskId, Set.of());
+        if (previousTags.equals(tags)) {
+            return;
+        }
+        Integer ordinal = ordinals.get(taskId);
+        if (ordinal == null) {
+            ordinal = allocateOrdinal(taskId);
+        }
+
+        for (String tag : previousTags) {
+            if (!tags.contains(tag)) {
+                RoaringBitmap bitmap = bitmaps.get(tag);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(tag);
+                }
+            }
+        }
+        for (String tag : tags) {
+            if (!previousTags.contains(tag)) {
+                bitmaps.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        if (tags.isEmpty()) {
+            taskTags.remove(taskId);
+            releaseOrdinal(taskId, ordinal);
+        } else {
+            taskTags.put(taskId, Set.copyOf(tags));
+        }
+    }
+
+    private int allocateOrdinal(long taskId) {
+        int ordinal;
+        if (freeOrdinalCount > 0) {
+            ordinal = freeOrdinals[--freeOrdinalCount];
+        } else {
+            ordinal = nextOrdinal++;
+            if (ordinal == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, ordinal * 2);
+            }
+        }
+        taskIds[ordinal] = taskId;
+        ordinals.put(taskId, ordinal);
+        return ordinal;
+    }
+
+    private void releaseOrdinal(long taskId, int ordinal) {
+        ordinals.remove(taskId);
+        if (freeOrdinalCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinalCount * 2);
+        }
+        freeOrdinals[freeOrdinalCount++] = ordinal;
+    }
+}
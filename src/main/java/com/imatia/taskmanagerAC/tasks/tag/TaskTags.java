@@ -0,0 +1,65 @@
+package com.imatia.taskmanagerAC.tasks.tag;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class holding the rules for task tags, such as {@code team:core} or {@code priority:high}.
+ * Tags are compared in lower case, so {@code Team:Core} and {@code team:core} are the same tag.
+ */
+public final class TaskTags {
+
+    /**
+     * Maximum length of a tag, that of the TAG column.
+     */
+    public static final int MAX_LENGTH = 50;
+
+    /**
+     * Maximum number of tags of one task.
+     */
+    public static final int MAX_TAGS_PER_TASK = 20;
+
+    private static final Pattern TAG = Pattern.compile("[a-z0-9][a-z0-9:._-]*");
+
+    private TaskTags() {
+    }
+
+    /**
+     * Normalizes a tag: trimmed and in lower case.
+     *
+     * @param tag the tag.
+     * @return the normalized tag.
+     * @throws IllegalArgumentException if the tag is empty, too long or holds other characters than
+     *                                  letters, digits, {@code :}, {@code .}, {@code _} and {@code -}.
+     */
+    public static String normalize(String tag) {
+        String normalized = tag == null ? "" : tag.trim().toLowerCase();
+        if (normalized.length() > MAX_LENGTH || !TAG.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid tag '" + tag + "'");
+        }
+        return normalized;
+    }
+
+    /**
+     * Normalizes the tags of a task.
+     *
+     * @param tags the tags, or null.
+     * @return the normalized tags, sorted, or null if {@code tags} is null.
+     * @throws IllegalArgumentException if a tag is invalid or there are too many tags.
+     */
+    public static Set<String> normalize(Collection<String> tags) {
+        if (tags == null) {
+            return null;
+        }
+        Set<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            normalized.add(normalize(tag));
+        }
+        if (normalized.size() > MAX_TAGS_PER_TASK) {
+            throw new IllegalArgumentException("A task has at most " + MAX_TAGS_PER_TASK + " tags");
+        }
+        return normalized;
+    }
+}
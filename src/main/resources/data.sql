@@ -1 +1,4 @@
-INSERT INTO TASK VALUES (1, 'Test', 'Test', TO_TIMESTAMP('2023-12-01 10:00:00.000000', 'YYYY-MM-DD HH24:MI:SS.FF'), NULL, 0);
\ No newline at end of file
+-- Seed task, only inserted into an empty table so that the script can run against a persistent database.
+INSERT INTO TASK (ID, NAME, TEXT, CREATION_DATE, ENDING_DATE, COMPLETED, PATH)
+SELECT 1, 'Test', 'Test', TO_TIMESTAMP('2023-12-01 10:00:00.000000', 'YYYY-MM-DD HH24:MI:SS.FF'), NULL, 0, '/1/'
+WHERE NOT EXISTS (SELECT 1 FROM TASK);
@@ -1,9 +1,80 @@
-CREATE TABLE TASK (
+CREATE TABLE IF NOT EXISTS TASK (
     ID bigint not null auto_increment,
     NAME varchar(50) not null,
     TEXT varchar(250) not null,
     CREATION_DATE timestamp,
     ENDING_DATE timestamp,
     COMPLETED bit,
+    DUE_DATE timestamp,
+    PARENT_ID bigint,
+    PATH varchar(1000),
     primary key (ID)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS IDX_TASK_CREATION_DATE ON TASK (CREATION_DATE);
+CREATE INDEX IF NOT EXISTS IDX_TASK_COMPLETED_ENDING_DATE ON TASK (COMPLETED, ENDING_DATE);
+
+-- Completed tasks moved out of TASK by the archiver. Same columns as TASK, IDs are kept.
+CREATE TABLE IF NOT EXISTS TASK_ARCHIVE (
+    ID bigint not null,
+    NAME varchar(50) not null,
+    TEXT varchar(250) not null,
+    CREATION_DATE timestamp,
+    ENDING_DATE timestamp,
+    COMPLETED bit,
+    DUE_DATE timestamp,
+    PARENT_ID bigint,
+    PATH varchar(1000),
+    primary key (ID)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_TASK_ARCHIVE_CREATION_DATE ON TASK_ARCHIVE (CREATION_DATE);
+
+-- Persistent databases created before the due date existed.
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS DUE_DATE timestamp;
+ALTER TABLE TASK_ARCHIVE ADD COLUMN IF NOT EXISTS DUE_DATE timestamp;
+
+-- Read by the reminder scheduler, one due date window at a time.
+CREATE INDEX IF NOT EXISTS IDX_TASK_DUE_DATE ON TASK (DUE_DATE);
+
+-- Task hierarchy: PATH lists the IDs from the root down to the task itself, as in /1/5/12/.
+-- A subtree is a PATH prefix range; children are fetched in batches by PARENT_ID.
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS PARENT_ID bigint;
+ALTER TABLE TASK ADD COLUMN IF NOT EXISTS PATH varchar(1000);
+ALTER TABLE TASK_ARCHIVE ADD COLUMN IF NOT EXISTS PARENT_ID bigint;
+ALTER TABLE TASK_ARCHIVE ADD COLUMN IF NOT EXISTS PATH varchar(1000);
+UPDATE TASK SET PATH = CONCAT('/', ID, '/') WHERE PATH IS NULL;
+UPDATE TASK_ARCHIVE SET PATH = CONCAT('/', ID, '/') WHERE PATH IS NULL;
+CREATE INDEX IF NOT EXISTS IDX_TASK_PATH ON TASK (PATH);
+CREATE INDEX IF NOT EXISTS IDX_TASK_PARENT_ID ON TASK (PARENT_ID);
+CREATE INDEX IF NOT EXISTS IDX_TASK_ARCHIVE_PATH ON TASK_ARCHIVE (PATH);
+
+-- Task change events written in the same transaction as the change, published and removed by the outbox relay.
+CREATE TABLE IF NOT EXISTS TASK_OUTBOX (
+    ID bigint not null auto_increment,
+    TASK_ID bigint not null,
+    EVENT_TYPE varchar(16) not null,
+    PAYLOAD clob,
+    CREATED_AT timestamp not null,
+    primary key (ID)
+);
+
+-- Persistent databases created when the payload was a varchar(2048), too small for a task with many tags.
+ALTER TABLE TASK_OUTBOX ALTER COLUMN PAYLOAD clob;
+
+-- Tags of live and archived tasks, kept when a task is archived. Deleting a task deletes its tags.
+CREATE TABLE IF NOT EXISTS TASK_TAG (
+    TASK_ID bigint not null,
+    TAG varchar(50) not null,
+    primary key (TASK_ID, TAG)
+);
+
+CREATE INDEX IF NOT EXISTS IDX_TASK_TAG_TAG ON TASK_TAG (TAG, TASK_ID);
+
+-- Leases electing the one instance that runs each background job, see JobLease. LOCKED_UNTIL uses the database clock.
+CREATE TABLE IF NOT EXISTS TASK_JOB_LOCK (
+    NAME varchar(50) not null,
+    OWNER varchar(200),
+    LOCKED_UNTIL timestamp not null,
+    primary key (NAME)
+);
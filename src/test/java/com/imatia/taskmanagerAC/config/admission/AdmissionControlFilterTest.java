@@ -0,0 +1,109 @@
+package com.imatia.taskmanagerAC.config.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_RejectsClientOverItsListBudget_WithRetryAfter() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setList(new AdmissionProperties.Budget(1, 3));
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(200, get(filter, "/api/v1/tasks", "client-a", null).getStatus());
+        MockHttpServletResponse rejected = get(filter, "/api/v1/tasks", "client-a", "200");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertEquals(200, get(filter, "/api/v1/tasks/1", "client-a", null).getStatus());
+        assertEquals(200, get(filter, "/api/v1/tasks", "client-b", null).getStatus());
+        assertEquals(1.0, meterRegistry.counter("taskmanager.admission.rejections",
+                "reason", "rate_limit", "endpoint", "list").count());
+    }
+
+    @Test
+    void doFilter_CapsTheCostOfLargePagesToTheListBurst() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setList(new AdmissionProperties.Budget(1, 3));
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(200, get(filter, "/api/v1/tasks", "client-a", "100000").getStatus());
+        assertEquals(429, get(filter, "/api/v1/tasks", "client-a", null).getStatus());
+    }
+
+    @Test
+    void doFilter_ShedsLoadAboveConcurrencyLimit() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getConcurrency().setInitialLimit(1);
+        properties.getConcurrency().setMinLimit(1);
+        AdmissionControlFilter filter = filter(properties);
+
+        assertTrue(filter.getConcurrencyLimiter().tryAcquire());
+        MockHttpServletResponse rejected = get(filter, "/api/v1/tasks/1", "client-a", null);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_HoldsTheConcurrencyPermitOfAsyncRequestsUntilTheyComplete() throws Exception {
+        AdmissionControlFilter filter = filter(new AdmissionProperties());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        assertEquals(1, filter.getConcurrencyLimiter().getInFlight());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(0, filter.getConcurrencyLimiter().getInFlight());
+    }
+
+    @Test
+    void release_DecreasesLimitOnSlowRequestsAndRecoversAdditively() {
+        AdmissionProperties.Concurrency properties = new AdmissionProperties.Concurrency();
+        properties.setInitialLimit(20);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties);
+
+        limiter.tryAcquire();
+        limiter.release(Duration.ofSeconds(1).toNanos(), false);
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 40; i++) {
+            limiter.tryAcquire();
+            limiter.release(Duration.ofMillis(1).toNanos(), false);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private AdmissionControlFilter filter(AdmissionProperties properties) {
+        return new AdmissionControlFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry);
+    }
+
+    private MockHttpServletResponse get(AdmissionControlFilter filter, String uri, String apiKey, String size)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("X-API-Key", apiKey);
+        if (size != null) {
+            request.setParameter("size", size);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.imatia.taskmanagerAC.TaskmanagerACApplication;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures {@code createTask} throughput against the file-backed database at each durability level,
+ * from one thread and from several. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PersistentStorageBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentStorageBenchmarkTest.class);
+
+    private static final int WARMUP = 1_000;
+    private static final int TASKS = 10_000;
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(PersistentStorageProperties.Durability.class)
+    void createTaskThroughput(PersistentStorageProperties.Durability durability) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerACApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .run("--taskmanager.storage.path=" + tempDir.resolve("taskmanager"),
+                        "--taskmanager.storage.durability=" + durability,
+                        "--taskmanager.archive.initial-delay=PT24H", "--taskmanager.swagger.enabled=false")) {
+            ITaskService taskService = context.getBean(ITaskService.class);
+            createTasks(taskService, WARMUP);
+
+            long start = System.nanoTime();
+            createTasks(taskService, TASKS);
+            report(durability, 1, System.nanoTime() - start);
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                start = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(() -> createTasks(taskService, TASKS / THREADS)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                report(durability, THREADS, System.nanoTime() - start);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static void createTasks(ITaskService taskService, int count) {
+        for (int i = 0; i < count; i++) {
+            TaskDto task = new TaskDto();
+            task.setName("Task " + i);
+            task.setText("Benchmark task");
+            taskService.createTask(task);
+        }
+    }
+
+    private static void report(PersistentStorageProperties.Durability durability, int threads, long nanos) {
+        log.info("{}, {} thread(s): {} createTask calls in {} ms ({}/s)", durability, threads, TASKS,
+                nanos / 1_000_000, Math.round(TASKS * 1e9 / nanos));
+    }
+}
@@ -0,0 +1,47 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.imatia.taskmanagerAC.TaskmanagerACApplication;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void tasksSurviveRestart() {
+        TaskDto task = new TaskDto();
+        task.setName("Durable");
+        task.setText("Survives a restart");
+
+        Long id;
+        try (ConfigurableApplicationContext context = start()) {
+            id = context.getBean(ITaskService.class).createTask(task).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            ITaskService taskService = context.getBean(ITaskService.class);
+            assertEquals("Durable", taskService.findById(id).orElseThrow().getName());
+            assertTrue(taskService.findById(1L).isPresent());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TaskmanagerACApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .run("--taskmanager.storage.path=" + tempDir.resolve("taskmanager"),
+                        "--taskmanager.archive.initial-delay=PT24H", "--taskmanager.swagger.enabled=false");
+    }
+}
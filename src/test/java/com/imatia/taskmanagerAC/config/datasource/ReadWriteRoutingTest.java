@@ -0,0 +1,48 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("replica")
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @AfterEach
+    void clearPin() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    void findById_ReadsFromReplica_WhenNotPinned() {
+        TaskDto created = taskService.createTask(newTask());
+
+        assertFalse(taskService.findById(created.getId()).isPresent());
+    }
+
+    @Test
+    void findById_ReadsFromPrimary_WhenPinned() {
+        TaskDto created = taskService.createTask(newTask());
+
+        ReadYourWritesContext.pinToPrimary();
+
+        assertTrue(taskService.findById(created.getId()).isPresent());
+    }
+
+    private TaskDto newTask() {
+        TaskDto task = new TaskDto();
+        task.setName("Routed");
+        task.setText("Written to the primary only");
+        return task;
+    }
+}
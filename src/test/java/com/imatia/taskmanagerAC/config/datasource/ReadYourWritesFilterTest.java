@@ -0,0 +1,50 @@
+package com.imatia.taskmanagerAC.config.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private static final long PIN_MILLIS = 5_000;
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(PIN_MILLIS);
+
+    @Test
+    void doFilter_PinsReads_OnlyWhileTheTokenIsFresh() throws Exception {
+        long now = System.currentTimeMillis();
+
+        assertTrue(pinned(Long.toString(now - 100)));
+        assertTrue(pinned(Long.toString(now + ReadYourWritesFilter.MAX_CLOCK_SKEW_MILLIS / 2)));
+        assertFalse(pinned(Long.toString(now - PIN_MILLIS - 1_000)));
+        assertFalse(pinned(null));
+        assertFalse(pinned("not-a-time"));
+    }
+
+    @Test
+    void doFilter_IgnoresTokens_FromTheFutureOrOverflowing() throws Exception {
+        long now = System.currentTimeMillis();
+
+        assertFalse(pinned(Long.toString(now + 60_000)));
+        assertFalse(pinned(Long.toString(Long.MAX_VALUE)));
+        assertFalse(pinned(Long.toString(Long.MIN_VALUE)));
+        assertFalse(pinned("-1"));
+    }
+
+    private boolean pinned(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        if (token != null) {
+            request.addHeader(ReadYourWritesFilter.CONSISTENCY_TOKEN_HEADER, token);
+        }
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(ReadYourWritesContext.isPinnedToPrimary());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return pinned.get();
+    }
+}
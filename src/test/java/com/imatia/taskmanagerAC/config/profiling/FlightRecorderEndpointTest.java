@@ -0,0 +1,120 @@
+package com.imatia.taskmanagerAC.config.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:profiling-test",
+        "taskmanager.profiling.enabled=true",
+        "taskmanager.profiling.settings=default",
+        "taskmanager.profiling.max-recordings=2",
+        "management.endpoints.web.exposure.include=health,info,jfr"
+})
+@AutoConfigureMockMvc
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void profilingDirectory(DynamicPropertyRegistry registry) {
+        registry.add("taskmanager.profiling.directory", directory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightRecorderEndpoint endpoint;
+
+    @Test
+    void reportsAttributeRequestsToControllerMethodsAndServiceCalls() throws Exception {
+        FlightRecorderEndpoint.RecordingDescriptor recording = endpoint.start("api test", null);
+        assertEquals("api_test", recording.getName());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Profiled task\", \"text\": \"Text\"}"))
+                .andExpect(status().isCreated());
+        ProfilingReport running = endpoint.report(recording.getId());
+        assertEquals("TaskController.createTask", running.getEndpoints().get(0).getHandler());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks").param("name", "Profiled"))
+                .andExpect(status().isOk());
+        ProfilingReport report = endpoint.stop(recording.getId());
+
+        ProfilingReport.EndpointSummary list = report.getEndpoints().stream()
+                .filter(endpoint -> endpoint.getHandler().equals("TaskController.getAllTasks")).findFirst().orElseThrow();
+        assertEquals(1, list.getCount());
+        assertTrue(list.getAllocatedBytes() > 0);
+        ProfilingReport.MethodSummary findAll = report.getServiceMethods().stream()
+                .filter(method -> method.getMethod().equals("findAll")).findFirst().orElseThrow();
+        assertEquals(1.0, findAll.getAverageRows());
+        assertTrue(report.format().contains("TaskController.getAllTasks"));
+
+        assertTrue(Files.exists(Paths.get(recording.getDestination())));
+        assertNull(endpoint.stop(recording.getId()));
+    }
+
+    @Test
+    void recordingsAreListedByTheActuatorEndpoint() throws Exception {
+        FlightRecorderEndpoint.RecordingDescriptor recording = endpoint.start(null, null);
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/actuator/jfr"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].state").value("RUNNING"));
+        } finally {
+            endpoint.stop(recording.getId());
+        }
+    }
+
+    @Test
+    void recordingsBeyondTheMaximumAreRejected() throws Exception {
+        FlightRecorderEndpoint.RecordingDescriptor first = endpoint.start("first", null);
+        FlightRecorderEndpoint.RecordingDescriptor second = endpoint.start("second", null);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> endpoint.start("third", null));
+        } finally {
+            endpoint.stop(first.getId());
+            endpoint.stop(second.getId());
+        }
+    }
+
+    @Test
+    void recordingsThatStoppedOnTheirOwnAreClosedAndStillReported() throws Exception {
+        FlightRecorderEndpoint.RecordingDescriptor recording = endpoint.start("short", Duration.ofMillis(100));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (endpoint.recordings().stream().anyMatch(r -> r.getId() == recording.getId()
+                && r.getState().equals("RUNNING")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        endpoint.closeFinished();
+
+        assertTrue(endpoint.recordings().stream().noneMatch(r -> r.getId() == recording.getId()));
+        assertNotNull(endpoint.report(recording.getId()));
+        assertNotNull(endpoint.stop(recording.getId()));
+        assertNull(endpoint.report(recording.getId()));
+    }
+}
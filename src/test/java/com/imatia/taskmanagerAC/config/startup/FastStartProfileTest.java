@@ -0,0 +1,45 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import com.imatia.taskmanagerAC.config.SwaggerConfig;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast-start-test")
+@ActiveProfiles("fast-start")
+class FastStartProfileTest {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Test
+    void onlyBeansNeededFromTheStartAreCreatedEagerly() {
+        assertFalse(beanFactory.getBeanDefinition("taskController").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("taskService").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("taskArchiver").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("taskHierarchyService").isLazyInit());
+        assertTrue(beanFactory.getBeanNamesForType(SwaggerConfig.class).length == 0);
+    }
+
+    @Test
+    void tasksAreServedWithDeferredRepositories() {
+        TaskDto task = new TaskDto();
+        task.setName("Fast start");
+        task.setText("Text");
+
+        TaskDto created = taskService.createTask(task);
+
+        assertEquals("Fast start", taskService.findById(created.getId()).orElseThrow().getName());
+    }
+}
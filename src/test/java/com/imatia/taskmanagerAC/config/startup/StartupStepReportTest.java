@@ -0,0 +1,47 @@
+package com.imatia.taskmanagerAC.config.startup;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupStepReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void stepsAreGroupedByNameLongestFirst() throws Exception {
+        Path file = tempDir.resolve("startup.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(StartupStepReport.STEP_EVENT);
+            recording.start();
+
+            FlightRecorderApplicationStartup startup = new FlightRecorderApplicationStartup();
+            StartupStep refresh = startup.start(StartupStepReport.REFRESH_STEP);
+            for (int i = 0; i < 2; i++) {
+                StartupStep instantiate = startup.start("spring.beans.instantiate").tag("beanName", "bean" + i);
+                Thread.sleep(20);
+                instantiate.end();
+            }
+            refresh.end();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        StartupStepReport report = StartupStepReport.read(file);
+
+        assertEquals(StartupStepReport.REFRESH_STEP, report.getSteps().get(0).getName());
+        assertEquals("spring.beans.instantiate", report.getSteps().get(1).getName());
+        assertEquals(2, report.getSteps().get(1).getCount());
+        assertTrue(report.getRefresh().toMillis() >= 40);
+        assertTrue(report.format().contains("spring.beans.instantiate"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.imatia.taskmanagerAC.exception;
+
+import com.imatia.taskmanagerAC.tasks.controller.TaskController;
+import com.imatia.taskmanagerAC.tasks.service.AsyncTaskService;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import ch.qos.logback.classic.Level;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the throughput of 404 responses for missing tasks: the current path, with a stackless
+ * {@link ResourceNotFoundException} and a pre-serialized body, against the previous one, with a full
+ * stack trace and an {@link ApiError} serialized by Jackson. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class NotFoundResponseBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NotFoundResponseBenchmarkTest.class);
+
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 200_000;
+
+    @Test
+    void notFoundThroughput() throws Exception {
+        // Without a Spring Boot context logback logs at DEBUG, and the request logs would be measured instead
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        // Not a Mockito mock, which captures a stack trace on every call and would dwarf the path measured
+        ITaskService taskService = (ITaskService) Proxy.newProxyInstance(ITaskService.class.getClassLoader(),
+                new Class<?>[]{ITaskService.class}, (proxy, method, args) -> Optional.empty());
+        MockMvc current = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService, Mockito.mock(AsyncTaskService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        MockMvc previous = MockMvcBuilders.standaloneSetup(new PreviousTaskController()).build();
+
+        request(previous, WARMUP);
+        request(current, WARMUP);
+
+        long start = System.nanoTime();
+        request(previous, REQUESTS);
+        report("stack trace, Jackson body", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        request(current, REQUESTS);
+        report("stackless, pre-serialized body", System.nanoTime() - start);
+    }
+
+    private static void request(MockMvc mockMvc, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/" + i))
+                    .andReturn().getResponse();
+            assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+            assertTrue(response.getContentAsString().contains("Task with ID " + i + " not found"));
+        }
+    }
+
+    private static void report(String path, long nanos) {
+        log.info("{}: {} 404 responses in {} ms ({}/s)", path, REQUESTS, nanos / 1_000_000,
+                Math.round(REQUESTS * 1e9 / nanos));
+    }
+
+    /**
+     * The missing task exception as it was, capturing its stack trace.
+     */
+    static class PreviousNotFoundException extends RuntimeException {
+
+        PreviousNotFoundException(Long id) {
+            super("Task with ID " + id + " not found");
+        }
+    }
+
+    /**
+     * The task lookup and its missing task handler as they were. Not annotated as a controller, so that component
+     * scans do not pick it up; the handler is local to the controller for the same reason.
+     */
+    @RequestMapping
+    static class PreviousTaskController {
+
+        @GetMapping("/api/v1/tasks/{id}")
+        public Object getTaskById(@PathVariable Long id) {
+            throw new PreviousNotFoundException(id);
+        }
+
+        @ExceptionHandler(PreviousNotFoundException.class)
+        public ResponseEntity<ApiError> handle(PreviousNotFoundException ex) {
+            ApiError error = new ApiError(LocalDateTime.now(), ex.getMessage(), HttpStatus.NOT_FOUND.value());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.imatia.taskmanagerAC.tasks.archive;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.lease.JobLease;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive-test",
+        "taskmanager.archive.completed-older-than=PT0S",
+        "taskmanager.archive.initial-delay=PT24H"
+})
+class TaskArchiverTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void completedTasksAreArchivedAndStillReadable() throws InterruptedException {
+        TaskDto task = new TaskDto();
+        task.setName("Done");
+        task.setText("Archived once completed");
+        Long id = taskService.createTask(task).getId();
+
+        TaskDto completion = new TaskDto();
+        completion.setCompleted(true);
+        taskService.partialUpdateTask(id, completion);
+        Thread.sleep(5);
+
+        taskArchiver.archiveCompletedTasks();
+
+        assertEquals(1, count("TASK_ARCHIVE", id));
+        assertEquals(0, count("TASK", id));
+        assertTrue(taskService.findById(id).isPresent());
+        assertTrue(taskService.findAll(null, false, null, null, PageRequest.of(0, 50)).stream()
+                .noneMatch(found -> id.equals(found.getId())));
+        assertTrue(taskService.findAll(null, null, null, null, PageRequest.of(0, 50)).stream()
+                .anyMatch(found -> id.equals(found.getId())));
+
+        TaskDto rename = new TaskDto();
+        rename.setName("Reopened");
+        taskService.partialUpdateTask(id, rename);
+
+        assertEquals(0, count("TASK_ARCHIVE", id));
+        assertEquals(1, count("TASK", id));
+    }
+
+    @Test
+    void tasksAreNotArchivedWhileAnotherInstanceHoldsTheLease() throws InterruptedException {
+        TaskDto task = new TaskDto();
+        task.setName("Done elsewhere");
+        task.setText("Archived by the lease holder");
+        Long id = taskService.createTask(task).getId();
+
+        TaskDto completion = new TaskDto();
+        completion.setCompleted(true);
+        taskService.partialUpdateTask(id, completion);
+        Thread.sleep(5);
+
+        JobLease otherInstance = new JobLease(jdbcTemplate);
+        otherInstance.tryAcquire(TaskArchiver.JOB, Duration.ofMinutes(1));
+        try {
+            taskArchiver.archiveCompletedTasks();
+            assertEquals(1, count("TASK", id));
+        } finally {
+            otherInstance.release(TaskArchiver.JOB);
+        }
+
+        taskArchiver.archiveCompletedTasks();
+        assertEquals(1, count("TASK_ARCHIVE", id));
+    }
+
+    private int count(String table, Long id) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE ID = ?", Integer.class, id);
+        return count == null ? 0 : count;
+    }
+}
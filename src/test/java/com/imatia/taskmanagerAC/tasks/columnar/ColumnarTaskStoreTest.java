@@ -0,0 +1,130 @@
+package com.imatia.taskmanagerAC.tasks.columnar;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarTaskStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void query_AppliesFiltersAndOrdersByCreationDateDesc() {
+        ColumnarTaskStore store = new ColumnarTaskStore(4);
+        for (int i = 0; i < 10; i++) {
+            store.put(task(i, i % 2 == 0 ? "Write docs" : "Fix bug", BASE.plusDays(i), i < 3));
+        }
+
+        Page<TaskDto> page = store.query("DOCS", false, BASE.plusDays(2), BASE.plusDays(8), PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(8L, page.getContent().get(0).getId());
+        assertEquals(6L, page.getContent().get(1).getId());
+    }
+
+    @Test
+    void query_RebuildsIndex_WhenTasksArriveOutOfOrderOrAreRemoved() {
+        ColumnarTaskStore store = new ColumnarTaskStore(4);
+        store.put(task(1, "A", BASE.plusDays(5), false));
+        store.put(task(2, "B", BASE.plusDays(1), false));
+        store.put(task(3, "C", BASE.plusDays(3), false));
+        store.remove(1);
+
+        Page<TaskDto> page = store.query(null, null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(3L, page.getContent().get(0).getId());
+        assertEquals(2L, page.getContent().get(1).getId());
+    }
+
+    @Test
+    void remove_RejectsTasksWithSubtasks() {
+        ColumnarTaskStore store = new ColumnarTaskStore(4);
+        store.put(task(1, "Parent", BASE, false));
+        TaskDto child = task(2, "Child", BASE, false);
+        child.setParentId(1L);
+        store.put(child);
+
+        assertThrows(IllegalArgumentException.class, () -> store.remove(1));
+        assertTrue(store.get(1).isPresent());
+
+        assertTrue(store.remove(2));
+        assertTrue(store.remove(1));
+        assertThrows(IllegalArgumentException.class, () -> store.put(child));
+    }
+
+    @Test
+    void open_ReplaysWriteAheadLog() throws Exception {
+        Path wal = tempDir.resolve("tasks.wal");
+        try (ColumnarTaskStore store = ColumnarTaskStore.open(16, wal, false)) {
+            store.put(task(1, "Kept", BASE, false));
+            store.put(task(2, "Removed", BASE, false));
+            TaskDto updated = task(1, "Kept and updated", BASE, true);
+            updated.setDueDate(BASE.plusDays(7));
+            store.put(updated);
+            store.remove(2);
+        }
+
+        try (ColumnarTaskStore store = ColumnarTaskStore.open(16, wal, false)) {
+            assertEquals(1, store.size());
+            assertFalse(store.get(2).isPresent());
+            TaskDto restored = store.get(1).orElseThrow();
+            assertEquals("Kept and updated", restored.getName());
+            assertTrue(restored.getCompleted());
+            assertEquals(BASE, restored.getCreationDate());
+            assertEquals(BASE.plusDays(7), restored.getDueDate());
+        }
+    }
+
+    @Test
+    void update_AppliesConcurrentChangesOneAfterTheOther() throws Exception {
+        Path wal = tempDir.resolve("tasks.wal");
+        try (ColumnarTaskStore store = ColumnarTaskStore.open(16, wal, false)) {
+            store.put(task(1, "", BASE, false));
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < 100; j++) {
+                            store.update(1, task -> task.setName(task.getName() + "x"));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(800, store.get(1).orElseThrow().getName().length());
+            assertFalse(store.update(2, task -> task.setName("Missing")).isPresent());
+        }
+
+        try (ColumnarTaskStore store = ColumnarTaskStore.open(16, wal, false)) {
+            assertEquals(800, store.get(1).orElseThrow().getName().length());
+        }
+    }
+
+    private TaskDto task(long id, String name, LocalDateTime creationDate, boolean completed) {
+        return new TaskDto(id, name, "Text", creationDate, null, completed);
+    }
+}
@@ -1,7 +1,9 @@
 package com.imatia.taskmanagerAC.tasks.controller;
 
 import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.AsyncTaskService;
 import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,9 +12,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +32,9 @@ class TaskControllerTest {
     @MockBean
     private ITaskService taskService;
 
+    @MockBean
+    private AsyncTaskService asyncTaskService;
+
     @Test
     void getAllTasks_ReturnsTasks() throws Exception {
         Mockito.when(taskService.findAll(any(), any(), any(), any(), any()))
@@ -38,6 +46,19 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.content").isEmpty());
     }
 
+    @Test
+    void getAllTasks_FiltersByTagGroups() throws Exception {
+        TagFilter tags = TagFilter.parse(List.of("team:core", "priority:high|priority:urgent"));
+        Mockito.when(taskService.findAll(any(), any(), any(), any(), eq(tags), any()))
+                .thenReturn(Page.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks")
+                        .param("tags", "Team:Core,priority:urgent|priority:high")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
     @Test
     void getTaskById_ReturnsTask_WhenTaskExists() throws Exception {
         TaskDto mockTask = new TaskDto();
@@ -53,6 +74,28 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.name", is("Test Task")));
     }
 
+    @Test
+    void getTasksByIds_ReturnsFoundTasks() throws Exception {
+        TaskDto first = new TaskDto();
+        first.setId(1L);
+        TaskDto third = new TaskDto();
+        third.setId(3L);
+
+        Mockito.when(asyncTaskService.findAllById(List.of(1L, 2L, 3L)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(first, third)));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks")
+                        .param("ids", "1,2,3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].id", is(3)));
+    }
+
     @Test
     void getTaskById_ThrowsException_WhenTaskNotFound() throws Exception {
         Mockito.when(taskService.findById(999L)).thenReturn(Optional.empty());
@@ -62,6 +105,19 @@ class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getTaskById_WritesApiError_WhenTaskNotFound() throws Exception {
+        Mockito.when(taskService.findById(999L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/tasks/999")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message", is("Task with ID 999 not found")))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.timestamp").isNotEmpty());
+    }
+
     @Test
     void createTask_ReturnsCreatedTask() throws Exception {
         TaskDto mockTask = new TaskDto();
@@ -0,0 +1,102 @@
+package com.imatia.taskmanagerAC.tasks.groupcommit;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit-test",
+        "taskmanager.group-commit.enabled=true",
+        "taskmanager.group-commit.max-wait=50ms"
+})
+class TaskGroupCommitterTest {
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskGroupCommitter groupCommitter;
+
+    @Test
+    void concurrentCreatesAreCommittedAndReturnTheirIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<TaskDto>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                TaskDto task = task("Task " + i);
+                futures.add(executor.submit(() -> taskService.createTask(task)));
+            }
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<TaskDto> future : futures) {
+                ids.add(future.get().getId());
+            }
+
+            assertEquals(CALLERS, ids.size());
+            ids.forEach(id -> assertTrue(taskService.findById(id).isPresent()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void invalidTaskOnlyFailsItsOwnCaller() throws Exception {
+        CompletableFuture<TaskDto> valid = CompletableFuture.supplyAsync(() -> taskService.createTask(task("Valid")));
+        CompletableFuture<TaskDto> invalid = CompletableFuture.supplyAsync(() -> taskService.createTask(task("x".repeat(51))));
+
+        assertTrue(taskService.findById(valid.get().getId()).isPresent());
+        assertThrows(ExecutionException.class, invalid::get);
+    }
+
+    @Test
+    @DirtiesContext
+    void createsRacingTheShutdownAreStillCommitted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<TaskDto>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS * 10; i++) {
+                TaskDto task = task("Task " + i);
+                futures.add(executor.submit(() -> taskService.createTask(task)));
+                if (i == CALLERS * 5) {
+                    executor.submit(() -> {
+                        groupCommitter.destroy();
+                        return null;
+                    });
+                }
+            }
+
+            for (Future<TaskDto> future : futures) {
+                assertTrue(taskService.findById(future.get(10, TimeUnit.SECONDS).getId()).isPresent());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TaskDto task(String name) {
+        TaskDto task = new TaskDto();
+        task.setName(name);
+        task.setText("Group committed");
+        return task;
+    }
+}
@@ -0,0 +1,125 @@
+package com.imatia.taskmanagerAC.tasks.hierarchy;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.dto.TaskProgressDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:hierarchy-test")
+class TaskHierarchyServiceTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskHierarchyService hierarchyService;
+
+    @Test
+    void subtasksAreReturnedInDepthFirstOrderWithTheirProgress() {
+        TaskDto root = taskService.createTask(task("Root", null, false));
+        TaskDto first = taskService.createTask(task("First", root.getId(), true));
+        TaskDto second = taskService.createTask(task("Second", root.getId(), false));
+        TaskDto nested = taskService.createTask(task("Nested", first.getId(), true));
+
+        assertEquals("/" + root.getId() + "/" + first.getId() + "/" + nested.getId() + "/", nested.getPath());
+        assertEquals(List.of(root.getId(), first.getId(), nested.getId(), second.getId()),
+                ids(hierarchyService.findSubtree(root.getId()).orElseThrow()));
+
+        TaskProgressDto progress = hierarchyService.getProgress(root.getId()).orElseThrow();
+        assertEquals(3, progress.getSubtasks());
+        assertEquals(2, progress.getCompletedSubtasks());
+        assertEquals(66.67, progress.getPercentage());
+        assertEquals(100.0, hierarchyService.getProgress(nested.getId()).orElseThrow().getPercentage());
+        assertTrue(hierarchyService.findSubtree(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void movingATaskMovesItsSubtasks() {
+        TaskDto root = taskService.createTask(task("Root", null, false));
+        TaskDto child = taskService.createTask(task("Child", root.getId(), false));
+        TaskDto grandchild = taskService.createTask(task("Grandchild", child.getId(), false));
+
+        TaskDto moved = hierarchyService.move(child.getId(), null).orElseThrow();
+        assertEquals(null, moved.getParentId());
+        assertEquals("/" + child.getId() + "/", moved.getPath());
+        assertEquals(List.of(root.getId()), ids(hierarchyService.findSubtree(root.getId()).orElseThrow()));
+        assertEquals("/" + child.getId() + "/" + grandchild.getId() + "/",
+                taskService.findById(grandchild.getId()).orElseThrow().getPath());
+
+        assertThrows(IllegalArgumentException.class, () -> hierarchyService.move(child.getId(), grandchild.getId()));
+        assertThrows(IllegalArgumentException.class, () -> hierarchyService.move(child.getId(), child.getId()));
+
+        hierarchyService.move(child.getId(), root.getId());
+        assertEquals(List.of(root.getId(), child.getId(), grandchild.getId()),
+                ids(hierarchyService.findSubtree(root.getId()).orElseThrow()));
+    }
+
+    @Test
+    void childrenOfSeveralTasksAreFetchedTogether() {
+        TaskDto first = taskService.createTask(task("First", null, false));
+        TaskDto second = taskService.createTask(task("Second", null, false));
+        TaskDto firstChild = taskService.createTask(task("First child", first.getId(), false));
+        TaskDto otherFirstChild = taskService.createTask(task("Other first child", first.getId(), false));
+
+        Map<Long, List<TaskDto>> children = hierarchyService.findChildren(List.of(second.getId(), first.getId()));
+        assertEquals(List.of(second.getId(), first.getId()), List.copyOf(children.keySet()));
+        assertTrue(children.get(second.getId()).isEmpty());
+        assertEquals(List.of(firstChild.getId(), otherFirstChild.getId()), ids(children.get(first.getId())));
+    }
+
+    @Test
+    void tasksWithSubtasksAreNotDeleted() {
+        TaskDto root = taskService.createTask(task("Root", null, false));
+        TaskDto child = taskService.createTask(task("Child", root.getId(), false));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteById(root.getId()));
+        assertTrue(taskService.findById(root.getId()).isPresent());
+
+        assertTrue(taskService.deleteById(child.getId()));
+        assertTrue(taskService.deleteById(root.getId()));
+    }
+
+    @Test
+    void updatesKeepTheHierarchySetByMoves() {
+        TaskDto root = taskService.createTask(task("Root", null, false));
+        TaskDto child = taskService.createTask(task("Child", root.getId(), false));
+        hierarchyService.move(child.getId(), null);
+
+        TaskDto update = task("Renamed", root.getId(), true);
+        update.setPath("/" + root.getId() + "/" + child.getId() + "/");
+        TaskDto updated = taskService.updateTask(child.getId(), update);
+
+        assertEquals("Renamed", updated.getName());
+        TaskDto stored = taskService.findById(child.getId()).orElseThrow();
+        assertEquals(null, stored.getParentId());
+        assertEquals("/" + child.getId() + "/", stored.getPath());
+    }
+
+    @Test
+    void subtasksOfMissingTasksAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTask(task("Orphan", Long.MAX_VALUE, false)));
+    }
+
+    private static List<Long> ids(List<TaskDto> tasks) {
+        return tasks.stream().map(TaskDto::getId).collect(Collectors.toList());
+    }
+
+    private static TaskDto task(String name, Long parentId, boolean completed) {
+        TaskDto task = new TaskDto();
+        task.setName(name);
+        task.setText("Text");
+        task.setParentId(parentId);
+        task.setCompleted(completed);
+        return task;
+    }
+}
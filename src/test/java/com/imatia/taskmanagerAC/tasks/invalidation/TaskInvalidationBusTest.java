@@ -0,0 +1,192 @@
+package com.imatia.taskmanagerAC.tasks.invalidation;
+
+import com.imatia.taskmanagerAC.TaskmanagerACApplication;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.reminder.TaskDueEvent;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import com.imatia.taskmanagerAC.tasks.tag.TaskTagIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Two instances sharing an in-memory database, connected by the loopback transport. The second instance starts
+ * first, so that it takes the reminder lease and publishes the due events.
+ */
+class TaskInvalidationBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Database shared by the two instances only, and loopback network connecting them.
+     */
+    private static final String DATABASE = "invalidation-test-" + UUID.randomUUID();
+
+    private static final List<TaskDueEvent> dueEventsOfFirst = new CopyOnWriteArrayList<>();
+
+    private static final List<TaskDueEvent> dueEventsOfSecond = new CopyOnWriteArrayList<>();
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        second = startInstance(2);
+        first = startInstance(1);
+        collectDueEvents(first, dueEventsOfFirst);
+        collectDueEvents(second, dueEventsOfSecond);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        second.close();
+        first.close();
+    }
+
+    @Test
+    void tagIndexesFollowTheChangesOfTheOtherInstance() {
+        TaskDto task = taskService(first).createTask(task(null, "team:core"));
+        await(() -> indexed(second, "team:core").contains(task.getId()));
+        assertTrue(second.getBean(MeterRegistry.class).get("taskmanager.invalidation.latency").timer().count() > 0);
+
+        TaskDto changes = new TaskDto();
+        changes.setTags(Set.of("team:web"));
+        taskService(first).partialUpdateTask(task.getId(), changes);
+        await(() -> indexed(second, "team:web").contains(task.getId()) && indexed(second, "team:core").isEmpty());
+
+        taskService(second).deleteById(task.getId());
+        await(() -> indexed(first, "team:web").isEmpty());
+    }
+
+    @Test
+    void tagIndexesAreResynchronizedAfterALostInvalidation() {
+        TaskDto task = taskService(first).createTask(task(null, "team:ops"));
+        await(() -> indexed(second, "team:ops").contains(task.getId()));
+
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM TASK_TAG WHERE TASK_ID = ?", task.getId());
+        jdbcTemplate.update("INSERT INTO TASK_TAG (TASK_ID, TAG) VALUES (?, 'team:sre')", task.getId());
+        second.getBean(TaskInvalidationBus.class).resync();
+
+        assertEquals(List.of(task.getId()), indexed(second, "team:sre"));
+        assertTrue(indexed(second, "team:ops").isEmpty());
+    }
+
+    @Test
+    void reminderTimersFollowTheDueDatesSetByTheOtherInstanceAndFireOnTheLeaseHolderOnly() throws InterruptedException {
+        TaskDto task = taskService(first).createTask(task(LocalDateTime.now().plusSeconds(3)));
+
+        await(() -> kindsOf(dueEventsOfSecond, task.getId()).contains(TaskDueEvent.Kind.OVERDUE));
+        Thread.sleep(500);
+        assertEquals(List.of(TaskDueEvent.Kind.REMINDER, TaskDueEvent.Kind.OVERDUE), kindsOf(dueEventsOfSecond, task.getId()));
+        assertTrue(kindsOf(dueEventsOfFirst, task.getId()).isEmpty());
+    }
+
+    @Test
+    void ownAndStaleInvalidationsAreDropped() {
+        TaskInvalidationBus bus = second.getBean(TaskInvalidationBus.class);
+        MeterRegistry registry = second.getBean(MeterRegistry.class);
+        double applied = count(registry, "applied");
+        double stale = count(registry, "stale");
+
+        bus.receive(new TaskInvalidation(1_000_000L, 10, 42));
+        bus.receive(new TaskInvalidation(1_000_000L, 10, 42));
+        // Versions of different instances come from different clocks and are not compared
+        bus.receive(new TaskInvalidation(1_000_000L, 5, 43));
+        bus.receive(new TaskInvalidation(1_000_000L, 4, 43));
+        bus.receive(new TaskInvalidation(1_000_000L, 11, bus.getInstanceId()));
+
+        assertEquals(applied + 2, count(registry, "applied"));
+        assertEquals(stale + 2, count(registry, "stale"));
+    }
+
+    private static ConfigurableApplicationContext startInstance(int workerId) {
+        return new SpringApplicationBuilder(TaskmanagerACApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + DATABASE + ";DB_CLOSE_DELAY=-1",
+                        "--taskmanager.id.worker-id=" + workerId,
+                        "--taskmanager.swagger.enabled=false",
+                        "--taskmanager.archive.initial-delay=PT24H",
+                        "--taskmanager.reminders.enabled=true",
+                        "--taskmanager.reminders.tick=PT0.1S",
+                        "--taskmanager.reminders.lead=PT1S",
+                        "--taskmanager.invalidation.enabled=true",
+                        "--taskmanager.invalidation.transport=loopback",
+                        "--taskmanager.invalidation.loopback.network=" + DATABASE);
+    }
+
+    private static void collectDueEvents(ConfigurableApplicationContext instance, List<TaskDueEvent> dueEvents) {
+        instance.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+            if (event instanceof PayloadApplicationEvent && ((PayloadApplicationEvent<?>) event).getPayload() instanceof TaskDueEvent) {
+                dueEvents.add((TaskDueEvent) ((PayloadApplicationEvent<?>) event).getPayload());
+            }
+        });
+    }
+
+    private static List<TaskDueEvent.Kind> kindsOf(List<TaskDueEvent> dueEvents, long taskId) {
+        return dueEvents.stream()
+                .filter(event -> event.getTaskId() == taskId)
+                .map(TaskDueEvent::getKind)
+                .collect(Collectors.toList());
+    }
+
+    private static ITaskService taskService(ConfigurableApplicationContext instance) {
+        return instance.getBean(ITaskService.class);
+    }
+
+    private static List<Long> indexed(ConfigurableApplicationContext instance, String tag) {
+        long[] ids = instance.getBean(TaskTagIndex.class).resolve(TagFilter.allOf(tag)).orElseThrow();
+        return Arrays.stream(ids).boxed().collect(Collectors.toList());
+    }
+
+    private static double count(MeterRegistry registry, String result) {
+        return registry.get("taskmanager.invalidation.messages").tag("result", result).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Not applied within " + TIMEOUT);
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private static TaskDto task(LocalDateTime dueDate, String... tags) {
+        TaskDto task = new TaskDto();
+        task.setName("Shared task");
+        task.setText("Text");
+        task.setDueDate(dueDate);
+        task.setTags(Set.of(tags));
+        return task;
+    }
+}
@@ -0,0 +1,37 @@
+package com.imatia.taskmanagerAC.tasks.lease;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:job-lease-test")
+class JobLeaseTest {
+
+    @Autowired
+    private JobLease jobLease;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void leaseIsExclusiveUntilReleasedOrExpired() throws InterruptedException {
+        JobLease other = new JobLease(jdbcTemplate);
+
+        assertTrue(jobLease.tryAcquire("exclusive", Duration.ofMinutes(1)));
+        assertTrue(jobLease.tryAcquire("exclusive", Duration.ofMillis(50)));
+        assertFalse(other.tryAcquire("exclusive", Duration.ofMinutes(1)));
+
+        Thread.sleep(100);
+        assertTrue(other.tryAcquire("exclusive", Duration.ofMinutes(1)));
+        assertFalse(jobLease.tryAcquire("exclusive", Duration.ofMinutes(1)));
+
+        other.release("exclusive");
+        assertTrue(jobLease.tryAcquire("exclusive", Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,192 @@
+package com.imatia.taskmanagerAC.tasks.outbox;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.hierarchy.TaskHierarchyService;
+import com.imatia.taskmanagerAC.tasks.lease.JobLease;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import com.imatia.taskmanagerAC.tasks.tag.TaskTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-test",
+        "taskmanager.outbox.enabled=true",
+        "taskmanager.outbox.batch-size=2",
+        "taskmanager.outbox.poll-interval=PT1H"
+})
+class TaskOutboxRelayTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskHierarchyService hierarchyService;
+
+    @Autowired
+    private TaskOutboxRelay relay;
+
+    @Autowired
+    private CapturingSink sink;
+
+    @Autowired
+    private JobLease jobLease;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        relay.relay();
+        sink.events.clear();
+        sink.failNext = false;
+    }
+
+    @Test
+    void changesArePublishedInOrderAndRemovedFromTheOutbox() {
+        TaskDto created = taskService.createTask(task("Outbox task"));
+        TaskDto changes = new TaskDto();
+        changes.setCompleted(true);
+        taskService.partialUpdateTask(created.getId(), changes);
+        taskService.deleteById(created.getId());
+
+        relay.relay();
+
+        List<TaskEvent> events = sink.events.stream()
+                .filter(event -> event.getTaskId() == (long) created.getId())
+                .collect(Collectors.toList());
+        assertEquals(List.of(TaskEvent.Type.CREATED, TaskEvent.Type.UPDATED, TaskEvent.Type.DELETED),
+                events.stream().map(TaskEvent::getType).collect(Collectors.toList()));
+        assertTrue(events.get(1).getPayload().contains("\"completed\":true"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TASK_OUTBOX", Integer.class));
+        assertEquals(Duration.ZERO, relay.getLag());
+    }
+
+    @Test
+    void eventsAreNotRelayedWhileAnotherInstanceHoldsTheLease() {
+        TaskDto created = taskService.createTask(task("Relayed elsewhere"));
+        jobLease.release(TaskOutboxRelay.JOB);
+        JobLease otherInstance = new JobLease(jdbcTemplate);
+        otherInstance.tryAcquire(TaskOutboxRelay.JOB, Duration.ofMinutes(1));
+        try {
+            relay.relay();
+            assertTrue(sink.events.isEmpty());
+        } finally {
+            otherInstance.release(TaskOutboxRelay.JOB);
+        }
+
+        relay.relay();
+        assertEquals(List.of(created.getId()),
+                sink.events.stream().map(TaskEvent::getTaskId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void failedBatchIsPublishedAgainOnTheNextRun() {
+        TaskDto created = taskService.createTask(task("Retried task"));
+        sink.failNext = true;
+
+        relay.relay();
+        assertTrue(sink.events.isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TASK_OUTBOX", Integer.class));
+
+        relay.relay();
+        assertEquals(1, sink.events.size());
+        assertEquals((long) created.getId(), sink.events.get(0).getTaskId());
+    }
+
+    @Test
+    void moveIsPublishedAsAnUpdateOfTheMovedTask() {
+        TaskDto root = taskService.createTask(task("Root"));
+        TaskDto child = task("Moved");
+        child.setParentId(root.getId());
+        TaskDto created = taskService.createTask(child);
+        relay.relay();
+        sink.events.clear();
+
+        hierarchyService.move(created.getId(), null);
+        relay.relay();
+
+        assertEquals(1, sink.events.size());
+        assertEquals((long) created.getId(), sink.events.get(0).getTaskId());
+        assertEquals(TaskEvent.Type.UPDATED, sink.events.get(0).getType());
+        assertTrue(sink.events.get(0).getPayload().contains("\"path\":\"/" + created.getId() + "/\""));
+    }
+
+    @Test
+    void largePayloadsAreRecordedWhole() {
+        TaskDto task = task("Large task");
+        task.setText("\u0001".repeat(250));
+        Set<String> tags = new HashSet<>();
+        for (int i = 0; i < TaskTags.MAX_TAGS_PER_TASK; i++) {
+            tags.add(String.format("%02d", i) + "x".repeat(TaskTags.MAX_LENGTH - 2));
+        }
+        task.setTags(tags);
+        TaskDto created = taskService.createTask(task);
+
+        relay.relay();
+
+        String payload = sink.events.get(0).getPayload();
+        assertEquals((long) created.getId(), sink.events.get(0).getTaskId());
+        assertTrue(payload.length() > 2048);
+        assertTrue(payload.endsWith("}"));
+    }
+
+    @Test
+    void failedChangeRecordsNoEvent() {
+        try {
+            taskService.createTask(task("x".repeat(51)));
+        } catch (RuntimeException expected) {
+            // rejected by the database
+        }
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TASK_OUTBOX", Integer.class));
+    }
+
+    private static TaskDto task(String name) {
+        TaskDto task = new TaskDto();
+        task.setName(name);
+        task.setText("Text");
+        return task;
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        CapturingSink capturingSink() {
+            return new CapturingSink();
+        }
+    }
+
+    static class CapturingSink implements TaskEventSink {
+
+        private final List<TaskEvent> events = new CopyOnWriteArrayList<>();
+        private volatile boolean failNext;
+
+        @Override
+        public void publish(List<TaskEvent> batch) throws Exception {
+            if (failNext) {
+                failNext = false;
+                throw new Exception("Sink unavailable");
+            }
+            events.addAll(new ArrayList<>(batch));
+        }
+    }
+}
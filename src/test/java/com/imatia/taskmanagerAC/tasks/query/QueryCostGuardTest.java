@@ -0,0 +1,70 @@
+package com.imatia.taskmanagerAC.tasks.query;
+
+import com.imatia.taskmanagerAC.tasks.tag.TagFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryCostGuardTest {
+
+    private static final LocalDateTime OLDEST = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final QueryGuardProperties properties = new QueryGuardProperties();
+    private QueryCostGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        TaskTableStatistics statistics = new TaskTableStatistics(null, null);
+        statistics.set(new TaskTableStatistics.Snapshot(1_000_000, 850_000, OLDEST, OLDEST.plusDays(100)));
+        properties.setMaxScanRows(500_000);
+        guard = new QueryCostGuard(statistics, properties);
+    }
+
+    @Test
+    void admit_KeepsCheapPage() {
+        Pageable pageable = PageRequest.of(2, 50);
+
+        assertSame(pageable, guard.admit(null, null, null, null, TagFilter.NONE, null, pageable));
+    }
+
+    @Test
+    void admit_CapsPageSize_AndDowngradesExpensiveQueries() {
+        assertEquals(100, guard.admit(null, null, null, null, TagFilter.NONE, null, PageRequest.of(0, 100_000)).getPageSize());
+        assertEquals(20, guard.admit(null, false, null, null, TagFilter.NONE, null, PageRequest.of(0, 100)).getPageSize());
+    }
+
+    @Test
+    void admit_RejectsDeepOffsetsAndBroadScans() {
+        assertThrows(IllegalArgumentException.class,
+                () -> guard.admit(null, null, null, null, TagFilter.NONE, null, PageRequest.of(1_000, 50)));
+        assertThrows(IllegalArgumentException.class,
+                () -> guard.admit("report", null, null, null, TagFilter.NONE, null, PageRequest.of(0, 5)));
+        assertThrows(IllegalArgumentException.class,
+                () -> guard.admit(null, true, null, null, TagFilter.NONE, null, PageRequest.of(0, 5)));
+    }
+
+    @Test
+    void admit_UsesDateRangeSelectivity() {
+        Pageable pageable = PageRequest.of(0, 50);
+
+        assertSame(pageable, guard.admit("report", true, OLDEST.plusDays(95), null, TagFilter.NONE, null, pageable));
+    }
+
+    @Test
+    void admit_CountsTagLookupsUnlessTheTagIndexResolvedTheFilter() {
+        Pageable pageable = PageRequest.of(0, 50);
+        TagFilter tags = TagFilter.allOf("urgent");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> guard.admit(null, null, null, null, tags, null, pageable));
+        assertEquals(1_000_000, guard.estimateScanRows(null, null, OLDEST.plusDays(50), null, tags, null, pageable));
+        assertSame(pageable, guard.admit(null, null, null, null, tags, new long[]{1, 2, 3}, pageable));
+    }
+}
@@ -0,0 +1,86 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advanceTo_FiresTimersAtTheirTickAcrossEveryLevel() {
+        // 8 slots per level over 3 levels: 1, 8, 64 ticks per slot, 512 ticks in total
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        long[] delays = {5, 10, 75, 80, 640, 2_345, 5_110};
+        for (long delay : delays) {
+            wheel.schedule(START + delay, delay);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        List<Long> firedAt = new ArrayList<>();
+        for (long now = START; now <= START + 6_000; now += 10) {
+            long time = now;
+            wheel.advanceTo(now, delay -> {
+                fired.add(delay);
+                firedAt.add(time);
+            });
+        }
+
+        assertEquals(List.of(5L, 10L, 75L, 80L, 640L, 2_345L, 5_110L), fired);
+        for (int i = 0; i < delays.length; i++) {
+            long deadline = START + delays[i];
+            assertTrue(firedAt.get(i) >= deadline, "fired early: " + delays[i]);
+            assertTrue(firedAt.get(i) < deadline + 10, "fired late: " + delays[i]);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_RemovesThePendingTimer() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule(START + 300, "cancelled");
+        wheel.schedule(START + 300, "kept");
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 1_000, fired::add);
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void schedule_FiresPastDeadlinesOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        wheel.schedule(START - 5_000, "late");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 10, fired::add);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void advanceTo_CatchesUpAfterLongPause() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        wheel.schedule(START + 200, "near");
+        wheel.schedule(START + 4_000, "middle");
+        // Beyond the 512 tick span: parked in the top level, then placed again
+        wheel.schedule(START + 50_000, "far");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 10_000, fired::add);
+        assertEquals(List.of("near", "middle"), fired);
+        assertEquals(1, wheel.size());
+
+        wheel.advanceTo(START + 49_990, fired::add);
+        assertEquals(2, fired.size());
+        wheel.advanceTo(START + 50_000, fired::add);
+        assertEquals(List.of("near", "middle", "far"), fired);
+    }
+}
@@ -0,0 +1,115 @@
+package com.imatia.taskmanagerAC.tasks.reminder;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminder-test",
+        "taskmanager.reminders.enabled=true",
+        "taskmanager.reminders.lead=PT15M",
+        "taskmanager.reminders.load-window=PT10M"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TaskReminderSchedulerTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskReminderScheduler scheduler;
+
+    @Autowired
+    private DueEvents dueEvents;
+
+    @Test
+    void tasksBeyondTheWindowAreLoadedAndFireTheirReminderThenOverdue() {
+        long now = TaskReminderScheduler.nowMillis();
+        TaskDto task = taskService.createTask(task(LocalDateTime.now().plusMinutes(30)));
+        assertEquals(0, scheduler.pendingCount());
+
+        scheduler.tick(now + 20 * MINUTE);
+        assertEquals(List.of(TaskDueEvent.Kind.REMINDER), dueEvents.kindsOf(task.getId()));
+
+        scheduler.tick(now + 31 * MINUTE);
+        assertEquals(List.of(TaskDueEvent.Kind.REMINDER, TaskDueEvent.Kind.OVERDUE), dueEvents.kindsOf(task.getId()));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void timersFollowTheDueDateAndCompletionOfTheTask() {
+        long now = TaskReminderScheduler.nowMillis();
+        TaskDto task = taskService.createTask(task(LocalDateTime.now().plusMinutes(20)));
+        assertEquals(2, scheduler.pendingCount());
+
+        taskService.partialUpdateTask(task.getId(), changes(LocalDateTime.now().plusHours(3), null));
+        assertEquals(0, scheduler.pendingCount());
+
+        scheduler.tick(now + 6 * MINUTE);
+        assertTrue(dueEvents.kindsOf(task.getId()).isEmpty());
+
+        taskService.partialUpdateTask(task.getId(), changes(LocalDateTime.now().plusMinutes(20), null));
+        assertEquals(2, scheduler.pendingCount());
+
+        taskService.partialUpdateTask(task.getId(), changes(null, true));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    private static TaskDto task(LocalDateTime dueDate) {
+        TaskDto task = new TaskDto();
+        task.setName("Due task");
+        task.setText("Text");
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static TaskDto changes(LocalDateTime dueDate, Boolean completed) {
+        TaskDto task = new TaskDto();
+        task.setDueDate(dueDate);
+        task.setCompleted(completed);
+        return task;
+    }
+
+    @TestConfiguration
+    static class DueEventsConfig {
+
+        @Bean
+        DueEvents dueEvents() {
+            return new DueEvents();
+        }
+    }
+
+    static class DueEvents {
+
+        private final List<TaskDueEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onTaskDue(TaskDueEvent event) {
+            events.add(event);
+        }
+
+        List<TaskDueEvent.Kind> kindsOf(long taskId) {
+            return events.stream()
+                    .filter(event -> event.getTaskId() == taskId)
+                    .map(TaskDueEvent::getKind)
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.imatia.taskmanagerAC.tasks.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_CollapsesConcurrentIdenticalCalls() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", result -> result + " (shared)", meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "task 1";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> flight.execute(1L, () -> {
+                calls.incrementAndGet();
+                return "unexpected";
+            })));
+        }
+        while (followerCount() < 4) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("task 1", leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> follower : followers) {
+            assertEquals("task 1 (shared)", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+
+        assertEquals("task 1", flight.execute(1L, () -> "task 1"));
+    }
+
+    @Test
+    void execute_PropagatesFailureAndForgetsIt() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", result -> result, null);
+
+        assertThrows(IllegalStateException.class, () -> flight.execute(1L, () -> {
+            throw new IllegalStateException("Database unavailable");
+        }));
+        assertEquals("recovered", flight.execute(1L, () -> "recovered"));
+    }
+
+    private double followerCount() {
+        return meterRegistry.counter("taskmanager.single-flight.calls", "operation", "test", "role", "follower").count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
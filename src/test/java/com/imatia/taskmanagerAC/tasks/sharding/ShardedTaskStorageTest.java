@@ -0,0 +1,65 @@
+package com.imatia.taskmanagerAC.tasks.sharding;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+@DirtiesContext
+class ShardedTaskStorageTest {
+
+    private static final int TASKS = 12;
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskShardRouter shardRouter;
+
+    @Test
+    void tasksAreSpreadAcrossShardsAndMergedInCreationOrder() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            TaskDto task = new TaskDto();
+            task.setName("Task " + i);
+            task.setText("Sharded");
+            task.setCreationDate(base.plusHours(i));
+            ids.add(taskService.createTask(task).getId());
+        }
+
+        Set<Integer> usedShards = new HashSet<>();
+        for (Long id : ids) {
+            usedShards.add(shardRouter.shardOf(id));
+            assertTrue(taskService.findById(id).isPresent());
+        }
+        assertTrue(usedShards.size() > 1);
+
+        Page<TaskDto> secondPage = taskService.findAll(null, null, null, null, PageRequest.of(1, 5));
+        assertEquals(TASKS, secondPage.getTotalElements());
+        assertEquals(5, secondPage.getNumberOfElements());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(base.plusHours(TASKS - 6 - i), secondPage.getContent().get(i).getCreationDate());
+        }
+
+        assertTrue(taskService.deleteById(ids.get(0)));
+        assertFalse(taskService.findById(ids.get(0)).isPresent());
+    }
+}
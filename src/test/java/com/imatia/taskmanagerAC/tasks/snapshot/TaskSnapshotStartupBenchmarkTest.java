@@ -0,0 +1,73 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import com.imatia.taskmanagerAC.TaskmanagerACApplication;
+import com.imatia.taskmanagerAC.tasks.columnar.ColumnarTaskStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the time from launching the application to serving the first list request, with a snapshot of
+ * one million tasks restored at startup. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TaskSnapshotStartupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSnapshotStartupBenchmarkTest.class);
+
+    private static final int TASKS = 1_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void timeToFirstRequest_WithOneMillionTaskSnapshot() throws Exception {
+        Path path = tempDir.resolve("tasks.snapshot");
+        long writeStart = System.nanoTime();
+        TaskSnapshotWriter writer = new TaskSnapshotWriter();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < TASKS; i++) {
+            writer.add(1_000_000L + i, "Task " + i, "Benchmark task " + i,
+                    ColumnarTaskStore.toEpochMillis(base.plusSeconds(i)), TaskSnapshot.NO_DATE, false, false);
+        }
+        writer.writeTo(path);
+        log.info("Snapshot of {} tasks written in {} ms", TASKS, (System.nanoTime() - writeStart) / 1_000_000);
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerACApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:snapshot-benchmark",
+                        "--taskmanager.snapshot.enabled=true",
+                        "--taskmanager.snapshot.path=" + path,
+                        "--taskmanager.snapshot.interval=PT24H",
+                        "--taskmanager.archive.initial-delay=PT24H")) {
+            long started = System.nanoTime();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/tasks?size=20")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long firstResponse = System.nanoTime();
+
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("Task " + (TASKS - 1)));
+            log.info("Started in {} ms, first request served after {} ms",
+                    (started - start) / 1_000_000, (firstResponse - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.imatia.taskmanagerAC.tasks.snapshot;
+
+import com.imatia.taskmanagerAC.tasks.columnar.ColumnarTaskStore;
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSnapshotTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeTo_RoundTripsEveryColumn() throws IOException {
+        Path path = tempDir.resolve("tasks.snapshot");
+        TaskSnapshotWriter writer = new TaskSnapshotWriter();
+        for (int i = 0; i < 2000; i++) {
+            writer.add(i, "Task " + i + " ñ", i % 3 == 0 ? null : "Text " + i,
+                    ColumnarTaskStore.toEpochMillis(BASE.plusMinutes(i)),
+                    i % 2 == 0 ? TaskSnapshot.NO_DATE : ColumnarTaskStore.toEpochMillis(BASE.plusDays(1)),
+                    i % 4 == 1 ? ColumnarTaskStore.toEpochMillis(BASE.plusDays(2)) : TaskSnapshot.NO_DATE,
+                    i % 10 == 0 ? TaskSnapshot.NO_PARENT : i - i % 10,
+                    i % 10 == 0 ? "/" + i + "/" : "/" + (i - i % 10) + "/" + i + "/",
+                    i % 5 == 0 ? null : i % 2 == 1, i % 7 == 0);
+        }
+        writer.writeTo(path);
+
+        TaskSnapshot snapshot = TaskSnapshot.open(path);
+
+        assertEquals(2000, snapshot.size());
+        TaskDto task = snapshot.toDto(1001);
+        assertEquals(1001L, task.getId());
+        assertEquals("Task 1001 ñ", task.getName());
+        assertEquals("Text 1001", task.getText());
+        assertEquals(BASE.plusMinutes(1001), task.getCreationDate());
+        assertEquals(BASE.plusDays(1), task.getEndingDate());
+        assertEquals(BASE.plusDays(2), task.getDueDate());
+        assertEquals(1000L, task.getParentId());
+        assertEquals("/1000/1001/", task.getPath());
+        assertTrue(task.getCompleted());
+        assertTrue(snapshot.isArchived(1001));
+
+        assertNull(snapshot.text(999));
+        assertNull(snapshot.toDto(1000).getEndingDate());
+        assertNull(snapshot.toDto(1000).getDueDate());
+        assertNull(snapshot.toDto(1000).getParentId());
+        assertNull(snapshot.completed(1000));
+        assertFalse(snapshot.isArchived(1000));
+        assertFalse(Files.exists(tempDir.resolve("tasks.snapshot.tmp")));
+    }
+
+    @Test
+    void open_RejectsTruncatedFile() throws IOException {
+        Path path = tempDir.resolve("tasks.snapshot");
+        TaskSnapshotWriter writer = new TaskSnapshotWriter();
+        writer.add(1, "Task", "Text", TaskSnapshot.NO_DATE, TaskSnapshot.NO_DATE, false, false);
+        writer.writeTo(path);
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> TaskSnapshot.open(path));
+    }
+}
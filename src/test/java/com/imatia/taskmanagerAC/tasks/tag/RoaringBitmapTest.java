@@ -0,0 +1,82 @@
+package com.imatia.taskmanagerAC.tasks.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoaringBitmapTest {
+
+    @Test
+    void containersSwitchBetweenArrayAndBitmapAsTheChunkFillsAndEmpties() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value = 0; value < 2 * RoaringBitmap.ARRAY_MAX_SIZE; value++) {
+            bitmap.add(value * 3);
+        }
+        bitmap.add(1 << 20);
+        assertEquals(2 * RoaringBitmap.ARRAY_MAX_SIZE + 1, bitmap.cardinality());
+
+        for (int value = 0; value < 2 * RoaringBitmap.ARRAY_MAX_SIZE; value += 2) {
+            bitmap.remove(value * 3);
+        }
+        assertEquals(RoaringBitmap.ARRAY_MAX_SIZE + 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(3));
+        assertFalse(bitmap.contains(6));
+
+        bitmap.remove(1 << 20);
+        assertFalse(bitmap.contains(1 << 20));
+        assertEquals(RoaringBitmap.ARRAY_MAX_SIZE, bitmap.toArray().length);
+    }
+
+    @Test
+    void andAndOrMatchTheSetOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int range = round % 2 == 0 ? 20_000 : 400_000;
+            RoaringBitmap first = new RoaringBitmap();
+            RoaringBitmap second = new RoaringBitmap();
+            TreeSet<Integer> firstValues = new TreeSet<>();
+            TreeSet<Integer> secondValues = new TreeSet<>();
+            int count = random.nextInt(12_000);
+            for (int i = 0; i < count; i++) {
+                int value = random.nextInt(range);
+                first.add(value);
+                firstValues.add(value);
+                value = random.nextInt(range);
+                second.add(value);
+                secondValues.add(value);
+            }
+
+            TreeSet<Integer> intersection = new TreeSet<>(firstValues);
+            intersection.retainAll(secondValues);
+            TreeSet<Integer> union = new TreeSet<>(firstValues);
+            union.addAll(secondValues);
+
+            assertArrayEquals(toArray(intersection), RoaringBitmap.and(first, second).toArray());
+            assertArrayEquals(toArray(union), RoaringBitmap.or(first, second).toArray());
+            assertArrayEquals(toArray(firstValues), first.toArray());
+        }
+    }
+
+    @Test
+    void resultsShareNoContainerWithTheirOperands() {
+        RoaringBitmap first = new RoaringBitmap();
+        first.add(1);
+        RoaringBitmap union = RoaringBitmap.or(first, new RoaringBitmap());
+
+        union.add(2);
+        first.remove(1);
+
+        assertArrayEquals(new int[]{1, 2}, union.toArray());
+        assertTrue(first.isEmpty());
+    }
+
+    private static int[] toArray(TreeSet<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.imatia.taskmanagerAC.tasks.tag;
+
+import com.imatia.taskmanagerAC.tasks.dto.TaskDto;
+import com.imatia.taskmanagerAC.tasks.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tag-test",
+        "taskmanager.tags.index.max-ids=2"
+})
+class TaskTagIndexTest {
+
+    @Autowired
+    private ITaskService taskService;
+
+    @Autowired
+    private TaskTagIndex tagIndex;
+
+    @Test
+    void tagFiltersCombineGroupsWithTheOtherFilters() {
+        TaskDto coreHigh = taskService.createTask(task(false, "team:core", "Priority:High"));
+        TaskDto coreUrgent = taskService.createTask(task(true, "team:core", "priority:urgent"));
+        TaskDto webHigh = taskService.createTask(task(false, "team:web", "priority:high"));
+
+        assertEquals(Set.of("team:core", "priority:high"), coreHigh.getTags());
+        assertEquals(List.of(coreHigh.getId(), coreUrgent.getId()),
+                ids(tags("team:core", "priority:high|priority:urgent"), null));
+        assertEquals(List.of(coreHigh.getId()), ids(tags("team:core", "priority:high|priority:urgent"), false));
+        assertEquals(List.of(coreHigh.getId(), webHigh.getId()), ids(tags("priority:high"), null));
+        assertTrue(ids(tags("team:core", "team:web"), null).isEmpty());
+        assertTrue(ids(tags("team:unknown"), null).isEmpty());
+    }
+
+    @Test
+    void theIndexFollowsUpdatesAndDeletes() {
+        TaskDto task = taskService.createTask(task(false, "env:staging"));
+        assertEquals(List.of(task.getId()), indexed("env:staging"));
+
+        TaskDto changes = new TaskDto();
+        changes.setTags(Set.of("env:production"));
+        taskService.partialUpdateTask(task.getId(), changes);
+        assertTrue(indexed("env:staging").isEmpty());
+        assertEquals(List.of(task.getId()), ids(tags("env:production"), null));
+        assertEquals(Set.of("env:production"), taskService.findById(task.getId()).orElseThrow().getTags());
+
+        taskService.deleteById(task.getId());
+        assertTrue(indexed("env:production").isEmpty());
+    }
+
+    @Test
+    void filtersMatchingTooManyTasksAreAppliedByTheDatabase() {
+        TaskDto first = taskService.createTask(task(false, "area:billing"));
+        TaskDto second = taskService.createTask(task(false, "area:billing"));
+        TaskDto third = taskService.createTask(task(false, "area:billing"));
+
+        assertTrue(tagIndex.resolve(tags("area:billing")).isEmpty());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), ids(tags("area:billing"), null));
+    }
+
+    @Test
+    void invalidTagsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTask(task(false, "no spaces")));
+        assertThrows(IllegalArgumentException.class, () -> TagFilter.parse(List.of("|ok")));
+    }
+
+    private List<Long> ids(TagFilter tags, Boolean completed) {
+        return taskService.findAll(null, completed, null, null, tags, PageRequest.of(0, 50)).stream()
+                .map(TaskDto::getId).sorted().collect(Collectors.toList());
+    }
+
+    private List<Long> indexed(String tag) {
+        return Arrays.stream(tagIndex.resolve(tags(tag)).orElseThrow()).boxed().collect(Collectors.toList());
+    }
+
+    private static TagFilter tags(String... groups) {
+        return TagFilter.parse(List.of(groups));
+    }
+
+    private static TaskDto task(boolean completed, String... tags) {
+        TaskDto task = new TaskDto();
+        task.setName("Tagged task");
+        task.setText("Text");
+        task.setCompleted(completed);
+        task.setTags(Set.of(tags));
+        return task;
+    }
+}